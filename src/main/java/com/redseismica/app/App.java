@@ -2,9 +2,16 @@ package com.redseismica.app;
 
 import com.redseismica.controller.GestorAdmInspeccion;
 import com.redseismica.database.DatabaseConfig;
-import com.redseismica.database.DataLoader;
+import com.redseismica.database.cache.CatalogoEstados;
+import com.redseismica.database.cache.CatalogoMotivosTipo;
+import com.redseismica.database.cache.IndiceEmpleadosPorRol;
 import com.redseismica.database.dao.EmpleadoDAO;
-// orders and motivos are now loaded on demand by the controllers/DAOs
+import com.redseismica.database.migration.SchemaMigrator;
+import com.redseismica.eventos.BusEventos;
+import com.redseismica.eventos.MonitorConsola;
+import com.redseismica.notificacion.BuzonMailFalso;
+import com.redseismica.notificacion.DespachadorNotificaciones;
+// orders are loaded on demand by the controllers/DAOs; catalogs are preloaded
 import com.redseismica.model.*;
 import com.redseismica.view.PantallaMenuPrincipal;
 
@@ -21,13 +28,32 @@ public class App {
 
     public static void main(String[] args) {
         try {
-            // 1. Crear tablas en la BD (si no existen)
-            DatabaseConfig.createTables();
+            // Al salir: terminar los envíos en curso y devolver las conexiones del pool
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                DespachadorNotificaciones.detener();
+                DatabaseConfig.closeConnection();
+            }));
 
-            // 2. Cargar datos iniciales en la BD (si las tablas están vacías)
-            DataLoader.loadInitialData();
+            // 1. Llevar el esquema a la última versión (tablas, índices y
+            //    datos iniciales se aplican sólo si faltan)
+            SchemaMigrator.migrate();
 
-            // 3. Cargar sólo los empleados (órdenes y motivos se obtendrán bajo demanda)
+            // 2. Precargar los catálogos (estados, motivos tipo y empleados
+            //    por rol) para que los casos de uso no los consulten en la BD
+            CatalogoEstados.precargar();
+            CatalogoMotivosTipo.precargar();
+            IndiceEmpleadosPorRol.precargar();
+
+            // Iniciar el envío de notificaciones en segundo plano. Sin un
+            // servidor SMTP configurado se usa el buzón local, que muestra
+            // los mails por consola.
+            DespachadorNotificaciones.iniciar(new BuzonMailFalso());
+
+            // Monitor del CCRS por consola: recibe los cambios de estado y
+            // cierres publicados en el bus de eventos
+            MonitorConsola.suscribir(BusEventos.getInstancia());
+
+            // 3. Cargar sólo los empleados (las órdenes se obtendrán bajo demanda)
             List<Empleado> empleados = EmpleadoDAO.findAll();
             if (empleados == null || empleados.isEmpty()) {
                 System.err.println("Advertencia: No se cargaron empleados");
@@ -50,7 +76,7 @@ public class App {
             Usuario usuarioRI = new Usuario("app_user", "password", responsableInspeccion);
             Sesion sesion = new Sesion(usuarioRI);
 
-            // 6. Crear el gestor; Gestor carga órdenes y motivos bajo demanda desde la BD
+            // 6. Crear el gestor; Gestor carga las órdenes bajo demanda desde la BD
             GestorAdmInspeccion gestor = new GestorAdmInspeccion(sesion, null);
 
             // 7. Mostrar la interfaz gráfica
@@ -60,7 +86,8 @@ public class App {
 
             System.out.println("✓ Aplicación inicializada exitosamente");
             System.out.println("  - Empleados cargados: " + empleados.size());
-            System.out.println("  - Órdenes y motivos se cargarán bajo demanda desde la base de datos.");
+            System.out.println("  - Motivos tipo en catálogo: " + CatalogoMotivosTipo.findAll().size());
+            System.out.println("  - Las órdenes se cargarán bajo demanda desde la base de datos.");
 
         } catch (Exception ex) {
             System.err.println("Error fatal al inicializar la aplicación: " + ex.getMessage());
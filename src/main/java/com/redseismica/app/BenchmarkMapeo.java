@@ -0,0 +1,59 @@
+package com.redseismica.app;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.database.dao.ComparadorMapeo;
+import com.redseismica.database.migration.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Compara el mapeo de filas leyendo columnas por etiqueta contra leerlas
+ * por índice (ver {@link ComparadorMapeo}). Trabaja sobre una base en
+ * memoria propia (salvo que se indique otra con
+ * {@code -Dredseismica.db.url}) a la que agrega las órdenes pedidas.
+ *
+ * Uso: {@code BenchmarkMapeo [órdenes] [iteraciones]} (por defecto 10000 y 50).
+ */
+public class BenchmarkMapeo {
+
+    public static void main(String[] args) throws SQLException {
+        if (System.getProperty("redseismica.db.url") == null) {
+            System.setProperty("redseismica.db.url", "jdbc:h2:mem:mapeo");
+        }
+        int ordenes = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iteraciones = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        try {
+            SchemaMigrator.migrate();
+            agregarOrdenes(ordenes);
+            Map<String, Double> resultados = ComparadorMapeo.comparar(iteraciones);
+            System.out.printf("%-16s %-12s%n", "variante", "ns por fila");
+            resultados.forEach((variante, ns) -> System.out.printf("%-16s %-12.1f%n", variante, ns));
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+    }
+
+    /**
+     * Agrega órdenes repartidas entre las estaciones y los empleados de los
+     * datos iniciales.
+     */
+    private static void agregarOrdenes(int cantidad) throws SQLException {
+        String sql = """
+            INSERT INTO ordenes_inspeccion (numero_orden, fecha_hora_emision, fecha_hora_finalizacion,
+                                            estado, estacion_id, responsable_id)
+            SELECT 1000000 + X, DATEADD(MINUTE, -X * 10, CURRENT_TIMESTAMP), DATEADD(MINUTE, -X * 5, CURRENT_TIMESTAMP),
+                   'CERRADA',
+                   (SELECT MIN(id) FROM estaciones) + MOD(X, 3), (SELECT MIN(id) FROM empleados) + MOD(X, 2)
+            FROM SYSTEM_RANGE(1, ?)
+        """;
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, cantidad);
+            pstmt.executeUpdate();
+        }
+    }
+}
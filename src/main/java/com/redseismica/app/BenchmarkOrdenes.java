@@ -0,0 +1,97 @@
+package com.redseismica.app;
+
+import com.redseismica.controller.GestorAdmInspeccion;
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.database.dao.EmpleadoDAO;
+import com.redseismica.database.migration.SchemaMigrator;
+import com.redseismica.generacion.GeneradorDatos;
+import com.redseismica.model.Empleado;
+import com.redseismica.model.Sesion;
+import com.redseismica.model.Usuario;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Mide cuánto tarda la carga de órdenes cerrables de la pantalla de cierre
+ * a medida que crece la flota de sismógrafos. Trabaja sobre una base en
+ * memoria propia (salvo que se indique otra con
+ * {@code -Dredseismica.db.url}) y agrega estaciones y sismógrafos hasta
+ * cada tamaño pedido.
+ *
+ * Uso: {@code BenchmarkOrdenes [tamaño de flota...]} (por defecto 100 1000 10000).
+ * El tiempo por carga y las conexiones pedidas por carga deberían
+ * mantenerse constantes aunque la flota crezca.
+ */
+public class BenchmarkOrdenes {
+
+    private static final int ITERACIONES = 200;
+
+    public static void main(String[] args) throws SQLException {
+        if (System.getProperty("redseismica.db.url") == null) {
+            System.setProperty("redseismica.db.url", "jdbc:h2:mem:benchmark");
+        }
+        int[] tamanios = args.length > 0 ? new int[args.length] : new int[] { 100, 1_000, 10_000 };
+        for (int i = 0; i < args.length; i++) {
+            tamanios[i] = Integer.parseInt(args[i]);
+        }
+
+        try {
+            SchemaMigrator.migrate();
+
+            Empleado ri = EmpleadoDAO.findById(1);
+            GestorAdmInspeccion gestor = new GestorAdmInspeccion(new Sesion(new Usuario("benchmark", "", ri)), null);
+
+            int flota = contarSismografos();
+            System.out.printf("%-12s %-10s %-16s %-18s%n", "sismógrafos", "órdenes", "ms por carga", "conexiones/carga");
+            for (int tamanio : tamanios) {
+                if (tamanio > flota) {
+                    agregarSismografos(flota, tamanio);
+                    flota = tamanio;
+                }
+                medir(gestor, ri, flota);
+            }
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+    }
+
+    private static void medir(GestorAdmInspeccion gestor, Empleado ri, int flota) throws SQLException {
+        // Calentamiento para que el JIT y la caché de H2 no distorsionen la medición
+        for (int i = 0; i < ITERACIONES / 4; i++) {
+            gestor.buscarOrdenesInspeccion(ri);
+        }
+        long prestamosAntes = DatabaseConfig.getPool().getStats().getBorrows();
+        int filas = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            filas = gestor.buscarOrdenesInspeccion(ri).size();
+        }
+        double msPorCarga = (System.nanoTime() - inicio) / 1e6 / ITERACIONES;
+        double conexiones = (double) (DatabaseConfig.getPool().getStats().getBorrows() - prestamosAntes) / ITERACIONES;
+        System.out.printf("%-12d %-10d %-16.3f %-18.1f%n", flota, filas, msPorCarga, conexiones);
+    }
+
+    private static int contarSismografos() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM sismografos");
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Agrega estaciones con un sismógrafo cada una (y su historial) hasta
+     * llegar a {@code hasta} sismógrafos, con {@link GeneradorDatos}. Los
+     * códigos y números de serie se generan por encima de los existentes.
+     */
+    private static void agregarSismografos(int desde, int hasta) throws SQLException {
+        int agregados = hasta - desde;
+        new GeneradorDatos(hasta, LocalDate.now().atStartOfDay())
+            .generar(new GeneradorDatos.Volumen(agregados, agregados, 0, 0));
+    }
+}
@@ -1,8 +1,16 @@
 package com.redseismica.app;
 
 import com.redseismica.database.DatabaseConfig;
-import com.redseismica.database.DataLoader;
+import com.redseismica.database.dao.OrdenInspeccionDAO;
+import com.redseismica.database.dao.Pagina;
+import com.redseismica.database.dao.ResumenFlotaDAO;
+import com.redseismica.database.migration.SchemaMigrator;
+import com.redseismica.disponibilidad.Disponibilidad;
+import com.redseismica.disponibilidad.MotorDisponibilidad;
+import com.redseismica.model.OrdenInspeccion;
 import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Utilidad para consultar el estado de los sismógrafos después de cerrar
@@ -10,15 +18,18 @@ import java.sql.*;
  */
 public class ConsultarSismografo {
 
+    /**
+     * Órdenes por página del listado de órdenes (propiedad
+     * {@code redseismica.reportes.tamanioPagina}).
+     */
+    private static final int TAMANIO_PAGINA = Integer.getInteger("redseismica.reportes.tamanioPagina", 100);
+
     public static void main(String[] args) {
         try {
             System.out.println("=== INICIALIZANDO BASE DE DATOS ===\n");
             
-            // Crear tablas
-            DatabaseConfig.createTables();
-            
-            // Cargar datos iniciales
-            DataLoader.loadInitialData();
+            // Crear o actualizar el esquema y los datos iniciales
+            SchemaMigrator.migrate();
             
             System.out.println("\n=== CONSULTA DE SISMÓGRAFOS ===\n");
 
@@ -34,9 +45,19 @@ public class ConsultarSismografo {
             System.out.println("\n3. Historial de cambios de estado:\n");
             consultarCambiosEstado();
 
+            // 4. Listar todas las órdenes, de a una página por vez
+            System.out.println("\n4. Órdenes de inspección por fecha de finalización:\n");
+            listarOrdenes();
+
+            // 5. Disponibilidad de la red y de cada estación en los últimos 30 días
+            System.out.println("\n5. Disponibilidad de los últimos 30 días:\n");
+            consultarDisponibilidad();
+
         } catch (SQLException e) {
             System.err.println("Error al consultar la BD: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            DatabaseConfig.closeConnection();
         }
     }
 
@@ -74,7 +95,20 @@ public class ConsultarSismografo {
         }
     }
 
+    /**
+     * Muestra primero cuántos sismógrafos hay en cada estado, leído del
+     * resumen de la flota, y después el detalle de cada uno.
+     */
     private static void consultarSismografos() throws SQLException {
+        Map<String, Integer> totales = ResumenFlotaDAO.findTotales();
+        for (Map.Entry<String, Integer> total : totales.entrySet()) {
+            System.out.println("  " + total.getKey() + ": " + total.getValue());
+        }
+        for (Map.Entry<Integer, Map<String, Integer>> estacion : ResumenFlotaDAO.findPorEstacion().entrySet()) {
+            System.out.println("  📡 Estación " + estacion.getKey() + ": " + estacion.getValue());
+        }
+        System.out.println();
+
         String sql = """
             SELECT s.id, s.numero_serie, s.modelo, s.estado_actual, s.fecha_hora_estado,
                    e.codigo, e.nombre as estacion_nombre
@@ -133,4 +167,52 @@ public class ConsultarSismografo {
             }
         }
     }
+
+    /**
+     * Lista todas las órdenes pidiéndolas de a una página, de modo que la
+     * memoria usada no depende de cuántas órdenes haya en la base.
+     */
+    private static void listarOrdenes() throws SQLException {
+        OrdenInspeccionDAO.Cursor cursor = null;
+        int numeroPagina = 0;
+        int total = 0;
+        Pagina<OrdenInspeccion, OrdenInspeccionDAO.Cursor> pagina;
+        do {
+            pagina = OrdenInspeccionDAO.findAllPagina(cursor, TAMANIO_PAGINA);
+            numeroPagina++;
+            System.out.println("  -- Página " + numeroPagina + " --");
+            for (OrdenInspeccion orden : pagina.getElementos()) {
+                System.out.println("  📋 Orden " + orden.getNroOrden()
+                    + " | Finalización: " + orden.getFechaHoraFinalizacion()
+                    + " | Estado: " + (orden.getEstado() != null ? orden.getEstado().getNombre() : "")
+                    + " | Estación: " + orden.getEstacion().getNombre());
+            }
+            total += pagina.getElementos().size();
+            cursor = pagina.getSiguiente();
+        } while (pagina.hayMas());
+        System.out.println("\n  Total: " + total + " órdenes en " + numeroPagina + " páginas");
+    }
+
+    /**
+     * Carga el historial de estados en el motor de disponibilidad y muestra
+     * el porcentaje de tiempo online de la red y de cada estación.
+     */
+    private static void consultarDisponibilidad() throws SQLException {
+        long inicio = System.nanoTime();
+        MotorDisponibilidad motor = MotorDisponibilidad.cargar();
+        long carga = (System.nanoTime() - inicio) / 1_000_000;
+        System.out.println("  Historial cargado en " + carga + " ms: " + motor);
+
+        LocalDateTime hasta = LocalDateTime.now();
+        LocalDateTime desde = hasta.minusDays(30);
+        inicio = System.nanoTime();
+        Disponibilidad red = motor.deRed(desde, hasta);
+        Map<Integer, Disponibilidad> estaciones = motor.porEstacion(desde, hasta);
+        long consulta = (System.nanoTime() - inicio) / 1_000;
+        System.out.println("  Red: " + red);
+        for (Map.Entry<Integer, Disponibilidad> estacion : estaciones.entrySet()) {
+            System.out.println("  📡 Estación " + estacion.getKey() + ": " + estacion.getValue());
+        }
+        System.out.println("\n  Consultado en " + consulta + " µs");
+    }
 }
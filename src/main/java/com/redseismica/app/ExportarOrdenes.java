@@ -0,0 +1,101 @@
+package com.redseismica.app;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.database.dao.OrdenInspeccionDAO;
+import com.redseismica.database.migration.SchemaMigrator;
+import com.redseismica.model.OrdenInspeccion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Exporta todas las órdenes de inspección a CSV. Las órdenes se leen con
+ * {@link OrdenInspeccionDAO#streamAll()} y se escriben a medida que se
+ * leen, de modo que la memoria usada no depende de la cantidad de órdenes.
+ *
+ * Uso: {@code ExportarOrdenes <archivo.csv>}. El tamaño de lectura se ajusta con
+ * {@code -Dredseismica.db.fetchSize}.
+ */
+public class ExportarOrdenes {
+
+    public static void main(String[] args) throws SQLException, IOException {
+        if (args.length != 1) {
+            System.err.println("Uso: ExportarOrdenes <archivo.csv>");
+            System.exit(1);
+        }
+        try {
+            SchemaMigrator.migrate();
+            long inicio = System.currentTimeMillis();
+            long filas;
+            try (Writer salida = Files.newBufferedWriter(Path.of(args[0]), StandardCharsets.UTF_8)) {
+                filas = exportar(salida);
+            }
+            System.out.println("✓ " + filas + " órdenes exportadas a " + args[0] + " en "
+                    + (System.currentTimeMillis() - inicio) + " ms");
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+    }
+
+    /**
+     * Escribe el encabezado y una línea por orden.
+     *
+     * @return cantidad de órdenes escritas
+     */
+    static long exportar(Writer salida) throws SQLException, IOException {
+        salida.write("numero_orden,fecha_hora_emision,fecha_hora_finalizacion,fecha_hora_cierre,estado,"
+                + "codigo_estacion,estacion,responsable,observacion_cierre\n");
+        long[] filas = { 0 };
+        try (Stream<OrdenInspeccion> ordenes = OrdenInspeccionDAO.streamAll()) {
+            ordenes.forEach(orden -> {
+                try {
+                    salida.write(linea(orden));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                filas[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return filas[0];
+    }
+
+    private static String linea(OrdenInspeccion orden) {
+        return orden.getNroOrden() + ","
+                + fecha(orden.getFechaHoraInicio()) + ","
+                + fecha(orden.getFechaHoraFinalizacion()) + ","
+                + fecha(orden.getFechaHoraCierre()) + ","
+                + campo(orden.getEstado() != null ? orden.getEstado().getCodigoBD() : null) + ","
+                + orden.getEstacion().getCodigoEstacion() + ","
+                + campo(orden.getEstacion().getNombre()) + ","
+                + campo(orden.getResponsableInspeccion() != null
+                        ? orden.getResponsableInspeccion().getMail() : null) + ","
+                + campo(orden.getObservacionCierre()) + "\n";
+    }
+
+    private static String fecha(LocalDateTime fecha) {
+        return fecha != null ? fecha.toString() : "";
+    }
+
+    /**
+     * Escapa un valor según RFC 4180: entre comillas si contiene comas,
+     * comillas o saltos de línea.
+     */
+    private static String campo(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,43 @@
+package com.redseismica.app;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.database.migration.SchemaMigrator;
+import com.redseismica.generacion.GeneradorDatos;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Genera una base sintética para pruebas de capacidad con
+ * {@link GeneradorDatos}: estaciones, sismógrafos, empleados e historial
+ * proporcionales a la cantidad de órdenes pedida. Trabaja sobre
+ * {@code ./data/capacidad} (salvo que se indique otra base con
+ * {@code -Dredseismica.db.url}), nunca sobre la base de la aplicación.
+ *
+ * Uso: {@code GenerarDatos <órdenes> [semilla] [fecha de referencia]}
+ * (semilla 1 y la fecha de hoy si faltan). Con la misma semilla y fecha,
+ * sobre una base nueva, se obtienen siempre los mismos datos.
+ */
+public class GenerarDatos {
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Uso: GenerarDatos <órdenes> [semilla] [fecha de referencia AAAA-MM-DD]");
+            System.exit(2);
+        }
+        if (System.getProperty("redseismica.db.url") == null) {
+            System.setProperty("redseismica.db.url", "jdbc:h2:file:./data/capacidad");
+        }
+        int ordenes = Integer.parseInt(args[0]);
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        LocalDate referencia = args.length > 2 ? LocalDate.parse(args[2]) : LocalDate.now();
+
+        try {
+            SchemaMigrator.migrate();
+            GeneradorDatos generador = new GeneradorDatos(semilla, referencia.atStartOfDay());
+            System.out.println("✓ Generados " + generador.generar(GeneradorDatos.Volumen.proporcional(ordenes)));
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+    }
+}
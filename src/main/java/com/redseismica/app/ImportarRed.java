@@ -0,0 +1,49 @@
+package com.redseismica.app;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.database.migration.SchemaMigrator;
+import com.redseismica.importacion.ImportadorCsv;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Importa estaciones o sismógrafos desde un CSV con {@link ImportadorCsv}.
+ * Las filas con errores se informan en {@code <archivo.csv>.errores.csv}.
+ * Si la importación se interrumpe, volver a correrla con el mismo archivo
+ * la retoma desde el último tramo confirmado; {@code --reiniciar} la
+ * empieza de nuevo.
+ *
+ * Uso: {@code ImportarRed estaciones|sismografos <archivo.csv> [--reiniciar]}.
+ * Los registros por transacción se ajustan con
+ * {@code -Dredseismica.importacion.filasPorTransaccion}.
+ */
+public class ImportarRed {
+
+    public static void main(String[] args) throws SQLException, IOException {
+        ImportadorCsv.Tipo tipo = args.length >= 2 ? ImportadorCsv.Tipo.desdeNombre(args[0]) : null;
+        boolean reiniciar = args.length == 3 && args[2].equals("--reiniciar");
+        if (tipo == null || args.length > 3 || (args.length == 3 && !reiniciar)) {
+            System.err.println("Uso: ImportarRed estaciones|sismografos <archivo.csv> [--reiniciar]");
+            System.exit(1);
+        }
+        Path archivo = Path.of(args[1]);
+        Path reporte = Path.of(args[1] + ".errores.csv");
+        try {
+            SchemaMigrator.migrate();
+            long inicio = System.currentTimeMillis();
+            ImportadorCsv.Resultado resultado = new ImportadorCsv(tipo).importar(archivo, reporte, reiniciar);
+            if (resultado.getOmitidos() > 0) {
+                System.out.println("  - " + resultado.getOmitidos() + " registros ya importados en corridas anteriores");
+            }
+            System.out.println("✓ " + resultado.getImportados() + " de " + resultado.getLeidos() + " registros importados en "
+                    + (System.currentTimeMillis() - inicio) + " ms");
+            if (resultado.getConError() > 0) {
+                System.out.println("✗ " + resultado.getConError() + " registros con errores, ver " + reporte);
+            }
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.redseismica.app;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.database.dao.ResumenFlotaDAO;
+import com.redseismica.database.migration.SchemaMigrator;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Vuelve a calcular el resumen de estados de la flota a partir de la tabla
+ * {@code sismografos}. Hace falta después de dar de alta sismógrafos o
+ * cambiarlos de estación por fuera de los DAO (cargas masivas, scripts
+ * SQL); los cambios de estado ya lo mantienen al día.
+ *
+ * Uso: {@code ReconstruirResumenFlota}.
+ */
+public class ReconstruirResumenFlota {
+
+    public static void main(String[] args) throws SQLException {
+        try {
+            SchemaMigrator.migrate();
+            long inicio = System.currentTimeMillis();
+            int sismografos = ResumenFlotaDAO.reconstruir();
+            System.out.println("✓ Resumen de la flota reconstruido con " + sismografos + " sismógrafos en "
+                    + (System.currentTimeMillis() - inicio) + " ms");
+            for (Map.Entry<String, Integer> total : ResumenFlotaDAO.findTotales().entrySet()) {
+                System.out.println("  - " + total.getKey() + ": " + total.getValue());
+            }
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.redseismica.app;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.database.dao.VerificadorPlanes;
+import com.redseismica.database.migration.SchemaMigrator;
+import com.redseismica.generacion.GeneradorDatos;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Control de regresión de planes de ejecución. Crea una base en memoria
+ * (salvo que se indique otra con {@code -Dredseismica.db.url}), le aplica
+ * las migraciones, la puebla con un volumen grande de datos y ejecuta
+ * {@link VerificadorPlanes} sobre todas las consultas de los DAO.
+ *
+ * Uso: {@code VerificarPlanes [cantidad de órdenes]} (por defecto 50000).
+ * Termina con código 1 si alguna consulta recorre una tabla completa.
+ */
+public class VerificarPlanes {
+
+    /** Semilla fija: cada corrida verifica los planes sobre los mismos datos. */
+    private static final long SEMILLA = 20_240_501L;
+
+    public static void main(String[] args) throws SQLException {
+        if (System.getProperty("redseismica.db.url") == null) {
+            System.setProperty("redseismica.db.url", "jdbc:h2:mem:planes");
+        }
+        int ordenes = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+
+        List<String> fallas;
+        try {
+            SchemaMigrator.migrate();
+            poblar(ordenes);
+            fallas = VerificadorPlanes.verificar();
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+
+        if (fallas.isEmpty()) {
+            System.out.println("✓ Todas las consultas de los DAO usan índices ("
+                    + VerificadorPlanes.consultas().size() + " consultas verificadas)");
+            return;
+        }
+        for (String falla : fallas) {
+            System.err.println("✗ " + falla);
+        }
+        System.exit(1);
+    }
+
+    /**
+     * Agrega estaciones, sismógrafos, empleados, órdenes e historial de
+     * estados proporcionales a la cantidad de órdenes pedida, con
+     * {@link GeneradorDatos} (que también actualiza las estadísticas del
+     * optimizador).
+     */
+    private static void poblar(int ordenes) throws SQLException {
+        GeneradorDatos generador = new GeneradorDatos(SEMILLA, LocalDate.now().atStartOfDay());
+        GeneradorDatos.Resultado resultado = generador.generar(GeneradorDatos.Volumen.proporcional(ordenes));
+        System.out.println("✓ Base poblada con " + resultado);
+    }
+}
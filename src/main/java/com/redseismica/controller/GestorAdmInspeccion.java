@@ -1,12 +1,22 @@
 package com.redseismica.controller;
 
+import com.redseismica.database.cache.CatalogoEstados;
+import com.redseismica.database.cache.CatalogoMotivosTipo;
+import com.redseismica.database.cache.IndiceEmpleadosPorRol;
+import com.redseismica.database.dao.CierreOrdenDAO;
+import com.redseismica.database.dao.OrdenInspeccionDAO;
+import com.redseismica.database.dao.Pagina;
+import com.redseismica.eventos.BusEventos;
+import com.redseismica.eventos.CambioEstadoSismografoEvento;
+import com.redseismica.eventos.OrdenCerradaEvento;
 import com.redseismica.model.*;
+import com.redseismica.notificacion.DespachadorNotificaciones;
+import com.redseismica.notificacion.Notificacion;
+import com.redseismica.states.EstadoSismografo;
 import com.redseismica.view.PantallaAdmInspecciones;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.sql.SQLException;
 
 /**
@@ -18,11 +28,19 @@ import java.sql.SQLException;
  * mediante correo electrónico y la pantalla del CCRS.
  */
 public class GestorAdmInspeccion {
+    /**
+     * Cantidad de órdenes que se cargan por página en la pantalla de cierre
+     * (propiedad {@code redseismica.ordenes.tamanioPagina}).
+     */
+    private static final int TAMANIO_PAGINA_ORDENES = Integer.getInteger("redseismica.ordenes.tamanioPagina", 50);
+
     private final Sesion sesionActiva;
     private PantallaAdmInspecciones pantalla;
     private LocalDateTime fechaHora;
     private Empleado RILogueado;
     private List<OrdenInspeccion> ordenesDisponibles;
+    // Posición desde la cual cargar la próxima página de órdenes (null si no hay más)
+    private OrdenInspeccionDAO.Cursor cursorOrdenes;
     private OrdenInspeccion ordenSeleccionada;
     private String observacion;
     private List<MotivoFueraServicio> motivosSeleccionados;
@@ -53,13 +71,14 @@ public class GestorAdmInspeccion {
     }
 
     /**
-     * Obtiene los motivos disponibles para seleccionar.
+     * Obtiene los motivos disponibles para seleccionar. Se sirven desde el
+     * catálogo en memoria, sin consultar la BD.
      * 
      * @return lista de motivos disponibles
      */
     public List<MotivoTipo> buscarMotivoFueraLinea() {
         try {
-            return com.redseismica.database.dao.MotivoTipoDAO.findAll();
+            return CatalogoMotivosTipo.findAll();
         } catch (Exception e) {
             System.err.println("Error al leer motivos desde la BD: " + e.getMessage());
             if (pantalla != null) {
@@ -71,14 +90,15 @@ public class GestorAdmInspeccion {
 
     /**
      * Inicia el cierre de una orden de inspección. Recupera el responsable
-     * logueado, filtra sus órdenes completamente realizadas y las ordena por
-     * fecha de finalización. Finalmente solicita a la pantalla que las
-     * muestre al usuario.
+     * logueado, obtiene sus órdenes completamente realizadas (ya ordenadas
+     * por fecha de finalización desde la BD) y solicita a la pantalla que
+     * las muestre al usuario. Las órdenes se cargan una única vez y de esa
+     * carga salen tanto la lista tipada como las filas a mostrar.
      */
     public void opCerrarOrdenInspeccion() {
         RILogueado = sesionActiva.obtenerRILogueado();
         
-        // Buscar órdenes y construir matriz de datos (buscarOrdenesInspeccion ahora retorna la matriz)
+        // Buscar órdenes: deja cargadas las órdenes disponibles y retorna la matriz de datos
         java.util.List<java.util.List<String>> matriz = buscarOrdenesInspeccion(RILogueado);
         
         System.out.println("[Gestor] órdenes recuperadas desde BD: " + matriz.size());
@@ -88,19 +108,6 @@ public class GestorAdmInspeccion {
             System.out.println("[Gestor] orden fila: " + (fila.isEmpty() ? "(vacía)" : fila.get(0) + " / " + fila.get(2)));
         }
 
-        // Reconstruir lista de órdenes para ordenar (necesario para mantener compatibilidad con la UI)
-        try {
-            List<OrdenInspeccion> ordenesBD = com.redseismica.database.dao.OrdenInspeccionDAO.findAll();
-            this.ordenesDisponibles = ordenesBD.stream()
-                    .filter(oi -> oi.esDeRILogueado(RILogueado))
-                    .filter(OrdenInspeccion::esCompletamenteRealizada)
-                    .collect(Collectors.toList());
-            ordenarPorFechaFinalizacionOI();
-        } catch (Exception e) {
-            System.err.println("Error al reconstruir lista de órdenes: " + e.getMessage());
-            this.ordenesDisponibles = new ArrayList<>();
-        }
-
         pantalla.mostrarOrdenesInspeccion(ordenesDisponibles, matriz);
     }
 
@@ -108,16 +115,61 @@ public class GestorAdmInspeccion {
      * Filtra las órdenes del responsable logueado que estén completamente
      * realizadas, busca los datos de cada orden y construye la matriz de resultados.
      * Sigue el flujo del diagrama de secuencia: esDeRILogueado() -> esCompletamenteRealizada() -> buscarDatosOrdenInspeccion()
+     *
+     * Sólo se carga la primera página de órdenes; las siguientes se piden
+     * con {@link #cargarMasOrdenes()}. Las órdenes que pasan los filtros
+     * quedan además en la lista de órdenes disponibles, en el mismo orden
+     * que las filas de la matriz (por fecha de finalización ascendente,
+     * resuelto en la consulta).
      */
     public java.util.List<java.util.List<String>> buscarOrdenesInspeccion(Empleado RILogueado) {
+        this.ordenesDisponibles = new ArrayList<>();
+        this.cursorOrdenes = null;
+        if (RILogueado == null) {
+            return new ArrayList<>();
+        }
+        return buscarPaginaOrdenes(RILogueado, null);
+    }
+
+    /**
+     * Indica si quedan órdenes del responsable por cargar.
+     */
+    public boolean hayMasOrdenes() {
+        return cursorOrdenes != null;
+    }
+
+    /**
+     * Carga la página siguiente de órdenes cerrables y la agrega a las que
+     * ya muestra la pantalla. Invocado por la pantalla cuando el usuario
+     * pide ver más órdenes.
+     */
+    public void cargarMasOrdenes() {
+        if (cursorOrdenes == null || RILogueado == null) {
+            return;
+        }
+        int cargadas = ordenesDisponibles.size();
+        java.util.List<java.util.List<String>> filas = buscarPaginaOrdenes(RILogueado, cursorOrdenes);
+        pantalla.agregarOrdenesInspeccion(
+            new ArrayList<>(ordenesDisponibles.subList(cargadas, ordenesDisponibles.size())), filas);
+    }
+
+    /**
+     * Lee una página de órdenes completamente realizadas del responsable a
+     * partir del cursor, la agrega a las órdenes disponibles y devuelve sus
+     * filas. Deja el cursor apuntando a la página siguiente.
+     */
+    private java.util.List<java.util.List<String>> buscarPaginaOrdenes(Empleado RILogueado,
+            OrdenInspeccionDAO.Cursor desde) {
         java.util.List<java.util.List<String>> matriz = new ArrayList<>();
         
         try {
-            // Cargar todas las órdenes desde la base de datos
-            List<OrdenInspeccion> ordenesBD = com.redseismica.database.dao.OrdenInspeccionDAO.findAll();
+            // Cargar desde la BD sólo las órdenes completamente realizadas del responsable
+            Pagina<OrdenInspeccion, OrdenInspeccionDAO.Cursor> pagina =
+                OrdenInspeccionDAO.findCompletamenteRealizadasByResponsablePagina(
+                    RILogueado.getId(), desde, TAMANIO_PAGINA_ORDENES);
             
             // Filtrar y construir matriz siguiendo el diagrama de secuencia
-            for (OrdenInspeccion oi : ordenesBD) {
+            for (OrdenInspeccion oi : pagina.getElementos()) {
                 // Filtro 1: esDeRILogueado()
                 if (oi.esDeRILogueado(RILogueado)) {
                     // Filtro 2: esCompletamenteRealizada()
@@ -125,9 +177,11 @@ public class GestorAdmInspeccion {
                         // Buscar datos delegando a la orden
                         java.util.List<String> fila = oi.buscarDatosOrdenInspeccion();
                         matriz.add(fila);
+                        ordenesDisponibles.add(oi);
                     }
                 }
             }
+            cursorOrdenes = pagina.getSiguiente();
             
             return matriz;
             
@@ -136,21 +190,11 @@ public class GestorAdmInspeccion {
             if (pantalla != null) {
                 pantalla.mostrarError("No se pudo conectar a la base de datos. Intente nuevamente más tarde.");
             }
+            cursorOrdenes = null;
             return new ArrayList<>();
         }
     }
 
-    /**
-     * Ordena las órdenes disponibles por la fecha de finalización de forma
-     * ascendente (más antigua primero). Se modifica la lista interna.
-     */
-    public void ordenarPorFechaFinalizacionOI() {
-        if (ordenesDisponibles != null) {
-            ordenesDisponibles.sort(Comparator.comparing(OrdenInspeccion::getFechaHoraFinalizacion,
-                    java.util.Comparator.nullsLast(java.util.Comparator.naturalOrder())));
-        }
-    }
-
     /**
      * Invocado por la pantalla cuando el usuario selecciona una orden. Se
      * actualiza el estado interno y se solicita a la interfaz que pida la
@@ -172,7 +216,7 @@ public class GestorAdmInspeccion {
      */
     public void tomarObservacion(String observacion) {
         this.observacion = observacion;
-        // Mostrar motivos cargados desde la base de datos
+        // Mostrar motivos del catálogo en memoria
         List<MotivoTipo> motivosDisponibles = buscarMotivoFueraLinea();
         pantalla.mostrarMotivos(motivosDisponibles);
         System.out.println("[Gestor] tomarObservacion -> observacion='" + observacion + "'");
@@ -240,8 +284,9 @@ public class GestorAdmInspeccion {
             return;
         }
         System.out.println("[Gestor] Validación exitosa, procediendo con cierre");
-        cerrarOrdenInspeccion();
-        obtenerMailResponsableReparacion();
+        if (!cerrarOrdenInspeccion()) {
+            return;
+        }
         publicarMonitores();
         enviarNotificacionPorMail();
         finCU();
@@ -264,26 +309,52 @@ public class GestorAdmInspeccion {
     /**
      * Realiza las operaciones de cierre de la orden y actualización del
      * sismógrafo. Se obtienen la fecha y hora actuales y se actualizan las
-     * entidades correspondientemente. Finalmente se notifican los eventos.
+     * entidades correspondientemente; luego se persiste todo el cierre en
+     * una única transacción. Finalmente se notifican los eventos.
+     *
+     * @return true si el cierre quedó persistido; false si falló, en cuyo
+     *         caso se informa al usuario y se vuelven a cargar las órdenes
+     *         desde la BD para descartar los cambios hechos en memoria
      */
-    public void cerrarOrdenInspeccion() {
+    public boolean cerrarOrdenInspeccion() {
         fechaHora = getFechaHoraActual();
         Estado estado = buscarEstadoDeOrdenCerrada();
+        if (estado == null) {
+            return false;
+        }
+        Sismografo sismografo = ordenSeleccionada.getEstacion() != null
+                ? ordenSeleccionada.getEstacion().getSismografo() : null;
+        EstadoSismografo estadoAnterior = sismografo != null ? sismografo.getEstadoActual() : null;
         // Cerrar la orden
         ordenSeleccionada.cerrar(fechaHora, observacion, estado);
-    // Enviar sismógrafo a reparación
-    ordenSeleccionada.ponerSismografoFueraDeServicio(fechaHora, motivos, comentarios,
-        sesionActiva.obtenerRILogueado());
+        // Enviar sismógrafo a reparación
+        ordenSeleccionada.ponerSismografoFueraDeServicio(fechaHora, motivos, comentarios,
+            sesionActiva.obtenerRILogueado());
         
-        // Persistir la orden cerrada en la BD
+        // Persistir el cierre completo (orden, sismógrafo, historial, motivos
+        // y mails a los responsables de reparación en la bandeja de salida)
         try {
-            com.redseismica.database.dao.OrdenInspeccionDAO.update(ordenSeleccionada);
-        } catch (Exception e) {
-            System.err.println("Advertencia: No se pudo persistir el cierre de la orden en la BD: " + e.getMessage());
+            CierreOrdenDAO.persistirCierre(
+                ordenSeleccionada, fechaHora, motivosSeleccionados, RILogueado,
+                armarNotificaciones(obtenerMailResponsableReparacion()));
+        } catch (SQLException e) {
+            System.err.println("Error al persistir el cierre de la orden " + ordenSeleccionada.getNroOrden()
+                + ": " + e.getMessage());
+            if (pantalla != null) {
+                pantalla.mostrarError("No se pudo cerrar la orden; no se guardó ningún cambio. Intente nuevamente.");
+                ordenSeleccionada = null;
+                opCerrarOrdenInspeccion();
+            }
+            return false;
         }
         
+        // Publicar el cambio de estado y el cierre (ya confirmados) a los monitores del CCRS
+        publicarCambioEstado(sismografo, estadoAnterior);
+        publicarCierre();
+
         // Notificaciones
         enviarSismografoAReparacion(fechaHora, motivosSeleccionados, RILogueado);
+        return true;
     }
 
     /**
@@ -307,14 +378,8 @@ public class GestorAdmInspeccion {
 
     public Estado buscarEstadoDeOrdenCerrada() {
         try {
-            List<Estado> estados = com.redseismica.database.dao.EstadoDAO.findAll();
-            Estado estadoCerrada = null;
-            for (Estado estado : estados) {
-                if (estado.sosCerrada()) {
-                    estadoCerrada = estado;
-                }
-            }
-            return estadoCerrada;
+            // El catálogo de estados se mantiene en memoria: no consulta la BD
+            return CatalogoEstados.buscarCerrada();
 
         } catch (SQLException e) {
             System.err.println("Error al leer estados desde la BD: " + e.getMessage());
@@ -325,31 +390,115 @@ public class GestorAdmInspeccion {
         }
     }
 
+    /**
+     * Devuelve los mails de los responsables de reparación. Se resuelven
+     * con el índice de empleados por rol, sin consultar la BD.
+     */
     public List<String> obtenerMailResponsableReparacion() throws SQLException {
-        List<Empleado> empleados = com.redseismica.database.dao.EmpleadoDAO.findAll();
-        List<String> mails = new ArrayList<>();
-        for (Empleado empleado : empleados) {
-            if (empleado.sosResponsableReparacion()) {
-                mails.add(empleado.getMail());
-            }
+        List<Empleado> responsables =
+                IndiceEmpleadosPorRol.buscarResponsablesReparacion();
+        List<String> mails = new ArrayList<>(responsables.size());
+        for (Empleado empleado : responsables) {
+            mails.add(empleado.getMail());
         }
         return mails;
     }
 
+    /**
+     * El cierre ya se publicó en el bus de eventos al confirmarse; aquí sólo
+     * se informa al usuario. La entrega a cada monitor es asíncrona.
+     */
     public void publicarMonitores() {
+        int monitores = BusEventos.getInstancia().getCantidadSuscripciones();
         if (pantalla != null) {
-            pantalla.mostrarMensaje("Publicado con exito en monitores");
+            pantalla.mostrarMensaje("Publicado en " + monitores + " monitor(es) del CCRS");
         } else {
-            System.out.println("[Gestor] publicarMonitores: publicado en monitores (sin UI)");
+            System.out.println("[Gestor] publicarMonitores: publicado en " + monitores + " monitor(es) (sin UI)");
+        }
+    }
+
+    /**
+     * Publica en el bus de eventos el cambio de estado del sismógrafo de la
+     * orden cerrada. Se llama recién después de confirmar el cierre, para
+     * que los suscriptores nunca vean una transición que luego se deshizo.
+     */
+    private void publicarCambioEstado(Sismografo sismografo, EstadoSismografo estadoAnterior) {
+        if (sismografo == null || estadoAnterior == null || estadoAnterior == sismografo.getEstadoActual()) {
+            return;
+        }
+        BusEventos.getInstancia().publicar(new CambioEstadoSismografoEvento(
+                sismografo.getIdSismografo(), estadoAnterior, sismografo.getEstadoActual(), fechaHora));
+    }
+
+    /**
+     * Publica en el bus de eventos el cierre de la orden seleccionada.
+     * Retorna de inmediato aunque haya monitores lentos.
+     */
+    private void publicarCierre() {
+        Sismografo sismografo = ordenSeleccionada.getEstacion() != null
+                ? ordenSeleccionada.getEstacion().getSismografo() : null;
+        List<String> descripciones = new ArrayList<>();
+        if (motivosSeleccionados != null) {
+            for (MotivoFueraServicio motivo : motivosSeleccionados) {
+                descripciones.add(motivo.getTipo().getDescripcion());
+            }
         }
+        BusEventos.getInstancia().publicar(new OrdenCerradaEvento(
+                ordenSeleccionada.getNroOrden(),
+                sismografo != null ? sismografo.getIdSismografo() : -1,
+                ordenSeleccionada.getEstacion() != null ? ordenSeleccionada.getEstacion().getNombre() : "",
+                descripciones,
+                fechaHora));
     }
 
+    /**
+     * Los mails ya quedaron en la bandeja de salida junto con el cierre;
+     * aquí sólo se pide al despachador que los envíe en segundo plano, sin
+     * bloquear la interfaz.
+     */
     public void enviarNotificacionPorMail() throws SQLException {
+        DespachadorNotificaciones.despertar();
         if (pantalla != null) {
-            pantalla.mostrarMensaje("Correos enviados con exito");
+            pantalla.mostrarMensaje("Correos encolados para su envío");
         } else {
-            System.out.println("[Gestor] enviarNotificacionPorMail: correos enviados (sin UI)");
+            System.out.println("[Gestor] enviarNotificacionPorMail: correos encolados (sin UI)");
+        }
+    }
+
+    /**
+     * Arma un mail por destinatario con la identificación del sismógrafo,
+     * el nuevo estado, la fecha y hora y los motivos seleccionados.
+     */
+    private List<Notificacion> armarNotificaciones(List<String> mails) {
+        Sismografo sismografo = ordenSeleccionada.getEstacion() != null
+                ? ordenSeleccionada.getEstacion().getSismografo() : null;
+        String idSismografo = sismografo != null ? String.valueOf(sismografo.getIdSismografo()) : "?";
+        String estado = sismografo != null ? sismografo.getEstadoActual().getNombreEstado() : "";
+
+        StringBuilder cuerpo = new StringBuilder();
+        cuerpo.append("El sismógrafo ").append(idSismografo)
+              .append(" de la estación ").append(ordenSeleccionada.getEstacion() != null
+                      ? ordenSeleccionada.getEstacion().getNombre() : "")
+              .append(" pasó a ").append(estado)
+              .append(" el ").append(fechaHora).append(".\n")
+              .append("Orden de inspección: ").append(ordenSeleccionada.getNroOrden()).append("\n")
+              .append("Motivos:\n");
+        if (motivosSeleccionados != null) {
+            for (MotivoFueraServicio motivo : motivosSeleccionados) {
+                cuerpo.append(" - ").append(motivo.getTipo().getDescripcion());
+                if (motivo.getComentario() != null && !motivo.getComentario().isBlank()) {
+                    cuerpo.append(": ").append(motivo.getComentario());
+                }
+                cuerpo.append("\n");
+            }
+        }
+        String asunto = "Sismógrafo " + idSismografo + " " + estado;
+
+        List<Notificacion> notificaciones = new ArrayList<>(mails.size());
+        for (String mail : mails) {
+            notificaciones.add(new Notificacion(mail, asunto, cuerpo.toString()));
         }
+        return notificaciones;
     }
 
 
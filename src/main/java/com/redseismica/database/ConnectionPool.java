@@ -0,0 +1,296 @@
+package com.redseismica.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool acotado de conexiones JDBC. Cada llamada a {@link #borrow()}
+ * entrega un préstamo exclusivo de una conexión física; al cerrar la
+ * conexión entregada (por ejemplo en un try-with-resources) la conexión
+ * física vuelve al pool en lugar de cerrarse, evitando reabrir el archivo
+ * H2 en cada operación.
+ *
+ * El pool valida las conexiones que estuvieron ociosas antes de
+ * prestarlas, desaloja periódicamente las que superan el tiempo máximo de
+ * inactividad (conservando siempre una mínima para que H2 no cierre la
+ * base) y lleva métricas de uso consultables con {@link #getStats()}.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long validationIntervalMillis;
+
+    /** Un permiso por conexión que puede estar prestada a la vez. */
+    private final Semaphore permits;
+    /** Conexiones libres; se usan en orden LIFO para reutilizar las más recientes. */
+    private final Deque<PooledEntry> idle = new ConcurrentLinkedDeque<>();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong invalidCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password,
+                          int maxSize, int minIdle,
+                          long borrowTimeoutMillis, long idleTimeoutMillis,
+                          long validationIntervalMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("El tamaño máximo del pool debe ser al menos 1");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minIdle = Math.max(0, Math.min(minIdle, maxSize));
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "redseismica-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Presta una conexión del pool. Si no hay conexiones libres y el pool
+     * ya alcanzó su tamaño máximo, espera hasta el tiempo de préstamo
+     * configurado.
+     *
+     * @return conexión cuyo close() la devuelve al pool
+     * @throws SQLException si el pool está cerrado, se agota el tiempo de
+     *                      espera o no se puede abrir una conexión nueva
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Tiempo de espera agotado (" + borrowTimeoutMillis
+                        + " ms) al pedir una conexión; pool: " + getStats());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras se esperaba una conexión", e);
+        }
+        totalWaitNanos.addAndGet(System.nanoTime() - start);
+
+        try {
+            PooledEntry entry = takeValidIdle();
+            if (entry == null) {
+                entry = new PooledEntry(openPhysical());
+            }
+            activeConnections.incrementAndGet();
+            borrowCount.incrementAndGet();
+            return entry.lease(this);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledEntry takeValidIdle() {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (System.currentTimeMillis() - entry.lastReturned < validationIntervalMillis || isValid(entry)) {
+                return entry;
+            }
+            invalidCount.incrementAndGet();
+            destroy(entry);
+        }
+        return null;
+    }
+
+    private boolean isValid(PooledEntry entry) {
+        try {
+            return !entry.physical.isClosed() && entry.physical.isValid(1);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        return physical;
+    }
+
+    /**
+     * Devuelve la conexión física al pool una vez que el préstamo se cerró.
+     * Se deshace cualquier transacción pendiente para que el siguiente
+     * usuario reciba la conexión en modo auto-commit.
+     */
+    private void giveBack(PooledEntry entry) {
+        activeConnections.decrementAndGet();
+        try {
+            boolean reusable = !closed && !entry.physical.isClosed();
+            if (reusable && !entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                entry.lastReturned = System.currentTimeMillis();
+                idle.offerFirst(entry);
+            } else {
+                destroy(entry);
+            }
+        } catch (SQLException e) {
+            invalidCount.incrementAndGet();
+            destroy(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledEntry entry) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error al cerrar una conexión del pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cierra las conexiones ociosas que superaron el tiempo máximo de
+     * inactividad, manteniendo al menos {@code minIdle} abiertas.
+     */
+    private void evictIdle() {
+        long limit = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<PooledEntry> it = idle.descendingIterator();
+        while (it.hasNext() && idle.size() > minIdle) {
+            PooledEntry entry = it.next();
+            if (entry.lastReturned < limit && idle.remove(entry)) {
+                evictedCount.incrementAndGet();
+                destroy(entry);
+            }
+        }
+    }
+
+    /**
+     * Cierra el pool y todas las conexiones libres. Las conexiones prestadas
+     * se cierran al devolverse.
+     */
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            destroy(entry);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Devuelve una foto de las métricas actuales del pool.
+     */
+    public PoolStats getStats() {
+        return new PoolStats(maxSize, totalConnections.get(), activeConnections.get(), idle.size(),
+                permits.getQueueLength(), borrowCount.get(), createdCount.get(), destroyedCount.get(),
+                evictedCount.get(), invalidCount.get(), timeoutCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()));
+    }
+
+    /**
+     * Conexión física administrada por el pool junto con su marca de tiempo
+     * de última devolución.
+     */
+    private static final class PooledEntry {
+        private final Connection physical;
+        private volatile long lastReturned = System.currentTimeMillis();
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+
+        private Connection lease(ConnectionPool pool) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Lease(pool, this));
+        }
+    }
+
+    /**
+     * Envoltorio de un préstamo. Intercepta close() para devolver la
+     * conexión al pool y rechaza cualquier uso posterior al cierre.
+     */
+    private static final class Lease implements InvocationHandler {
+        private final ConnectionPool pool;
+        private final PooledEntry entry;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private Lease(ConnectionPool pool, PooledEntry entry) {
+            this.pool = pool;
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        pool.giveBack(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    if (returned.get()) {
+                        throw new SQLException("La conexión ya fue devuelta al pool");
+                    }
+                    try {
+                        return method.invoke(entry.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
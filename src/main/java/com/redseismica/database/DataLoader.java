@@ -1,5 +1,7 @@
 package com.redseismica.database;
 
+import com.redseismica.database.cache.IndiceEmpleadosPorRol;
+
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -15,53 +17,43 @@ import java.time.LocalDateTime;
 public class DataLoader {
 
     /**
-     * Carga todos los datos iniciales en la base de datos.
+     * Carga todos los datos iniciales en la base de datos. Se ejecuta como
+     * una migración del esquema, por lo que corre una única vez por base y
+     * dentro de la transacción que abre el migrador; las verificaciones de
+     * tablas vacías permiten adoptar bases creadas antes del versionado.
      *
+     * @param conn conexión con la transacción de la migración
      * @throws SQLException si hay un error al insertar los datos
      */
-    public static void loadInitialData() throws SQLException {
-        Connection conn = DatabaseConfig.getConnection();
-        
-        // Deshabilitar auto-commit para transacción
-        conn.setAutoCommit(false);
-        
-        try {
-            // Solo insertar si las tablas están vacías
-            if (isTableEmpty(conn, "roles")) {
-                insertRoles(conn);
-            }
-            if (isTableEmpty(conn, "empleados")) {
-                insertEmpleados(conn);
-            }
-            if (isTableEmpty(conn, "usuarios")) {
-                insertUsuarios(conn);
-            }
-            if (isTableEmpty(conn, "estaciones")) {
-                insertEstaciones(conn);
-            }
-            if (isTableEmpty(conn, "sismografos")) {
-                insertSismografos(conn);
-            }
-            // Insertar cambios de estado iniciales para los sismógrafos si faltan
-            if (isTableEmpty(conn, "cambios_estado_sismografo")) {
-                insertCambiosEstadoIniciales(conn);
-            }
-            if (isTableEmpty(conn, "ordenes_inspeccion")) {
-                insertOrdenesInspeccion(conn);
-            }
-            if (isTableEmpty(conn, "motivos_tipo")) {
-                insertMotivosTipo(conn);
-            }
-
-            conn.commit();
-            System.out.println("✓ Datos iniciales cargados exitosamente (si faltaban)");
-        } catch (SQLException e) {
-            conn.rollback();
-            System.err.println("Error al cargar datos: " + e.getMessage());
-            throw e;
-        } finally {
-            conn.setAutoCommit(true);
+    public static void loadInitialData(Connection conn) throws SQLException {
+        // Solo insertar si las tablas están vacías
+        if (isTableEmpty(conn, "roles")) {
+            insertRoles(conn);
+        }
+        if (isTableEmpty(conn, "empleados")) {
+            insertEmpleados(conn);
+            IndiceEmpleadosPorRol.invalidar();
+        }
+        if (isTableEmpty(conn, "usuarios")) {
+            insertUsuarios(conn);
+        }
+        if (isTableEmpty(conn, "estaciones")) {
+            insertEstaciones(conn);
+        }
+        if (isTableEmpty(conn, "sismografos")) {
+            insertSismografos(conn);
+        }
+        // Insertar cambios de estado iniciales para los sismógrafos si faltan
+        if (isTableEmpty(conn, "cambios_estado_sismografo")) {
+            insertCambiosEstadoIniciales(conn);
+        }
+        if (isTableEmpty(conn, "ordenes_inspeccion")) {
+            insertOrdenesInspeccion(conn);
+        }
+        if (isTableEmpty(conn, "motivos_tipo")) {
+            insertMotivosTipo(conn);
         }
+        System.out.println("✓ Datos iniciales cargados exitosamente (si faltaban)");
     }
 
     private static boolean isTableEmpty(Connection conn, String tableName) throws SQLException {
@@ -1,172 +1,71 @@
 package com.redseismica.database;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 /**
- * Configuración y gestión de la conexión a la base de datos H2 en memoria.
- * Proporciona métodos para obtener conexiones y crear las tablas necesarias.
+ * Configuración y gestión de las conexiones a la base de datos H2.
+ * Las conexiones se obtienen de un {@link ConnectionPool} compartido:
+ * cada llamada a {@link #getConnection()} presta una conexión que debe
+ * cerrarse (idealmente con try-with-resources) para devolverla al pool.
+ * La creación de tablas está a cargo de
+ * {@link com.redseismica.database.migration.SchemaMigrator}.
+ *
+ * Los parámetros pueden ajustarse con propiedades del sistema:
+ * {@code redseismica.db.url}, {@code redseismica.pool.max},
+ * {@code redseismica.pool.timeoutMs} y {@code redseismica.pool.idleMs}.
  */
 public class DatabaseConfig {
     // Usar base de datos en archivo para persistencia (sin AUTO_SERVER para evitar problemas de puerto)
-    private static final String DB_URL = "jdbc:h2:file:./data/redseismica";
+    private static final String DB_URL = System.getProperty("redseismica.db.url", "jdbc:h2:file:./data/redseismica");
     private static final String DB_USER = "sa";
     private static final String DB_PASSWORD = "";
-    
-    private static Connection connection;
+
+    private static final int POOL_MAX = Integer.getInteger("redseismica.pool.max", 8);
+    private static final int POOL_MIN_IDLE = 1;
+    private static final long POOL_TIMEOUT_MS = Long.getLong("redseismica.pool.timeoutMs", 5_000L);
+    private static final long POOL_IDLE_MS = Long.getLong("redseismica.pool.idleMs", 60_000L);
+    private static final long POOL_VALIDATION_MS = 30_000L;
+
+    private static ConnectionPool pool;
 
     /**
-     * Obtiene una conexión a la base de datos. Si no existe, la crea.
+     * Presta una conexión del pool. El llamador debe cerrarla para
+     * devolverla; cerrar la conexión no cierra la base de datos.
      *
-     * @return conexión activa a la base de datos
-     * @throws SQLException si hay un error al conectar
+     * @return conexión prestada por el pool
+     * @throws SQLException si hay un error al conectar o se agota la espera
      */
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
+        return getPool().borrow();
+    }
+
+    /**
+     * Obtiene el pool compartido, creándolo en el primer uso.
+     *
+     * @return pool de conexiones de la aplicación
+     * @throws SQLException si no se encuentra el driver de H2
+     */
+    public static synchronized ConnectionPool getPool() throws SQLException {
+        if (pool == null || pool.isClosed()) {
             try {
                 Class.forName("org.h2.Driver");
             } catch (ClassNotFoundException e) {
                 throw new SQLException("Driver H2 no encontrado", e);
             }
-            connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+            pool = new ConnectionPool(DB_URL, DB_USER, DB_PASSWORD, POOL_MAX, POOL_MIN_IDLE,
+                    POOL_TIMEOUT_MS, POOL_IDLE_MS, POOL_VALIDATION_MS);
         }
-        return connection;
+        return pool;
     }
 
     /**
-     * Crea todas las tablas necesarias para el sistema.
-     *
-     * @throws SQLException si hay un error al crear las tablas
+     * Cierra el pool y todas sus conexiones libres.
      */
-    public static void createTables() throws SQLException {
-        Connection conn = getConnection();
-        Statement stmt = conn.createStatement();
-
-        // Tabla de Roles
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS roles (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                nombre VARCHAR(100) NOT NULL UNIQUE
-            )
-        """);
-
-        // Tabla de Empleados
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS empleados (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                apellido VARCHAR(100) NOT NULL,
-                mail VARCHAR(150) NOT NULL,
-                nombre VARCHAR(100) NOT NULL,
-                telefono VARCHAR(20),
-                rol_id INT NOT NULL,
-                FOREIGN KEY (rol_id) REFERENCES roles(id)
-            )
-        """);
-
-        // Tabla de Usuarios
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS usuarios (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                password VARCHAR(100) NOT NULL,
-                nombreUsuario VARCHAR(50) NOT NULL UNIQUE,
-                empleado_id INT NOT NULL,
-                FOREIGN KEY (empleado_id) REFERENCES empleados(id)
-            )
-        """);
-
-                // Tabla de Estaciones Sismológicas
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS estaciones (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                codigo INT NOT NULL UNIQUE,
-                nombre VARCHAR(150) NOT NULL,
-                latitud DOUBLE NOT NULL,
-                longitud DOUBLE NOT NULL
-            )
-        """);
-
-        // Tabla de Sismógrafos
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS sismografos (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                numero_serie INT NOT NULL UNIQUE,
-                fecha_instalacion TIMESTAMP NOT NULL,
-                modelo INT NOT NULL,
-                estado_actual VARCHAR(50) NOT NULL,
-                fecha_hora_estado TIMESTAMP NOT NULL,
-                    estacion_id INT,
-                    FOREIGN KEY (estacion_id) REFERENCES estaciones(id)
-            )
-        """);
-
-        // Tabla de Órdenes de Inspección
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS ordenes_inspeccion (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                numero_orden INT NOT NULL UNIQUE,
-                fecha_hora_emision TIMESTAMP NOT NULL,
-                fecha_hora_finalizacion TIMESTAMP,
-                fecha_hora_cierre TIMESTAMP,
-                estado VARCHAR(50) NOT NULL,
-                observacion_cierre TEXT,
-                estacion_id INT NOT NULL,
-                responsable_id INT NOT NULL,
-                FOREIGN KEY (estacion_id) REFERENCES estaciones(id),
-                FOREIGN KEY (responsable_id) REFERENCES empleados(id)
-            )
-        """);
-
-        // Tabla de Motivos Tipo
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS motivos_tipo (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                descripcion VARCHAR(200) NOT NULL UNIQUE
-            )
-        """);
-
-        // Tabla de Motivos Fuera de Servicio
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS motivos_fuera_servicio (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                motivo_tipo_id INT NOT NULL,
-                comentario TEXT,
-                orden_id INT NOT NULL,
-                FOREIGN KEY (motivo_tipo_id) REFERENCES motivos_tipo(id),
-                FOREIGN KEY (orden_id) REFERENCES ordenes_inspeccion(id)
-            )
-        """);
-
-        // Tabla de Cambios de Estado del Sismógrafo
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS cambios_estado_sismografo (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                sismografo_id INT NOT NULL,
-                fecha_hora TIMESTAMP NOT NULL,
-                estado VARCHAR(50) NOT NULL,
-                observacion TEXT,
-                empleado_id INT,
-                FOREIGN KEY (sismografo_id) REFERENCES sismografos(id),
-                FOREIGN KEY (empleado_id) REFERENCES empleados(id)
-            )
-        """);
-
-        stmt.close();
-        System.out.println("✓ Tablas creadas exitosamente");
-    }
-
-    /**
-     * Cierra la conexión a la base de datos.
-     */
-    public static void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("✓ Conexión cerrada");
-            }
-        } catch (SQLException e) {
-            System.err.println("Error al cerrar la conexión: " + e.getMessage());
+    public static synchronized void closeConnection() {
+        if (pool != null && !pool.isClosed()) {
+            System.out.println("✓ Pool de conexiones cerrado: " + pool.getStats());
+            pool.close();
         }
     }
 }
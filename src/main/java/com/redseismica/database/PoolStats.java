@@ -0,0 +1,99 @@
+package com.redseismica.database;
+
+/**
+ * Foto inmutable de las métricas de un {@link ConnectionPool} en un
+ * instante dado.
+ */
+public class PoolStats {
+    private final int maxSize;
+    private final int total;
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final long borrows;
+    private final long created;
+    private final long destroyed;
+    private final long evicted;
+    private final long invalid;
+    private final long timeouts;
+    private final long totalWaitMillis;
+
+    public PoolStats(int maxSize, int total, int active, int idle, int waiting,
+                     long borrows, long created, long destroyed, long evicted,
+                     long invalid, long timeouts, long totalWaitMillis) {
+        this.maxSize = maxSize;
+        this.total = total;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.borrows = borrows;
+        this.created = created;
+        this.destroyed = destroyed;
+        this.evicted = evicted;
+        this.invalid = invalid;
+        this.timeouts = timeouts;
+        this.totalWaitMillis = totalWaitMillis;
+    }
+
+    /** Cantidad máxima de conexiones que el pool puede prestar a la vez. */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** Conexiones físicas abiertas (prestadas + libres). */
+    public int getTotal() {
+        return total;
+    }
+
+    /** Conexiones prestadas en este momento. */
+    public int getActive() {
+        return active;
+    }
+
+    /** Conexiones abiertas disponibles para prestar. */
+    public int getIdle() {
+        return idle;
+    }
+
+    /** Hilos esperando una conexión. */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public long getBorrows() {
+        return borrows;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getDestroyed() {
+        return destroyed;
+    }
+
+    public long getEvicted() {
+        return evicted;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getTotalWaitMillis() {
+        return totalWaitMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{max=" + maxSize + ", total=" + total + ", activas=" + active
+                + ", libres=" + idle + ", esperando=" + waiting + ", prestamos=" + borrows
+                + ", creadas=" + created + ", destruidas=" + destroyed + ", desalojadas=" + evicted
+                + ", invalidas=" + invalid + ", timeouts=" + timeouts
+                + ", esperaTotalMs=" + totalWaitMillis + "}";
+    }
+}
@@ -0,0 +1,157 @@
+package com.redseismica.database.cache;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caché en memoria de una tabla de catálogo (datos de referencia que casi
+ * no cambian). El catálogo se carga completo la primera vez que se
+ * consulta y se sirve desde memoria hasta que se llama a
+ * {@link #invalidar()}; la siguiente consulta vuelve a cargarlo.
+ *
+ * Las lecturas no toman locks: trabajan sobre una foto inmutable del
+ * catálogo que se reemplaza entera al recargar.
+ *
+ * Cada foto lleva la generación (cantidad de invalidaciones) vigente al
+ * empezar su carga. Si {@link #invalidar()} corre mientras se carga, la
+ * foto nace vieja: se descarta y se vuelve a cargar, para no dejar en
+ * memoria datos leídos antes de la modificación que motivó la invalidación.
+ *
+ * @param <K> tipo de la clave de búsqueda
+ * @param <V> tipo de los elementos del catálogo
+ */
+public class CatalogoCache<K, V> {
+
+    /** Carga el contenido completo del catálogo desde la base. */
+    @FunctionalInterface
+    public interface Cargador<V> {
+        Collection<V> cargar() throws SQLException;
+    }
+
+    private final String nombre;
+    private final Cargador<V> cargador;
+    private final Function<V, K> clave;
+    private volatile Foto<K, V> foto;
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    /**
+     * @param nombre   nombre del catálogo, usado en los mensajes
+     * @param cargador consulta que devuelve todos los elementos
+     * @param clave    función que obtiene la clave de cada elemento
+     */
+    public CatalogoCache(String nombre, Cargador<V> cargador, Function<V, K> clave) {
+        this.nombre = nombre;
+        this.cargador = cargador;
+        this.clave = clave;
+    }
+
+    /**
+     * Devuelve el elemento con la clave indicada, o {@code null} si el
+     * catálogo no lo contiene.
+     *
+     * @throws SQLException si el catálogo no estaba cargado y falla la carga
+     */
+    public V get(K key) throws SQLException {
+        return snapshot().get(key);
+    }
+
+    /**
+     * Devuelve todos los elementos en el orden en que los cargó la consulta.
+     *
+     * @throws SQLException si el catálogo no estaba cargado y falla la carga
+     */
+    public Collection<V> values() throws SQLException {
+        return snapshot().values();
+    }
+
+    /**
+     * Carga el catálogo si todavía no está en memoria. Sirve para
+     * precargarlo al iniciar la aplicación.
+     */
+    public void precargar() throws SQLException {
+        snapshot();
+    }
+
+    /**
+     * Descarta el contenido en memoria; la próxima consulta lo recarga.
+     * Debe llamarse después de modificar la tabla del catálogo.
+     */
+    public void invalidar() {
+        invalidaciones.incrementAndGet();
+        foto = null;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /** Consultas resueltas sin ir a la base. */
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    /** Consultas que tuvieron que cargar el catálogo desde la base. */
+    public long getFallos() {
+        return fallos.get();
+    }
+
+    public long getInvalidaciones() {
+        return invalidaciones.get();
+    }
+
+    private Map<K, V> snapshot() throws SQLException {
+        Foto<K, V> actual = foto;
+        if (actual != null && actual.generacion == invalidaciones.get()) {
+            aciertos.incrementAndGet();
+            return actual.elementos;
+        }
+        synchronized (this) {
+            actual = foto;
+            if (actual != null && actual.generacion == invalidaciones.get()) {
+                aciertos.incrementAndGet();
+                return actual.elementos;
+            }
+            fallos.incrementAndGet();
+            while (true) {
+                long generacion = invalidaciones.get();
+                Map<K, V> cargados = new LinkedHashMap<>();
+                for (V elemento : cargador.cargar()) {
+                    cargados.put(clave.apply(elemento), elemento);
+                }
+                actual = new Foto<>(generacion, Collections.unmodifiableMap(cargados));
+                if (generacion == invalidaciones.get()) {
+                    foto = actual;
+                    return actual.elementos;
+                }
+                // Hubo una invalidación durante la carga: lo leído puede ser anterior a ella
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        Foto<K, V> actual = foto;
+        return "Catálogo " + nombre + "{elementos=" + (actual == null ? "sin cargar" : actual.elementos.size())
+                + ", aciertos=" + aciertos.get() + ", fallos=" + fallos.get()
+                + ", invalidaciones=" + invalidaciones.get() + "}";
+    }
+
+    /** Contenido cargado junto con la generación en la que empezó su carga. */
+    private static final class Foto<K, V> {
+        private final long generacion;
+        private final Map<K, V> elementos;
+
+        Foto(long generacion, Map<K, V> elementos) {
+            this.generacion = generacion;
+            this.elementos = elementos;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.redseismica.database.cache;
+
+import com.redseismica.database.dao.EstadoDAO;
+import com.redseismica.model.Estado;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catálogo de estados en memoria, cargado una vez desde la tabla
+ * {@code estados}. Resolver un estado (por ejemplo "Cerrada" al cerrar una
+ * orden) no ejecuta consultas mientras el catálogo esté cargado.
+ */
+public class CatalogoEstados {
+
+    private static final CatalogoCache<String, Estado> CACHE =
+            new CatalogoCache<>("estados", EstadoDAO::findAll, Estado::getCodigoBD);
+
+    /**
+     * Devuelve el estado con el código persistido indicado, o {@code null}
+     * si no figura en el catálogo.
+     */
+    public static Estado buscar(String codigoBD) throws SQLException {
+        return CACHE.get(codigoBD);
+    }
+
+    /**
+     * Devuelve el estado "Cerrada" de las órdenes de inspección.
+     */
+    public static Estado buscarCerrada() throws SQLException {
+        return buscar(Estado.CERRADA.getCodigoBD());
+    }
+
+    public static List<Estado> findAll() throws SQLException {
+        return new ArrayList<>(CACHE.values());
+    }
+
+    public static void precargar() throws SQLException {
+        CACHE.precargar();
+    }
+
+    /**
+     * Descarta el catálogo en memoria; se recarga en la próxima consulta.
+     */
+    public static void invalidar() {
+        CACHE.invalidar();
+    }
+
+    public static CatalogoCache<String, Estado> getCache() {
+        return CACHE;
+    }
+}
@@ -0,0 +1,49 @@
+package com.redseismica.database.cache;
+
+import com.redseismica.database.dao.MotivoTipoDAO;
+import com.redseismica.model.MotivoTipo;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catálogo de motivos tipo en memoria, compartido por toda la aplicación.
+ * Se precarga al iniciar y se invalida cuando {@link MotivoTipoDAO}
+ * modifica la tabla {@code motivos_tipo}, de modo que mostrar los motivos
+ * al cerrar una orden no ejecuta consultas.
+ */
+public class CatalogoMotivosTipo {
+
+    private static final CatalogoCache<Integer, MotivoTipo> CACHE =
+            new CatalogoCache<>("motivos_tipo", MotivoTipoDAO::findAll, MotivoTipo::getId);
+
+    /**
+     * Devuelve los motivos tipo ordenados por descripción.
+     */
+    public static List<MotivoTipo> findAll() throws SQLException {
+        return new ArrayList<>(CACHE.values());
+    }
+
+    /**
+     * Devuelve el motivo con el id indicado, o {@code null} si no existe.
+     */
+    public static MotivoTipo buscar(int id) throws SQLException {
+        return CACHE.get(id);
+    }
+
+    public static void precargar() throws SQLException {
+        CACHE.precargar();
+    }
+
+    /**
+     * Descarta el catálogo en memoria; se recarga en la próxima consulta.
+     */
+    public static void invalidar() {
+        CACHE.invalidar();
+    }
+
+    public static CatalogoCache<Integer, MotivoTipo> getCache() {
+        return CACHE;
+    }
+}
@@ -0,0 +1,72 @@
+package com.redseismica.database.cache;
+
+import com.redseismica.database.dao.EmpleadoDAO;
+import com.redseismica.model.Empleado;
+import com.redseismica.model.Rol;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice en memoria de los empleados agrupados por nombre de rol. Resuelve
+ * los destinatarios de una notificación (por ejemplo los responsables de
+ * reparación) sin consultar la BD y sin recorrer a todos los empleados:
+ * el costo es proporcional a la cantidad de empleados del rol.
+ *
+ * Se carga completo la primera vez que se usa; cualquier alta, baja o
+ * cambio de rol de un empleado debe llamar a {@link #invalidar()}.
+ */
+public class IndiceEmpleadosPorRol {
+
+    private static final CatalogoCache<String, List<Empleado>> CACHE =
+            new CatalogoCache<>("empleados por rol", IndiceEmpleadosPorRol::cargar,
+                    empleados -> empleados.get(0).getRol().getNombre());
+
+    /**
+     * Devuelve los empleados con el rol indicado (lista vacía si no hay).
+     */
+    public static List<Empleado> buscar(String nombreRol) throws SQLException {
+        List<Empleado> empleados = CACHE.get(nombreRol);
+        return empleados != null ? empleados : List.of();
+    }
+
+    public static List<Empleado> buscarResponsablesReparacion() throws SQLException {
+        return buscar(Rol.RESPONSABLE_REPARACION);
+    }
+
+    public static void precargar() throws SQLException {
+        CACHE.precargar();
+    }
+
+    /**
+     * Descarta el índice en memoria; se recarga en la próxima consulta.
+     */
+    public static void invalidar() {
+        CACHE.invalidar();
+    }
+
+    public static CatalogoCache<String, List<Empleado>> getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Agrupa a todos los empleados por rol. Cada grupo es no vacío e
+     * inmodificable.
+     */
+    private static List<List<Empleado>> cargar() throws SQLException {
+        Map<String, List<Empleado>> porRol = new LinkedHashMap<>();
+        for (Empleado empleado : EmpleadoDAO.findAll()) {
+            if (empleado.getRol() == null) continue;
+            porRol.computeIfAbsent(empleado.getRol().getNombre(), r -> new ArrayList<>()).add(empleado);
+        }
+        List<List<Empleado>> grupos = new ArrayList<>(porRol.size());
+        for (List<Empleado> grupo : porRol.values()) {
+            grupos.add(Collections.unmodifiableList(grupo));
+        }
+        return grupos;
+    }
+}
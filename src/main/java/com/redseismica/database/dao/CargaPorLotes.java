@@ -0,0 +1,76 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.model.Referencia;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cargador de las referencias diferidas de una misma consulta. Cada
+ * referencia creada con {@link #referencia(int)} deja su id pendiente; al
+ * acceder a cualquiera de ellas se buscan de una vez todos los pendientes,
+ * así que recorrer N órdenes y pedir la estación de cada una cuesta una
+ * consulta (por tramo de {@link Lotes#TAMANIO} ids) en lugar de N. Los ids
+ * repetidos comparten la instancia cargada.
+ */
+final class CargaPorLotes<T> implements Referencia.Cargador<T> {
+
+    /** Busca las entidades de los ids indicados. */
+    @FunctionalInterface
+    interface Busqueda<T> {
+        Map<Integer, T> buscar(Collection<Integer> ids) throws SQLException;
+    }
+
+    private final Busqueda<T> busqueda;
+    private final Set<Integer> pendientes = new LinkedHashSet<>();
+    private final Map<Integer, T> cargadas = new HashMap<>();
+    private int consultas;
+
+    CargaPorLotes(Busqueda<T> busqueda) {
+        this.busqueda = busqueda;
+    }
+
+    /**
+     * Crea una referencia diferida y deja su id pendiente de carga.
+     */
+    synchronized Referencia<T> referencia(int id) {
+        if (!cargadas.containsKey(id)) {
+            pendientes.add(id);
+        }
+        return Referencia.diferida(id, this);
+    }
+
+    /**
+     * Devuelve la entidad del id, cargando en la misma búsqueda todas las
+     * pendientes si todavía no estaba cargada.
+     *
+     * @throws LecturaFallidaException si falla la búsqueda
+     */
+    @Override
+    public synchronized T cargar(int id) {
+        if (!cargadas.containsKey(id)) {
+            pendientes.add(id);
+            Map<Integer, T> encontradas;
+            try {
+                encontradas = busqueda.buscar(pendientes);
+            } catch (SQLException e) {
+                throw new LecturaFallidaException(e);
+            }
+            consultas++;
+            for (Integer pendiente : pendientes) {
+                cargadas.put(pendiente, encontradas.get(pendiente));
+            }
+            pendientes.clear();
+        }
+        return cargadas.get(id);
+    }
+
+    /** Búsquedas realizadas hasta ahora. */
+    synchronized int getConsultas() {
+        return consultas;
+    }
+}
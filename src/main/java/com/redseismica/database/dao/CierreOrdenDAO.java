@@ -0,0 +1,83 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.model.Empleado;
+import com.redseismica.model.MotivoFueraServicio;
+import com.redseismica.model.OrdenInspeccion;
+import com.redseismica.model.Sismografo;
+import com.redseismica.notificacion.Notificacion;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unidad de trabajo del cierre de una orden de inspección. Persiste en una
+ * sola transacción todo lo que el cierre cambió en memoria:
+ * <ul>
+ *   <li>la orden cerrada (estado, fecha de cierre y observación),</li>
+ *   <li>el nuevo estado del sismógrafo de la estación,</li>
+ *   <li>el registro en el historial {@code cambios_estado_sismografo},</li>
+ *   <li>los motivos fuera de servicio seleccionados,</li>
+ *   <li>las notificaciones por mail, en la bandeja de salida.</li>
+ * </ul>
+ * El historial y los motivos se insertan en lotes JDBC
+ * ({@link SismografoDAO#insertCambiosEstado}, {@link MotivoFueraServicioDAO}),
+ * por lo que el cierre cuesta una ida a la base por tabla. Si algo falla se
+ * revierte todo. Las notificaciones se envían recién después de confirmar,
+ * en segundo plano ({@link com.redseismica.notificacion.DespachadorNotificaciones}).
+ */
+public class CierreOrdenDAO {
+
+    /**
+     * Persiste el cierre de la orden de forma atómica.
+     *
+     * @param orden       orden ya cerrada en memoria (su sismógrafo ya en el nuevo estado)
+     * @param fechaHora   fecha y hora del cierre y del cambio de estado
+     * @param motivos     motivos fuera de servicio seleccionados
+     * @param responsable empleado que cierra la orden
+     * @param notificaciones mails a encolar en la bandeja de salida
+     * @throws SQLException si alguna escritura falla o la orden ya no está
+     *         completamente realizada (por ejemplo, porque otra sesión la
+     *         cerró); en ese caso no queda nada escrito, así que cerrar dos
+     *         veces la misma orden no duplica historial, motivos ni mails
+     */
+    public static void persistirCierre(OrdenInspeccion orden, LocalDateTime fechaHora,
+                                       List<MotivoFueraServicio> motivos,
+                                       Empleado responsable,
+                                       List<Notificacion> notificaciones) throws SQLException {
+        Sismografo sismografo = orden.getEstacion() != null ? orden.getEstacion().getSismografo() : null;
+        if (sismografo == null) {
+            throw new SQLException("La orden " + orden.getNroOrden() + " no tiene un sismógrafo asociado");
+        }
+        String codigoEstado = sismografo.getEstadoActual().getCodigoBD();
+        Integer empleadoId = responsable != null && responsable.getId() > 0 ? responsable.getId() : null;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (OrdenInspeccionDAO.update(conn, orden) != 1) {
+                    throw new SQLException("La orden " + orden.getNroOrden()
+                            + " no existe o ya no está completamente realizada; no se puede cerrar");
+                }
+                if (SismografoDAO.updateEstado(conn, sismografo.getIdSismografo(), codigoEstado, fechaHora) != 1) {
+                    throw new SQLException("No existe el sismógrafo " + sismografo.getIdSismografo());
+                }
+                SismografoDAO.insertCambiosEstado(conn, List.of(new SismografoDAO.CambioEstadoRegistro(
+                        sismografo.getIdSismografo(), codigoEstado, fechaHora,
+                        orden.getObservacionCierre(), empleadoId)));
+                if (motivos != null) {
+                    MotivoFueraServicioDAO.insertAll(conn, orden.getNroOrden(), motivos);
+                }
+                if (notificaciones != null) {
+                    NotificacionDAO.insertAll(conn, notificaciones);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
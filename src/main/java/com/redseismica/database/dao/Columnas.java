@@ -0,0 +1,49 @@
+package com.redseismica.database.dao;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Posición de cada columna de un {@link ResultSet}, leída una sola vez de
+ * sus metadatos. Los mapeadores resuelven con ella el índice de cada
+ * columna al crearse y después leen las filas por índice, sin buscar la
+ * etiqueta en cada fila.
+ *
+ * Las etiquetas no distinguen mayúsculas; si dos columnas comparten
+ * etiqueta vale la primera, igual que en {@code ResultSet.findColumn}.
+ */
+final class Columnas {
+
+    private final Map<String, Integer> indices;
+
+    private Columnas(Map<String, Integer> indices) {
+        this.indices = indices;
+    }
+
+    static Columnas de(ResultSet rs) throws SQLException {
+        ResultSetMetaData metadatos = rs.getMetaData();
+        int cantidad = metadatos.getColumnCount();
+        Map<String, Integer> indices = new HashMap<>(cantidad * 2);
+        for (int i = 1; i <= cantidad; i++) {
+            indices.putIfAbsent(metadatos.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        return new Columnas(indices);
+    }
+
+    /**
+     * Devuelve el índice (desde 1) de la columna con la etiqueta indicada.
+     *
+     * @throws SQLException si la consulta no tiene esa columna
+     */
+    int indice(String etiqueta) throws SQLException {
+        Integer indice = indices.get(etiqueta.toLowerCase(Locale.ROOT));
+        if (indice == null) {
+            throw new SQLException("La consulta no tiene la columna " + etiqueta);
+        }
+        return indice;
+    }
+}
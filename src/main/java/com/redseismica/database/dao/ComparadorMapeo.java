@@ -0,0 +1,156 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compara el costo de leer las filas de órdenes con sus asociaciones (las
+ * del recorrido en flujo) buscando cada
+ * columna por etiqueta contra leerlas por el índice resuelto una vez con
+ * {@link Columnas}, y el del mapeo completo con {@link MapeadorOrden}.
+ * Todas las variantes recorren el mismo resultado ya ejecutado, de modo
+ * que la consulta no entra en la medición.
+ */
+public final class ComparadorMapeo {
+
+    /** Columnas que lee {@link MapeadorOrden}, agrupadas por tipo. */
+    private static final String[] ENTEROS = {
+        "id", "numero_orden", "responsable_id", "sis_id", "numero_serie", "estacion_id", "estacion_codigo", "emp_id", "rol_id"
+    };
+    private static final String[] TEXTOS = {
+        "estado", "observacion_cierre", "estado_actual", "estacion_nombre",
+        "emp_nombre", "emp_apellido", "emp_mail", "emp_telefono", "rol_nombre"
+    };
+    private static final String[] FECHAS = {
+        "fecha_hora_emision", "fecha_hora_finalizacion", "fecha_hora_cierre", "fecha_instalacion", "fecha_hora_estado"
+    };
+    private static final String[] REALES = { "latitud", "longitud" };
+
+    /** Evita que el JIT descarte las lecturas. */
+    private static long sumidero;
+
+    private ComparadorMapeo() {
+    }
+
+    /**
+     * Mide cada variante sobre el listado completo de órdenes.
+     *
+     * @param iteraciones recorridos completos del resultado por variante
+     * @return nanosegundos por fila de cada variante, en orden de medición
+     * @throws SQLException si falla la consulta
+     */
+    public static Map<String, Double> comparar(int iteraciones) throws SQLException {
+        Map<String, Double> resultados = new LinkedHashMap<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(OrdenInspeccionDAO.SQL_FIND_ALL_CON_ASOCIACIONES,
+                     ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            Variante[] variantes = {
+                ComparadorMapeo::porEtiqueta,
+                ComparadorMapeo::porIndice,
+                ComparadorMapeo::mapeoCompleto
+            };
+            String[] nombres = { "por etiqueta", "por índice", "MapeadorOrden" };
+
+            // Calentamiento de todas las variantes antes de medir
+            for (int i = 0; i < Math.max(1, iteraciones / 4); i++) {
+                for (Variante variante : variantes) {
+                    rs.beforeFirst();
+                    variante.recorrer(rs);
+                }
+            }
+            for (int v = 0; v < variantes.length; v++) {
+                long filas = 0;
+                long inicio = System.nanoTime();
+                for (int i = 0; i < iteraciones; i++) {
+                    rs.beforeFirst();
+                    filas += variantes[v].recorrer(rs);
+                }
+                long duracion = System.nanoTime() - inicio;
+                resultados.put(nombres[v], filas == 0 ? 0 : (double) duracion / filas);
+            }
+        }
+        return resultados;
+    }
+
+    @FunctionalInterface
+    private interface Variante {
+        /** Recorre el resultado desde el principio y devuelve las filas leídas. */
+        int recorrer(ResultSet rs) throws SQLException;
+    }
+
+    private static int porEtiqueta(ResultSet rs) throws SQLException {
+        int filas = 0;
+        long acumulado = 0;
+        while (rs.next()) {
+            for (String etiqueta : ENTEROS) {
+                acumulado += rs.getInt(etiqueta);
+            }
+            for (String etiqueta : TEXTOS) {
+                acumulado += Objects.hashCode(rs.getString(etiqueta));
+            }
+            for (String etiqueta : FECHAS) {
+                acumulado += Objects.hashCode(rs.getTimestamp(etiqueta));
+            }
+            for (String etiqueta : REALES) {
+                acumulado += (long) rs.getDouble(etiqueta);
+            }
+            filas++;
+        }
+        sumidero += acumulado;
+        return filas;
+    }
+
+    private static int porIndice(ResultSet rs) throws SQLException {
+        Columnas columnas = Columnas.de(rs);
+        int[] enteros = indices(columnas, ENTEROS);
+        int[] textos = indices(columnas, TEXTOS);
+        int[] fechas = indices(columnas, FECHAS);
+        int[] reales = indices(columnas, REALES);
+        int filas = 0;
+        long acumulado = 0;
+        while (rs.next()) {
+            for (int indice : enteros) {
+                acumulado += rs.getInt(indice);
+            }
+            for (int indice : textos) {
+                acumulado += Objects.hashCode(rs.getString(indice));
+            }
+            for (int indice : fechas) {
+                acumulado += Objects.hashCode(rs.getTimestamp(indice));
+            }
+            for (int indice : reales) {
+                acumulado += (long) rs.getDouble(indice);
+            }
+            filas++;
+        }
+        sumidero += acumulado;
+        return filas;
+    }
+
+    private static int mapeoCompleto(ResultSet rs) throws SQLException {
+        MapeadorOrden mapeador = new MapeadorOrden(Columnas.de(rs), new IdentityMap());
+        int filas = 0;
+        while (rs.next()) {
+            sumidero += mapeador.mapear(rs).getNroOrden();
+            filas++;
+        }
+        return filas;
+    }
+
+    private static int[] indices(Columnas columnas, String[] etiquetas) throws SQLException {
+        int[] indices = new int[etiquetas.length];
+        for (int i = 0; i < etiquetas.length; i++) {
+            indices[i] = columnas.indice(etiquetas[i]);
+        }
+        return indices;
+    }
+}
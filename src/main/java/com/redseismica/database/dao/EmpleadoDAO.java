@@ -2,17 +2,25 @@ package com.redseismica.database.dao;
 
 import com.redseismica.database.DatabaseConfig;
 import com.redseismica.model.Empleado;
-import com.redseismica.model.Rol;
 
 import java.sql.*;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO para acceder a los empleados desde la base de datos.
  */
 public class EmpleadoDAO {
 
+    static final String SQL_FIND_BY_ID = """
+            SELECT e.id as emp_id, e.nombre as emp_nombre, e.apellido as emp_apellido,
+                   e.mail as emp_mail, e.telefono as emp_telefono, e.rol_id, r.nombre as rol_nombre
+            FROM empleados e
+            JOIN roles r ON e.rol_id = r.id
+            WHERE e.id = ?
+        """;
+
     /**
      * Obtiene un empleado por su ID.
      *
@@ -21,35 +29,23 @@ public class EmpleadoDAO {
      * @throws SQLException si hay error en la consulta
      */
     public static Empleado findById(int id) throws SQLException {
-        String sql = """
-            SELECT e.*, r.nombre as rol_nombre
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_FIND_BY_ID)) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<Empleado> empleados = MapeadorFila.listar(rs, EmpleadoDAO::mapeador);
+                return empleados.isEmpty() ? null : empleados.get(0);
+            }
+        }
+    }
+
+    static final String SQL_FIND_ALL = """
+            SELECT e.id as emp_id, e.nombre as emp_nombre, e.apellido as emp_apellido,
+                   e.mail as emp_mail, e.telefono as emp_telefono, e.rol_id, r.nombre as rol_nombre
             FROM empleados e
             JOIN roles r ON e.rol_id = r.id
-            WHERE e.id = ?
         """;
 
-        Connection conn = DatabaseConfig.getConnection();
-        PreparedStatement pstmt = conn.prepareStatement(sql);
-        pstmt.setInt(1, id);
-        ResultSet rs = pstmt.executeQuery();
-
-        Empleado empleado = null;
-        if (rs.next()) {
-            Rol rol = new Rol(rs.getString("rol_nombre"));
-            empleado = new Empleado(
-                rs.getString("nombre"),
-                rs.getString("apellido"),
-                rs.getString("mail"),
-                rs.getString("telefono"),
-                rol
-            );
-        }
-
-        rs.close();
-        pstmt.close();
-        return empleado;
-    }
-
     /**
      * Obtiene todos los empleados del sistema.
      *
@@ -57,34 +53,21 @@ public class EmpleadoDAO {
      * @throws SQLException si hay error en la consulta
      */
     public static List<Empleado> findAll() throws SQLException {
-        List<Empleado> empleados = new ArrayList<>();
-        String sql = """
-            SELECT e.*, r.nombre as rol_nombre
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_FIND_ALL)) {
+            return MapeadorFila.listar(rs, EmpleadoDAO::mapeador);
+        }
+    }
+
+    static final String SQL_FIND_RESPONSABLES_REPARACION = """
+            SELECT e.id as emp_id, e.nombre as emp_nombre, e.apellido as emp_apellido,
+                   e.mail as emp_mail, e.telefono as emp_telefono, e.rol_id, r.nombre as rol_nombre
             FROM empleados e
             JOIN roles r ON e.rol_id = r.id
+            WHERE r.nombre = 'ResponsableReparacion'
         """;
 
-        Connection conn = DatabaseConfig.getConnection();
-        Statement stmt = conn.createStatement();
-        ResultSet rs = stmt.executeQuery(sql);
-
-        while (rs.next()) {
-            Rol rol = new Rol(rs.getString("rol_nombre"));
-            Empleado empleado = new Empleado(
-                rs.getString("nombre"),
-                rs.getString("apellido"),
-                rs.getString("mail"),
-                rs.getString("telefono"),
-                rol
-            );
-            empleados.add(empleado);
-        }
-
-        rs.close();
-        stmt.close();
-        return empleados;
-    }
-
     /**
      * Obtiene todos los responsables de reparación.
      *
@@ -92,32 +75,41 @@ public class EmpleadoDAO {
      * @throws SQLException si hay error en la consulta
      */
     public static List<Empleado> findResponsablesReparacion() throws SQLException {
-        List<Empleado> empleados = new ArrayList<>();
-        String sql = """
-            SELECT e.*, r.nombre as rol_nombre
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_FIND_RESPONSABLES_REPARACION)) {
+            return MapeadorFila.listar(rs, EmpleadoDAO::mapeador);
+        }
+    }
+
+    /** Se completa con los marcadores de la lista IN y el paréntesis de cierre. */
+    static final String SQL_FIND_BY_IDS = """
+            SELECT e.id as emp_id, e.nombre as emp_nombre, e.apellido as emp_apellido,
+                   e.mail as emp_mail, e.telefono as emp_telefono, e.rol_id, r.nombre as rol_nombre
             FROM empleados e
             JOIN roles r ON e.rol_id = r.id
-            WHERE r.nombre = 'ResponsableReparacion'
-        """;
+            WHERE e.id IN (""";
 
-        Connection conn = DatabaseConfig.getConnection();
-        Statement stmt = conn.createStatement();
-        ResultSet rs = stmt.executeQuery(sql);
-
-        while (rs.next()) {
-            Rol rol = new Rol(rs.getString("rol_nombre"));
-            Empleado empleado = new Empleado(
-                rs.getString("nombre"),
-                rs.getString("apellido"),
-                rs.getString("mail"),
-                rs.getString("telefono"),
-                rol
-            );
-            empleados.add(empleado);
-        }
+    /**
+     * Obtiene varios empleados por ID en una sola consulta (una por cada
+     * tramo de {@link Lotes#TAMANIO} ids). La usan las referencias
+     * diferidas a responsables de las órdenes.
+     *
+     * @param ids IDs de los empleados
+     * @return empleados encontrados por ID
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Map<Integer, Empleado> findByIds(Collection<Integer> ids) throws SQLException {
+        IdentityMap identidades = new IdentityMap();
+        return Lotes.buscarPorIds(SQL_FIND_BY_IDS, "emp_id", ids,
+            columnas -> new MapeadorEmpleado(columnas, identidades));
+    }
 
-        rs.close();
-        stmt.close();
-        return empleados;
+    /**
+     * Mapeador de empleados con un mapa de identidad propio de la carga,
+     * de modo que los empleados del mismo rol comparten la instancia.
+     */
+    private static MapeadorFila<Empleado> mapeador(Columnas columnas) throws SQLException {
+        return new MapeadorEmpleado(columnas, new IdentityMap());
     }
 }
@@ -0,0 +1,127 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.model.EstacionSismologica;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO para acceder a las estaciones sismológicas desde la base de datos.
+ */
+public class EstacionDAO {
+
+    /** Se completa con los marcadores de la lista IN y el paréntesis de cierre. */
+    static final String SQL_FIND_BY_IDS = """
+            SELECT e.id as estacion_id, e.codigo as estacion_codigo, e.nombre as estacion_nombre,
+                   e.latitud, e.longitud,
+                   s.id as sis_id, s.numero_serie, s.fecha_instalacion, s.estado_actual, s.fecha_hora_estado
+            FROM estaciones e
+            LEFT JOIN sismografos s ON s.estacion_id = e.id
+            WHERE e.id IN (""";
+
+    /**
+     * Obtiene varias estaciones, cada una con su sismógrafo, en una sola
+     * consulta (una por cada tramo de {@link Lotes#TAMANIO} ids). La usan
+     * las referencias diferidas a estaciones de las órdenes. Una estación
+     * sin sismógrafo se devuelve igual, con el sismógrafo en null.
+     *
+     * @param ids IDs de las estaciones
+     * @return estaciones encontradas por ID
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Map<Integer, EstacionSismologica> findByIds(Collection<Integer> ids) throws SQLException {
+        IdentityMap identidades = new IdentityMap();
+        return Lotes.buscarPorIds(SQL_FIND_BY_IDS, "estacion_id", ids, columnas -> {
+            MapeadorSismografo sismografos = new MapeadorSismografo(columnas, identidades);
+            return sismografos::mapearEstacion;
+        });
+    }
+
+    static final String SQL_FIND_IDS_POR_CODIGO = "SELECT codigo, id FROM estaciones";
+
+    /**
+     * Obtiene el ID de cada estación por su código. La usa la importación
+     * para validar códigos sin consultar la base por cada fila.
+     *
+     * @return ID de la estación por código
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Map<Integer, Integer> findIdsPorCodigo() throws SQLException {
+        Map<Integer, Integer> ids = new HashMap<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_FIND_IDS_POR_CODIGO)) {
+            while (rs.next()) {
+                ids.put(rs.getInt(1), rs.getInt(2));
+            }
+        }
+        return ids;
+    }
+
+    static final String SQL_INSERT = """
+            INSERT INTO estaciones (codigo, nombre, latitud, longitud)
+            VALUES (?, ?, ?, ?)
+        """;
+
+    /**
+     * Fila a insertar en {@code estaciones}.
+     */
+    public static final class EstacionRegistro {
+        private final int codigo;
+        private final String nombre;
+        private final double latitud;
+        private final double longitud;
+
+        public EstacionRegistro(int codigo, String nombre, double latitud, double longitud) {
+            this.codigo = codigo;
+            this.nombre = nombre;
+            this.latitud = latitud;
+            this.longitud = longitud;
+        }
+
+        public int getCodigo() {
+            return codigo;
+        }
+    }
+
+    /**
+     * Inserta las estaciones con lotes JDBC sobre una única sentencia
+     * preparada, usando una conexión ya abierta y sin confirmar la
+     * transacción.
+     *
+     * @return IDs generados, en el mismo orden que {@code estaciones}
+     */
+    static int[] insertAll(Connection conn, List<EstacionRegistro> estaciones) throws SQLException {
+        int[] ids = new int[estaciones.size()];
+        if (estaciones.isEmpty()) {
+            return ids;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            int enLote = 0;
+            int leidos = 0;
+            for (EstacionRegistro estacion : estaciones) {
+                pstmt.setInt(1, estacion.codigo);
+                pstmt.setString(2, estacion.nombre);
+                pstmt.setDouble(3, estacion.latitud);
+                pstmt.setDouble(4, estacion.longitud);
+                pstmt.addBatch();
+                if (++enLote == Lotes.TAMANIO) {
+                    leidos = Lotes.ejecutar(pstmt, ids, leidos);
+                    enLote = 0;
+                }
+            }
+            if (enLote > 0) {
+                Lotes.ejecutar(pstmt, ids, leidos);
+            }
+        }
+        return ids;
+    }
+}
@@ -14,49 +14,28 @@ import java.util.List;
  * DAO dedicado a operaciones relacionadas con los códigos/definiciones
  * de estados persistidos en la base de datos. Aquí centralizamos la
  * lógica de consulta para que los controladores no usen SQL directo.
+ *
+ * Los estados se leen de la tabla de catálogo {@code estados}; para
+ * resolverlos durante un caso de uso conviene usar
+ * {@link com.redseismica.database.cache.CatalogoEstados}, que los mantiene
+ * en memoria.
  */
 public class EstadoDAO {
 
+	static final String SQL_FIND_ALL = "SELECT codigo FROM estados ORDER BY ambito, codigo";
+
 	public static List<Estado> findAll() throws SQLException {
-		String sql = "SELECT DISTINCT estado FROM ordenes_inspeccion WHERE estado IS NOT NULL "
-				+ "UNION SELECT DISTINCT estado FROM cambios_estado_sismografo WHERE estado IS NOT NULL "
-				+ "UNION SELECT DISTINCT estado FROM sismografos WHERE estado_actual IS NOT NULL";
 		List<Estado> res = new ArrayList<>();
 
 		try (Connection conn = DatabaseConfig.getConnection();
-			 PreparedStatement pstmt = conn.prepareStatement(sql);
+			 PreparedStatement pstmt = conn.prepareStatement(SQL_FIND_ALL);
 			 ResultSet rs = pstmt.executeQuery()) {
 
 			while (rs.next()) {
-				String codigo = rs.getString(1);
-				Estado estado = mapCodigoToEstado(codigo);
+				Estado estado = Estado.desdeCodigoBD(rs.getString(1));
 				if (estado != null) res.add(estado);
 			}
 			return res;
-		} catch (SQLException ex) {
-			// Si la consulta falla por esquema o por versiones de la BD,
-			// devolvemos una lista por defecto para mantener la aplicación
-			// usable y sugerir al usuario revisar/migrar la base.
-			System.err.println("EstadoDAO.findAll: error al consultar estados en la BD: " + ex.getMessage());
-			System.err.println("EstadoDAO.findAll: devolviendo lista por defecto. Recomendado: revisar script de migración/poblado.");
-			List<Estado> defaults = new ArrayList<>();
-			defaults.add(new Estado("Cerrada"));
-			defaults.add(new Estado("En curso"));
-			defaults.add(new Estado("Completamente Realizada"));
-			defaults.add(new Estado("Online"));
-			defaults.add(new Estado("Fuera de Servicio"));
-			defaults.add(new Estado("Inhabilitado por inspección"));
-			return defaults;
 		}
 	}
-
-	private static Estado mapCodigoToEstado(String codigo) {
-		if (codigo == null) return null;
-		return switch (codigo) {
-			case "CERRADA" -> new Estado("Cerrada");
-			case "EN_CURSO" -> new Estado("En curso");
-			case "COMPLETAMENTE_REALIZADA" -> new Estado("Completamente Realizada");
-			default -> new Estado(codigo);
-		};
-	}
 }
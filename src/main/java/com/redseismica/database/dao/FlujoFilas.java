@@ -0,0 +1,154 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Recorre el resultado de una consulta como un {@link Stream}, mapeando
+ * una fila por vez en lugar de cargar todo el {@link ResultSet} en una
+ * lista. La conexión, la sentencia y el resultado quedan abiertos hasta
+ * que se cierra el stream, por lo que debe usarse siempre dentro de un
+ * try-with-resources.
+ *
+ * La conexión se pone en ejecución diferida de H2
+ * ({@code LAZY_QUERY_EXECUTION}), que entrega las filas a medida que se
+ * leen en lugar de armar el resultado completo antes de devolver la
+ * primera, y se restablece al cerrar el stream antes de volver al pool.
+ */
+final class FlujoFilas {
+
+    /**
+     * Filas que se piden por vez al recorrer el resultado (propiedad
+     * {@code redseismica.db.fetchSize}).
+     */
+    static final int FETCH_SIZE = Integer.getInteger("redseismica.db.fetchSize", 500);
+
+    /** Asigna los parámetros de la consulta. */
+    @FunctionalInterface
+    interface Parametros {
+        void asignar(PreparedStatement pstmt) throws SQLException;
+    }
+
+    private FlujoFilas() {
+    }
+
+    /**
+     * Ejecuta la consulta y devuelve sus filas mapeadas como un stream
+     * secuencial y ordenado. Los errores al avanzar el stream se informan
+     * como {@link LecturaFallidaException}.
+     *
+     * @throws SQLException si falla la ejecución de la consulta; en ese caso
+     *         los recursos ya quedan liberados
+     */
+    static <T> Stream<T> abrir(String sql, Parametros parametros, MapeadorFila.Fabrica<T> fabrica) throws SQLException {
+        Recursos recursos = new Recursos(DatabaseConfig.getConnection());
+        MapeadorFila<T> mapeador;
+        try {
+            recursos.ejecucionDiferida(true);
+            recursos.pstmt = recursos.conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            recursos.pstmt.setFetchSize(FETCH_SIZE);
+            parametros.asignar(recursos.pstmt);
+            recursos.rs = recursos.pstmt.executeQuery();
+            mapeador = fabrica.crear(Columnas.de(recursos.rs));
+        } catch (SQLException | RuntimeException e) {
+            try {
+                recursos.cerrar();
+            } catch (LecturaFallidaException alCerrar) {
+                e.addSuppressed(alCerrar.getCause());
+            }
+            throw e;
+        }
+
+        ResultSet rs = recursos.rs;
+        Spliterator<T> filas = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> accion) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    accion.accept(mapeador.mapear(rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new LecturaFallidaException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(filas, false).onClose(recursos::cerrar);
+    }
+
+    /**
+     * Recursos de un stream abierto. Se cierran una sola vez, en orden
+     * inverso al de apertura, aunque alguno falle.
+     */
+    private static final class Recursos {
+        private final Connection conn;
+        private PreparedStatement pstmt;
+        private ResultSet rs;
+        private boolean cerrado;
+
+        Recursos(Connection conn) {
+            this.conn = conn;
+        }
+
+        void ejecucionDiferida(boolean activa) throws SQLException {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SET LAZY_QUERY_EXECUTION " + (activa ? "TRUE" : "FALSE"));
+            }
+        }
+
+        void cerrar() {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            SQLException error = null;
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+            } catch (SQLException e) {
+                error = e;
+            }
+            try {
+                if (pstmt != null) {
+                    pstmt.close();
+                }
+            } catch (SQLException e) {
+                error = acumular(error, e);
+            }
+            try {
+                ejecucionDiferida(false);
+            } catch (SQLException e) {
+                error = acumular(error, e);
+            }
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                error = acumular(error, e);
+            }
+            if (error != null) {
+                throw new LecturaFallidaException(error);
+            }
+        }
+
+        private static SQLException acumular(SQLException primero, SQLException otro) {
+            if (primero == null) {
+                return otro;
+            }
+            primero.addSuppressed(otro);
+            return primero;
+        }
+    }
+}
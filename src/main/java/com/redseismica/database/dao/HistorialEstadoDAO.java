@@ -0,0 +1,284 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.states.EstadoSismografo;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * DAO de lectura del historial de estados de los sismógrafos
+ * ({@code cambios_estado_sismografo}). Cada fila es una transición: el
+ * sismógrafo queda en ese estado desde su fecha hasta la de la transición
+ * siguiente. Las consultas de un sismógrafo buscan en los índices por
+ * (sismografo_id, fecha_hora, id) y las de toda la red en el índice por
+ * (fecha_hora, id), así que su costo depende de las filas devueltas y no
+ * del tamaño del historial.
+ */
+public class HistorialEstadoDAO {
+
+    /** Transición del historial de un sismógrafo. */
+    public static final class Transicion {
+        private final int id;
+        private final int sismografoId;
+        private final LocalDateTime fechaHora;
+        private final EstadoSismografo estado;
+        private final String observacion;
+        private final Integer empleadoId;
+
+        Transicion(int id, int sismografoId, LocalDateTime fechaHora, EstadoSismografo estado,
+                   String observacion, Integer empleadoId) {
+            this.id = id;
+            this.sismografoId = sismografoId;
+            this.fechaHora = fechaHora;
+            this.estado = estado;
+            this.observacion = observacion;
+            this.empleadoId = empleadoId;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getSismografoId() {
+            return sismografoId;
+        }
+
+        public LocalDateTime getFechaHora() {
+            return fechaHora;
+        }
+
+        public EstadoSismografo getEstado() {
+            return estado;
+        }
+
+        public String getObservacion() {
+            return observacion;
+        }
+
+        /** ID del empleado que registró el cambio, o null. */
+        public Integer getEmpleadoId() {
+            return empleadoId;
+        }
+
+        @Override
+        public String toString() {
+            return "Transicion{" + sismografoId + ", " + fechaHora + ", " + estado.getCodigoBD() + "}";
+        }
+    }
+
+    /**
+     * Posición de una transición en el historial de un sismógrafo, que se
+     * ordena por (fecha_hora, id).
+     */
+    public static final class Cursor {
+        private final LocalDateTime fechaHora;
+        private final int id;
+
+        public Cursor(LocalDateTime fechaHora, int id) {
+            this.fechaHora = fechaHora;
+            this.id = id;
+        }
+
+        public LocalDateTime getFechaHora() {
+            return fechaHora;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + fechaHora + ", " + id + ")";
+        }
+    }
+
+    private static final String COLUMNAS = """
+            SELECT id, sismografo_id, fecha_hora, estado, observacion, empleado_id
+            FROM cambios_estado_sismografo
+        """;
+
+    // El sismografo_id encabeza el ORDER BY para que H2 reconozca el orden
+    // del índice descendente y lea sólo la primera fila
+    static final String SQL_ESTADO_EN = COLUMNAS + """
+            WHERE sismografo_id = ? AND fecha_hora <= ?
+            ORDER BY sismografo_id, fecha_hora DESC, id DESC
+            LIMIT 1
+        """;
+
+    /**
+     * Obtiene la transición vigente en un instante: la última registrada
+     * hasta ese momento inclusive.
+     *
+     * @param sismografoId ID del sismógrafo
+     * @param fechaHora instante consultado
+     * @return transición vigente, o null si el sismógrafo no tiene historial
+     *         anterior a ese instante
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Transicion findEstadoEn(int sismografoId, LocalDateTime fechaHora) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_ESTADO_EN)) {
+            pstmt.setInt(1, sismografoId);
+            pstmt.setTimestamp(2, Timestamp.valueOf(fechaHora));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<Transicion> transiciones = MapeadorFila.listar(rs, HistorialEstadoDAO::mapeador);
+                return transiciones.isEmpty() ? null : transiciones.get(0);
+            }
+        }
+    }
+
+    static final String SQL_TRANSICIONES = COLUMNAS + """
+            WHERE sismografo_id = ? AND fecha_hora >= ? AND fecha_hora <= ?
+            ORDER BY sismografo_id, fecha_hora, id
+            LIMIT ?
+        """;
+
+    static final String SQL_TRANSICIONES_SIGUIENTE = COLUMNAS + """
+            WHERE sismografo_id = ? AND fecha_hora >= ? AND (fecha_hora > ? OR id > ?) AND fecha_hora <= ?
+            ORDER BY sismografo_id, fecha_hora, id
+            LIMIT ?
+        """;
+
+    /**
+     * Obtiene una página de las transiciones de un sismógrafo registradas
+     * en el intervalo [desde, hasta], en orden cronológico. Cada página
+     * busca en el índice a partir de la última transición de la anterior.
+     *
+     * @param sismografoId ID del sismógrafo
+     * @param desde inicio del intervalo (inclusive)
+     * @param hasta fin del intervalo (inclusive)
+     * @param cursor cursor devuelto por la página anterior, o null para la primera
+     * @param tamanio cantidad máxima de transiciones de la página
+     * @return página de transiciones con el cursor de la siguiente
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Pagina<Transicion, Cursor> findTransiciones(int sismografoId, LocalDateTime desde,
+                                                              LocalDateTime hasta, Cursor cursor, int tamanio)
+            throws SQLException {
+        if (tamanio <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo: " + tamanio);
+        }
+        List<Transicion> transiciones;
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                 cursor == null ? SQL_TRANSICIONES : SQL_TRANSICIONES_SIGUIENTE)) {
+            int i = 1;
+            pstmt.setInt(i++, sismografoId);
+            if (cursor == null) {
+                pstmt.setTimestamp(i++, Timestamp.valueOf(desde));
+            } else {
+                Timestamp fecha = Timestamp.valueOf(cursor.fechaHora);
+                pstmt.setTimestamp(i++, fecha);
+                pstmt.setTimestamp(i++, fecha);
+                pstmt.setInt(i++, cursor.id);
+            }
+            pstmt.setTimestamp(i++, Timestamp.valueOf(hasta));
+            pstmt.setInt(i, tamanio + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                transiciones = MapeadorFila.listar(rs, HistorialEstadoDAO::mapeador);
+            }
+        }
+
+        if (transiciones.size() <= tamanio) {
+            return new Pagina<>(transiciones, null);
+        }
+        transiciones.remove(tamanio);
+        Transicion ultima = transiciones.get(tamanio - 1);
+        return new Pagina<>(transiciones, new Cursor(ultima.fechaHora, ultima.id));
+    }
+
+    static final String SQL_REGISTRADAS_DESDE = COLUMNAS + """
+            WHERE fecha_hora >= ?
+            ORDER BY fecha_hora, id
+            LIMIT ?
+        """;
+
+    static final String SQL_REGISTRADAS_DESDE_SIGUIENTE = COLUMNAS + """
+            WHERE fecha_hora >= ? AND (fecha_hora > ? OR id > ?)
+            ORDER BY fecha_hora, id
+            LIMIT ?
+        """;
+
+    /**
+     * Obtiene una página de las transiciones de todos los sismógrafos con
+     * fecha desde {@code desde} inclusive, ordenadas por (fecha_hora, id).
+     * Sólo devuelve filas confirmadas, así que sirve para seguir el
+     * historial a medida que se registra.
+     *
+     * @param desde fecha mínima de las transiciones (inclusive)
+     * @param cursor cursor devuelto por la página anterior, o null para la primera
+     * @param tamanio cantidad máxima de transiciones de la página
+     * @return página de transiciones con el cursor de la siguiente
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Pagina<Transicion, Cursor> findRegistradasDesde(LocalDateTime desde, Cursor cursor, int tamanio)
+            throws SQLException {
+        if (tamanio <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo: " + tamanio);
+        }
+        List<Transicion> transiciones;
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                 cursor == null ? SQL_REGISTRADAS_DESDE : SQL_REGISTRADAS_DESDE_SIGUIENTE)) {
+            int i = 1;
+            pstmt.setTimestamp(i++, Timestamp.valueOf(desde));
+            if (cursor != null) {
+                pstmt.setTimestamp(i++, Timestamp.valueOf(cursor.fechaHora));
+                pstmt.setInt(i++, cursor.id);
+            }
+            pstmt.setInt(i, tamanio + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                transiciones = MapeadorFila.listar(rs, HistorialEstadoDAO::mapeador);
+            }
+        }
+
+        if (transiciones.size() <= tamanio) {
+            return new Pagina<>(transiciones, null);
+        }
+        transiciones.remove(tamanio);
+        Transicion ultima = transiciones.get(tamanio - 1);
+        return new Pagina<>(transiciones, new Cursor(ultima.fechaHora, ultima.id));
+    }
+
+    static final String SQL_FIND_ALL = COLUMNAS + """
+            ORDER BY sismografo_id, fecha_hora, id
+        """;
+
+    /**
+     * Recorre todo el historial, sismógrafo por sismógrafo y en orden
+     * cronológico, sin cargarlo en memoria. El stream retiene una conexión
+     * hasta cerrarse, por lo que debe usarse en un try-with-resources.
+     *
+     * @return stream de transiciones; los errores al recorrerlo se informan
+     *         como {@link LecturaFallidaException}
+     * @throws SQLException si falla la ejecución de la consulta
+     */
+    public static Stream<Transicion> streamAll() throws SQLException {
+        return FlujoFilas.abrir(SQL_FIND_ALL, pstmt -> { }, HistorialEstadoDAO::mapeador);
+    }
+
+    private static MapeadorFila<Transicion> mapeador(Columnas columnas) throws SQLException {
+        int id = columnas.indice("id");
+        int sismografoId = columnas.indice("sismografo_id");
+        int fechaHora = columnas.indice("fecha_hora");
+        int estado = columnas.indice("estado");
+        int observacion = columnas.indice("observacion");
+        int empleadoId = columnas.indice("empleado_id");
+        return fila -> {
+            int empleado = fila.getInt(empleadoId);
+            Integer registradoPor = fila.wasNull() ? null : empleado;
+            return new Transicion(
+                fila.getInt(id),
+                fila.getInt(sismografoId),
+                fila.getTimestamp(fechaHora).toLocalDateTime(),
+                EstadoSismografo.desdeCodigoBD(fila.getString(estado)),
+                fila.getString(observacion),
+                registradoPor
+            );
+        };
+    }
+}
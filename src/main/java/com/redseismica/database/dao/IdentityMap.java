@@ -0,0 +1,47 @@
+package com.redseismica.database.dao;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mapa de identidad usado durante el mapeo de un ResultSet. Garantiza que
+ * cada entidad (por tipo y clave primaria) se construya una sola vez por
+ * carga: las filas que repiten el mismo responsable, estación o sismógrafo
+ * comparten la misma instancia en lugar de crear copias.
+ *
+ * No es seguro para uso concurrente; cada carga crea el suyo.
+ */
+class IdentityMap {
+
+    /** Fábrica de la entidad a partir de la fila actual. */
+    @FunctionalInterface
+    interface Factory<T> {
+        T create() throws SQLException;
+    }
+
+    private final Map<Class<?>, Map<Integer, Object>> entidades = new HashMap<>();
+
+    /**
+     * Devuelve la instancia ya cargada del tipo e id indicados o la crea con
+     * la fábrica y la registra.
+     */
+    <T> T get(Class<T> tipo, int id, Factory<T> fabrica) throws SQLException {
+        Map<Integer, Object> porId = entidades.computeIfAbsent(tipo, t -> new HashMap<>());
+        Object existente = porId.get(id);
+        if (existente != null) {
+            return tipo.cast(existente);
+        }
+        T creada = fabrica.create();
+        porId.put(id, creada);
+        return creada;
+    }
+
+    /**
+     * Cantidad de instancias distintas registradas para el tipo.
+     */
+    int size(Class<?> tipo) {
+        Map<Integer, Object> porId = entidades.get(tipo);
+        return porId == null ? 0 : porId.size();
+    }
+}
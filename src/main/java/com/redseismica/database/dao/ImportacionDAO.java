@@ -0,0 +1,164 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unidad de trabajo de las importaciones CSV. Cada tramo de filas se
+ * inserta en la misma transacción que el punto de control de la
+ * importación ({@code importaciones}), que guarda cuántos registros del
+ * archivo ya quedaron procesados. Si la importación se interrumpe, el
+ * punto de control coincide siempre con lo que quedó escrito y se puede
+ * retomar desde ahí.
+ */
+public class ImportacionDAO {
+
+    /** Tipo de las importaciones de estaciones. */
+    public static final String ESTACIONES = "ESTACIONES";
+    /** Tipo de las importaciones de sismógrafos. */
+    public static final String SISMOGRAFOS = "SISMOGRAFOS";
+
+    /**
+     * Avance de una importación: registros del archivo ya procesados
+     * (importados o con error) y cuántos de ellos se importaron.
+     */
+    public static final class PuntoControl {
+        private final long registros;
+        private final long importados;
+        private final long conError;
+
+        public PuntoControl(long registros, long importados, long conError) {
+            this.registros = registros;
+            this.importados = importados;
+            this.conError = conError;
+        }
+
+        public long getRegistros() {
+            return registros;
+        }
+
+        public long getImportados() {
+            return importados;
+        }
+
+        public long getConError() {
+            return conError;
+        }
+    }
+
+    static final String SQL_FIND_PUNTO_CONTROL = """
+            SELECT registros, importados, con_error
+            FROM importaciones
+            WHERE tipo = ? AND archivo = ?
+        """;
+
+    static final String SQL_GUARDAR_PUNTO_CONTROL = """
+            MERGE INTO importaciones (tipo, archivo, registros, importados, con_error, actualizada_en)
+            KEY (tipo, archivo)
+            VALUES (?, ?, ?, ?, ?, ?)
+        """;
+
+    static final String SQL_BORRAR_PUNTO_CONTROL = "DELETE FROM importaciones WHERE tipo = ? AND archivo = ?";
+
+    /**
+     * Busca el punto de control de la importación de un archivo.
+     *
+     * @param tipo    {@link #ESTACIONES} o {@link #SISMOGRAFOS}
+     * @param archivo ruta absoluta del archivo
+     * @return el punto de control, o null si el archivo no se empezó a importar
+     * @throws SQLException si hay error en la consulta
+     */
+    public static PuntoControl findPuntoControl(String tipo, String archivo) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_FIND_PUNTO_CONTROL)) {
+            pstmt.setString(1, tipo);
+            pstmt.setString(2, archivo);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? new PuntoControl(rs.getLong(1), rs.getLong(2), rs.getLong(3)) : null;
+            }
+        }
+    }
+
+    /**
+     * Descarta el punto de control, para volver a importar el archivo desde
+     * el principio.
+     *
+     * @throws SQLException si hay error
+     */
+    public static void borrarPuntoControl(String tipo, String archivo) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_BORRAR_PUNTO_CONTROL)) {
+            pstmt.setString(1, tipo);
+            pstmt.setString(2, archivo);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Inserta un tramo de estaciones y avanza el punto de control, de
+     * forma atómica.
+     *
+     * @param archivo    ruta absoluta del archivo importado
+     * @param estaciones filas válidas del tramo
+     * @param avance     punto de control al terminar el tramo
+     * @throws SQLException si alguna escritura falla; en ese caso no queda nada escrito
+     */
+    public static void confirmarEstaciones(String archivo, List<EstacionDAO.EstacionRegistro> estaciones,
+                                           PuntoControl avance) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                EstacionDAO.insertAll(conn, estaciones);
+                guardarPuntoControl(conn, ESTACIONES, archivo, avance);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Da de alta un tramo de sismógrafos (con su historial y el resumen de
+     * la flota) y avanza el punto de control, de forma atómica.
+     *
+     * @param archivo     ruta absoluta del archivo importado
+     * @param sismografos filas válidas del tramo
+     * @param avance      punto de control al terminar el tramo
+     * @throws SQLException si alguna escritura falla; en ese caso no queda nada escrito
+     */
+    public static void confirmarSismografos(String archivo, List<SismografoDAO.SismografoRegistro> sismografos,
+                                            PuntoControl avance) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                SismografoDAO.insertAll(conn, sismografos);
+                guardarPuntoControl(conn, SISMOGRAFOS, archivo, avance);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static void guardarPuntoControl(Connection conn, String tipo, String archivo, PuntoControl avance)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_GUARDAR_PUNTO_CONTROL)) {
+            pstmt.setString(1, tipo);
+            pstmt.setString(2, archivo);
+            pstmt.setLong(3, avance.registros);
+            pstmt.setLong(4, avance.importados);
+            pstmt.setLong(5, avance.conError);
+            pstmt.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+            pstmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.redseismica.database.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Error de base de datos ocurrido mientras se recorre un {@code Stream}
+ * devuelto por un DAO. Los streams no pueden propagar excepciones
+ * verificadas, así que la {@link SQLException} original viaja como causa.
+ */
+public class LecturaFallidaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LecturaFallidaException(SQLException causa) {
+        super(causa.getMessage(), causa);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -0,0 +1,91 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utilidades para las inserciones y consultas en lote de los DAO.
+ */
+final class Lotes {
+
+    /**
+     * Filas por lote: acota la memoria del driver en inserciones masivas y
+     * la cantidad de parámetros de las consultas por ids.
+     */
+    static final int TAMANIO = 500;
+
+    private Lotes() {
+    }
+
+    /**
+     * Ejecuta el lote pendiente de la sentencia y copia las claves
+     * generadas a {@code ids} a partir de la posición {@code desde}.
+     *
+     * @return posición siguiente a la última clave copiada
+     */
+    static int ejecutar(PreparedStatement pstmt, int[] ids, int desde) throws SQLException {
+        pstmt.executeBatch();
+        try (ResultSet keys = pstmt.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids[desde++] = keys.getInt(1);
+            }
+        }
+        return desde;
+    }
+
+    /**
+     * Busca entidades por id con una consulta {@code IN (?, ?, ...)} por
+     * cada tramo de hasta {@link #TAMANIO} ids, todas en la misma conexión.
+     *
+     * @param sqlHastaIn consulta terminada en {@code IN (}; se le agregan los
+     *                   marcadores y el paréntesis de cierre
+     * @param columnaId  etiqueta de la columna con el id buscado
+     * @param ids        ids a buscar
+     * @param fabrica    fábrica del mapeador; se crea uno por tramo
+     * @return entidades encontradas por id (los ids inexistentes no figuran)
+     */
+    static <T> Map<Integer, T> buscarPorIds(String sqlHastaIn, String columnaId, Collection<Integer> ids,
+                                            MapeadorFila.Fabrica<T> fabrica) throws SQLException {
+        Map<Integer, T> encontrados = new HashMap<>();
+        if (ids.isEmpty()) {
+            return encontrados;
+        }
+        List<Integer> pendientes = new ArrayList<>(ids);
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            for (int desde = 0; desde < pendientes.size(); desde += TAMANIO) {
+                List<Integer> tramo = pendientes.subList(desde, Math.min(pendientes.size(), desde + TAMANIO));
+                try (PreparedStatement pstmt = conn.prepareStatement(sqlHastaIn + marcadores(tramo.size()) + ")")) {
+                    for (int i = 0; i < tramo.size(); i++) {
+                        pstmt.setInt(i + 1, tramo.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        Columnas columnas = Columnas.de(rs);
+                        int id = columnas.indice(columnaId);
+                        MapeadorFila<T> mapeador = fabrica.crear(columnas);
+                        while (rs.next()) {
+                            int clave = rs.getInt(id);
+                            T entidad = mapeador.mapear(rs);
+                            encontrados.putIfAbsent(clave, entidad);
+                        }
+                    }
+                }
+            }
+        }
+        return encontrados;
+    }
+
+    /** Marcadores {@code ?, ?, ...} para una lista IN. */
+    static String marcadores(int cantidad) {
+        return String.join(", ", Collections.nCopies(cantidad, "?"));
+    }
+}
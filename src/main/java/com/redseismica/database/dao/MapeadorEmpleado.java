@@ -0,0 +1,51 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.model.Empleado;
+import com.redseismica.model.Rol;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mapea un empleado con su rol. La consulta debe traer las columnas
+ * {@code emp_id, emp_nombre, emp_apellido, emp_mail, emp_telefono, rol_id}
+ * y {@code rol_nombre}. El empleado y el rol se toman del mapa de
+ * identidad de la carga.
+ */
+final class MapeadorEmpleado implements MapeadorFila<Empleado> {
+
+    private final IdentityMap identidades;
+    private final int id;
+    private final int nombre;
+    private final int apellido;
+    private final int mail;
+    private final int telefono;
+    private final int rolId;
+    private final int rolNombre;
+
+    MapeadorEmpleado(Columnas columnas, IdentityMap identidades) throws SQLException {
+        this.identidades = identidades;
+        this.id = columnas.indice("emp_id");
+        this.nombre = columnas.indice("emp_nombre");
+        this.apellido = columnas.indice("emp_apellido");
+        this.mail = columnas.indice("emp_mail");
+        this.telefono = columnas.indice("emp_telefono");
+        this.rolId = columnas.indice("rol_id");
+        this.rolNombre = columnas.indice("rol_nombre");
+    }
+
+    @Override
+    public Empleado mapear(ResultSet rs) throws SQLException {
+        Rol rol = identidades.get(Rol.class, rs.getInt(rolId),
+            () -> new Rol(rs.getString(rolNombre)));
+        return identidades.get(Empleado.class, rs.getInt(id),
+            () -> new Empleado(
+                rs.getInt(id),
+                rs.getString(nombre),
+                rs.getString(apellido),
+                rs.getString(mail),
+                rs.getString(telefono),
+                rol
+            ));
+    }
+}
@@ -0,0 +1,37 @@
+package com.redseismica.database.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Construye un elemento a partir de la fila actual de un {@link ResultSet}.
+ * Los mapeadores de entidades ({@link MapeadorOrden},
+ * {@link MapeadorEmpleado}, {@link MapeadorSismografo}) se crean con una
+ * {@link Fabrica} a partir de las {@link Columnas} del resultado, de modo
+ * que resuelven los índices una vez por consulta y leen por índice.
+ */
+@FunctionalInterface
+interface MapeadorFila<T> {
+
+    T mapear(ResultSet rs) throws SQLException;
+
+    /** Crea el mapeador para las columnas de un resultado concreto. */
+    @FunctionalInterface
+    interface Fabrica<T> {
+        MapeadorFila<T> crear(Columnas columnas) throws SQLException;
+    }
+
+    /**
+     * Mapea todas las filas restantes del resultado.
+     */
+    static <T> List<T> listar(ResultSet rs, Fabrica<T> fabrica) throws SQLException {
+        MapeadorFila<T> mapeador = fabrica.crear(Columnas.de(rs));
+        List<T> elementos = new ArrayList<>();
+        while (rs.next()) {
+            elementos.add(mapeador.mapear(rs));
+        }
+        return elementos;
+    }
+}
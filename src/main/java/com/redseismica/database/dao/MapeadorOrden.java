@@ -0,0 +1,130 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.model.Empleado;
+import com.redseismica.model.EstacionSismologica;
+import com.redseismica.model.Estado;
+import com.redseismica.model.OrdenInspeccion;
+import com.redseismica.model.Referencia;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Mapea una orden de inspección a partir de una fila de las consultas de
+ * {@link OrdenInspeccionDAO}. Tiene dos modos:
+ * <ul>
+ *   <li>completo: la fila trae además las columnas de
+ *       {@link MapeadorSismografo} y {@link MapeadorEmpleado}, con los que
+ *       comparte el mapa de identidad de la carga (las órdenes que comparten
+ *       responsable o estación comparten también las instancias);</li>
+ *   <li>diferido: la fila trae sólo las columnas de
+ *       {@code ordenes_inspeccion} y la estación y el responsable quedan
+ *       como referencias que se cargan en el primer acceso, todas las de la
+ *       carga en una misma consulta ({@link Asociaciones}).</li>
+ * </ul>
+ */
+final class MapeadorOrden implements MapeadorFila<OrdenInspeccion> {
+
+    /**
+     * Cargadores de las estaciones y responsables de las órdenes de una
+     * misma carga diferida.
+     */
+    static final class Asociaciones {
+        private final CargaPorLotes<EstacionSismologica> estaciones = new CargaPorLotes<>(EstacionDAO::findByIds);
+        private final CargaPorLotes<Empleado> responsables = new CargaPorLotes<>(EmpleadoDAO::findByIds);
+
+        /** Consultas hechas para cargar estaciones y responsables. */
+        int getConsultas() {
+            return estaciones.getConsultas() + responsables.getConsultas();
+        }
+    }
+
+    private final MapeadorSismografo sismografos;
+    private final MapeadorEmpleado empleados;
+    private final Asociaciones asociaciones;
+    private final int id;
+    private final int estacionId;
+    private final int responsableId;
+    private final int numeroOrden;
+    private final int fechaHoraEmision;
+    private final int fechaHoraFinalizacion;
+    private final int fechaHoraCierre;
+    private final int estado;
+    private final int observacionCierre;
+
+    /** Mapeador completo. */
+    MapeadorOrden(Columnas columnas, IdentityMap identidades) throws SQLException {
+        this(columnas, new MapeadorSismografo(columnas, identidades), new MapeadorEmpleado(columnas, identidades),
+            null);
+    }
+
+    /** Mapeador diferido. */
+    MapeadorOrden(Columnas columnas, Asociaciones asociaciones) throws SQLException {
+        this(columnas, null, null, asociaciones);
+    }
+
+    private MapeadorOrden(Columnas columnas, MapeadorSismografo sismografos, MapeadorEmpleado empleados,
+                          Asociaciones asociaciones) throws SQLException {
+        this.sismografos = sismografos;
+        this.empleados = empleados;
+        this.asociaciones = asociaciones;
+        this.id = columnas.indice("id");
+        this.estacionId = columnas.indice("estacion_id");
+        this.responsableId = columnas.indice("responsable_id");
+        this.numeroOrden = columnas.indice("numero_orden");
+        this.fechaHoraEmision = columnas.indice("fecha_hora_emision");
+        this.fechaHoraFinalizacion = columnas.indice("fecha_hora_finalizacion");
+        this.fechaHoraCierre = columnas.indice("fecha_hora_cierre");
+        this.estado = columnas.indice("estado");
+        this.observacionCierre = columnas.indice("observacion_cierre");
+    }
+
+    /** Mapeador completo con un mapa de identidad propio de la carga. */
+    static MapeadorFila.Fabrica<OrdenInspeccion> fabrica() {
+        IdentityMap identidades = new IdentityMap();
+        return columnas -> new MapeadorOrden(columnas, identidades);
+    }
+
+    /** Mapeador diferido con cargadores propios de la carga. */
+    static MapeadorFila.Fabrica<OrdenInspeccion> fabricaDiferida() {
+        Asociaciones asociaciones = new Asociaciones();
+        return columnas -> new MapeadorOrden(columnas, asociaciones);
+    }
+
+    @Override
+    public OrdenInspeccion mapear(ResultSet rs) throws SQLException {
+        Referencia<EstacionSismologica> estacion;
+        Referencia<Empleado> responsable;
+        if (asociaciones != null) {
+            estacion = asociaciones.estaciones.referencia(rs.getInt(estacionId));
+            responsable = asociaciones.responsables.referencia(rs.getInt(responsableId));
+        } else {
+            estacion = Referencia.cargada(rs.getInt(estacionId), sismografos.mapearEstacion(rs));
+            responsable = Referencia.cargada(rs.getInt(responsableId), empleados.mapear(rs));
+        }
+
+        Estado estadoOrden = Estado.desdeCodigoBD(rs.getString(estado));
+        Timestamp fechaFinalizacion = rs.getTimestamp(fechaHoraFinalizacion);
+        OrdenInspeccion orden = new OrdenInspeccion(
+            rs.getInt(numeroOrden),
+            rs.getTimestamp(fechaHoraEmision).toLocalDateTime(),
+            fechaFinalizacion != null ? fechaFinalizacion.toLocalDateTime() : null,
+            estadoOrden,
+            estacion,
+            responsable
+        );
+
+        // Si la orden ya tiene datos de cierre en la BD, reflejarlos
+        Timestamp fechaCierre = rs.getTimestamp(fechaHoraCierre);
+        if (fechaCierre != null) {
+            orden.cerrar(fechaCierre.toLocalDateTime(), rs.getString(observacionCierre), estadoOrden);
+        }
+        return orden;
+    }
+
+    /** Id (clave primaria) de la orden de la fila actual. */
+    int id(ResultSet rs) throws SQLException {
+        return rs.getInt(id);
+    }
+}
@@ -0,0 +1,115 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.model.CambioEstadoSismografo;
+import com.redseismica.model.EstacionSismologica;
+import com.redseismica.model.Sismografo;
+import com.redseismica.states.EstadoSismografo;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Mapea un sismógrafo enlazado con su estación. La consulta debe traer las
+ * columnas {@code sis_id, numero_serie, fecha_instalacion, estado_actual,
+ * fecha_hora_estado, estacion_id, estacion_codigo, estacion_nombre,
+ * latitud} y {@code longitud}. El sismógrafo y la estación se toman del
+ * mapa de identidad de la carga (un sismógrafo sin estación recibe una
+ * estación propia, como al leerlo con un LEFT JOIN). Al mapear estaciones,
+ * una fila sin sismógrafo da una estación sin sismógrafo.
+ */
+final class MapeadorSismografo implements MapeadorFila<Sismografo> {
+
+    private final IdentityMap identidades;
+    private final int id;
+    private final int numeroSerie;
+    private final int fechaInstalacion;
+    private final int estadoActual;
+    private final int fechaHoraEstado;
+    private final int estacionId;
+    private final int estacionCodigo;
+    private final int estacionNombre;
+    private final int latitud;
+    private final int longitud;
+
+    MapeadorSismografo(Columnas columnas, IdentityMap identidades) throws SQLException {
+        this.identidades = identidades;
+        this.id = columnas.indice("sis_id");
+        this.numeroSerie = columnas.indice("numero_serie");
+        this.fechaInstalacion = columnas.indice("fecha_instalacion");
+        this.estadoActual = columnas.indice("estado_actual");
+        this.fechaHoraEstado = columnas.indice("fecha_hora_estado");
+        this.estacionId = columnas.indice("estacion_id");
+        this.estacionCodigo = columnas.indice("estacion_codigo");
+        this.estacionNombre = columnas.indice("estacion_nombre");
+        this.latitud = columnas.indice("latitud");
+        this.longitud = columnas.indice("longitud");
+    }
+
+    @Override
+    public Sismografo mapear(ResultSet rs) throws SQLException {
+        Sismografo sismografo = sismografo(rs);
+        enlazarEstacion(rs, sismografo);
+        return sismografo;
+    }
+
+    /**
+     * Mapea el sismógrafo de la fila y devuelve su estación.
+     */
+    EstacionSismologica mapearEstacion(ResultSet rs) throws SQLException {
+        rs.getInt(id);
+        if (rs.wasNull()) {
+            return identidades.get(EstacionSismologica.class, rs.getInt(estacionId), () -> nuevaEstacion(rs, null));
+        }
+        return enlazarEstacion(rs, sismografo(rs));
+    }
+
+    private EstacionSismologica enlazarEstacion(ResultSet rs, Sismografo sismografo) throws SQLException {
+        EstacionSismologica estacion = estacion(rs, sismografo);
+        if (sismografo.getEstacionSismologica() == null) {
+            sismografo.setEstacionSismologica(estacion);
+        }
+        return estacion;
+    }
+
+    /**
+     * El estado se inyecta en el constructor y se registra el cambio de
+     * estado inicial si hay fecha disponible.
+     */
+    private Sismografo sismografo(ResultSet rs) throws SQLException {
+        return identidades.get(Sismografo.class, rs.getInt(id), () -> {
+            EstadoSismografo estado = EstadoSismografo.desdeCodigoBD(rs.getString(estadoActual));
+            Sismografo nuevo = new Sismografo(
+                rs.getInt(id),
+                rs.getTimestamp(fechaInstalacion).toLocalDateTime(),
+                rs.getInt(numeroSerie),
+                null,
+                estado
+            );
+            Timestamp fhEstado = rs.getTimestamp(fechaHoraEstado);
+            if (fhEstado != null) {
+                nuevo.setCambioEstado(new CambioEstadoSismografo(fhEstado.toLocalDateTime()));
+            }
+            return nuevo;
+        });
+    }
+
+    /** La estación se enlaza con el sismógrafo al construirse. */
+    private EstacionSismologica estacion(ResultSet rs, Sismografo sismografo) throws SQLException {
+        int idEstacion = rs.getInt(estacionId);
+        if (rs.wasNull()) {
+            return nuevaEstacion(rs, sismografo);
+        }
+        return identidades.get(EstacionSismologica.class, idEstacion, () -> nuevaEstacion(rs, sismografo));
+    }
+
+    private EstacionSismologica nuevaEstacion(ResultSet rs, Sismografo sismografo) throws SQLException {
+        return new EstacionSismologica(
+            rs.getInt(estacionCodigo),
+            rs.getString(estacionNombre),
+            rs.getDouble(latitud),
+            rs.getDouble(longitud),
+            sismografo
+        );
+    }
+}
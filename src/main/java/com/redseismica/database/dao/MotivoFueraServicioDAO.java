@@ -0,0 +1,118 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.model.MotivoFueraServicio;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO para registrar los motivos fuera de servicio asociados al cierre de
+ * las órdenes de inspección. Las inserciones se hacen en lotes JDBC sobre
+ * una única sentencia preparada.
+ */
+public class MotivoFueraServicioDAO {
+
+    static final String SQL_INSERT = """
+            INSERT INTO motivos_fuera_servicio (motivo_tipo_id, comentario, orden_id)
+            VALUES (?, ?, (SELECT id FROM ordenes_inspeccion WHERE numero_orden = ?))
+        """;
+
+    /**
+     * Motivo a registrar junto con el número de la orden a la que pertenece.
+     */
+    public static final class MotivoDeOrden {
+        private final int nroOrden;
+        private final MotivoFueraServicio motivo;
+
+        public MotivoDeOrden(int nroOrden, MotivoFueraServicio motivo) {
+            this.nroOrden = nroOrden;
+            this.motivo = motivo;
+        }
+    }
+
+    /**
+     * Registra los motivos de una orden en una sola transacción.
+     *
+     * @param nroOrden número de la orden
+     * @param motivos  motivos seleccionados
+     * @return IDs generados, en el mismo orden que {@code motivos}
+     * @throws SQLException si hay error; en ese caso no se inserta ninguna fila
+     */
+    public static int[] insertAll(int nroOrden, List<MotivoFueraServicio> motivos) throws SQLException {
+        return insertAll(deOrden(nroOrden, motivos));
+    }
+
+    /**
+     * Registra motivos de una o varias órdenes (por ejemplo, los cierres
+     * de una caída masiva) en una sola transacción.
+     *
+     * @param motivos motivos con su orden
+     * @return IDs generados, en el mismo orden que {@code motivos}
+     * @throws SQLException si hay error; en ese caso no se inserta ninguna fila
+     */
+    public static int[] insertAll(List<MotivoDeOrden> motivos) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int[] ids = insertAll(conn, motivos);
+                conn.commit();
+                return ids;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Inserta los motivos de una orden usando una conexión ya abierta, sin
+     * confirmar la transacción.
+     */
+    static int[] insertAll(Connection conn, int nroOrden, List<MotivoFueraServicio> motivos) throws SQLException {
+        return insertAll(conn, deOrden(nroOrden, motivos));
+    }
+
+    /**
+     * Inserta los motivos usando una conexión ya abierta, sin confirmar la
+     * transacción.
+     *
+     * @return IDs generados, en el mismo orden que {@code motivos}
+     */
+    static int[] insertAll(Connection conn, List<MotivoDeOrden> motivos) throws SQLException {
+        int[] ids = new int[motivos.size()];
+        if (motivos.isEmpty()) {
+            return ids;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            int enLote = 0;
+            int leidos = 0;
+            for (MotivoDeOrden m : motivos) {
+                pstmt.setInt(1, m.motivo.getTipo().getId());
+                pstmt.setString(2, m.motivo.getComentario());
+                pstmt.setInt(3, m.nroOrden);
+                pstmt.addBatch();
+                if (++enLote == Lotes.TAMANIO) {
+                    leidos = Lotes.ejecutar(pstmt, ids, leidos);
+                    enLote = 0;
+                }
+            }
+            if (enLote > 0) {
+                Lotes.ejecutar(pstmt, ids, leidos);
+            }
+        }
+        return ids;
+    }
+
+    private static List<MotivoDeOrden> deOrden(int nroOrden, List<MotivoFueraServicio> motivos) {
+        List<MotivoDeOrden> res = new ArrayList<>(motivos.size());
+        for (MotivoFueraServicio motivo : motivos) {
+            res.add(new MotivoDeOrden(nroOrden, motivo));
+        }
+        return res;
+    }
+}
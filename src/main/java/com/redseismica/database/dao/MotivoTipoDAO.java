@@ -1,17 +1,23 @@
 package com.redseismica.database.dao;
 
 import com.redseismica.database.DatabaseConfig;
+import com.redseismica.database.cache.CatalogoMotivosTipo;
 import com.redseismica.model.MotivoTipo;
 
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * DAO para acceder a los motivos tipo desde la base de datos.
+ * DAO para acceder a los motivos tipo desde la base de datos. Para
+ * consultarlos durante los casos de uso se usa {@link CatalogoMotivosTipo},
+ * que los mantiene en memoria; las escrituras de este DAO lo invalidan.
  */
 public class MotivoTipoDAO {
 
+    static final String SQL_FIND_ALL = "SELECT id, descripcion FROM motivos_tipo ORDER BY descripcion";
+
+    static final String SQL_INSERT = "INSERT INTO motivos_tipo (descripcion) VALUES (?)";
+
     /**
      * Obtiene todos los motivos tipo disponibles.
      *
@@ -19,20 +25,35 @@ public class MotivoTipoDAO {
      * @throws SQLException si hay error en la consulta
      */
     public static List<MotivoTipo> findAll() throws SQLException {
-        List<MotivoTipo> motivos = new ArrayList<>();
-        String sql = "SELECT * FROM motivos_tipo ORDER BY descripcion";
-
-        Connection conn = DatabaseConfig.getConnection();
-        Statement stmt = conn.createStatement();
-        ResultSet rs = stmt.executeQuery(sql);
-
-        while (rs.next()) {
-            MotivoTipo motivo = new MotivoTipo(rs.getString("descripcion"));
-            motivos.add(motivo);
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_FIND_ALL)) {
+            return MapeadorFila.listar(rs, columnas -> {
+                int id = columnas.indice("id");
+                int descripcion = columnas.indice("descripcion");
+                return fila -> new MotivoTipo(fila.getInt(id), fila.getString(descripcion));
+            });
         }
+    }
 
-        rs.close();
-        stmt.close();
-        return motivos;
+    /**
+     * Registra un nuevo motivo tipo e invalida el catálogo en memoria.
+     *
+     * @param descripcion texto del motivo
+     * @return el motivo creado, con su id
+     * @throws SQLException si hay error en la inserción
+     */
+    public static MotivoTipo insert(String descripcion) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, descripcion);
+            pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                keys.next();
+                return new MotivoTipo(keys.getInt(1), descripcion);
+            }
+        } finally {
+            CatalogoMotivosTipo.invalidar();
+        }
     }
 }
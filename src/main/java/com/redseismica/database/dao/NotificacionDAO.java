@@ -0,0 +1,223 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.notificacion.Notificacion;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DAO de la bandeja de salida de notificaciones
+ * ({@code notificaciones_pendientes}). Una notificación pasa por los
+ * estados PENDIENTE → ENVIANDO → ENVIADA, o vuelve a PENDIENTE con un
+ * próximo intento más lejano si el envío falla, hasta quedar FALLIDA al
+ * agotar los reintentos. Al reservarla se registra {@code reservada_en};
+ * si queda ENVIANDO más tiempo que la reserva, vuelve a PENDIENTE.
+ */
+public class NotificacionDAO {
+
+    public static final String PENDIENTE = "PENDIENTE";
+    public static final String ENVIANDO = "ENVIANDO";
+    public static final String ENVIADA = "ENVIADA";
+    public static final String FALLIDA = "FALLIDA";
+
+    static final String SQL_INSERT = """
+            INSERT INTO notificaciones_pendientes
+            (destinatario, asunto, cuerpo, estado, intentos, creada_en, proximo_intento)
+            VALUES (?, ?, ?, 'PENDIENTE', 0, ?, ?)
+        """;
+
+    static final String SQL_FIND_PENDIENTES = """
+            SELECT id, destinatario, asunto, cuerpo, intentos
+            FROM notificaciones_pendientes
+            WHERE estado = 'PENDIENTE' AND proximo_intento <= ?
+            ORDER BY proximo_intento
+            LIMIT ?
+            FOR UPDATE
+        """;
+
+    static final String SQL_RESERVAR =
+            "UPDATE notificaciones_pendientes SET estado = 'ENVIANDO', reservada_en = ? WHERE id = ?";
+
+    static final String SQL_MARCAR_ENVIADA = """
+            UPDATE notificaciones_pendientes
+            SET estado = 'ENVIADA', enviada_en = ?, reservada_en = NULL, ultimo_error = NULL
+            WHERE id = ?
+        """;
+
+    static final String SQL_REPROGRAMAR = """
+            UPDATE notificaciones_pendientes
+            SET estado = ?, intentos = intentos + 1, proximo_intento = ?, reservada_en = NULL, ultimo_error = ?
+            WHERE id = ?
+        """;
+
+    static final String SQL_LIBERAR_EN_CURSO = """
+            UPDATE notificaciones_pendientes SET estado = 'PENDIENTE', reservada_en = NULL
+            WHERE estado = 'ENVIANDO'
+        """;
+
+    static final String SQL_LIBERAR_VENCIDAS = """
+            UPDATE notificaciones_pendientes SET estado = 'PENDIENTE', reservada_en = NULL
+            WHERE estado = 'ENVIANDO' AND (reservada_en IS NULL OR reservada_en < ?)
+        """;
+
+    /**
+     * Encola notificaciones usando una conexión ya abierta, sin confirmar
+     * la transacción: quedan visibles para el despachador recién cuando se
+     * confirma la transacción que las escribió.
+     *
+     * @return IDs generados, en el mismo orden que {@code notificaciones}
+     */
+    static int[] insertAll(Connection conn, List<Notificacion> notificaciones) throws SQLException {
+        int[] ids = new int[notificaciones.size()];
+        if (notificaciones.isEmpty()) {
+            return ids;
+        }
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            int enLote = 0;
+            int leidos = 0;
+            for (Notificacion n : notificaciones) {
+                pstmt.setString(1, n.getDestinatario());
+                pstmt.setString(2, n.getAsunto());
+                pstmt.setString(3, n.getCuerpo());
+                pstmt.setTimestamp(4, ahora);
+                pstmt.setTimestamp(5, ahora);
+                pstmt.addBatch();
+                if (++enLote == Lotes.TAMANIO) {
+                    leidos = Lotes.ejecutar(pstmt, ids, leidos);
+                    enLote = 0;
+                }
+            }
+            if (enLote > 0) {
+                Lotes.ejecutar(pstmt, ids, leidos);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Toma hasta {@code limite} notificaciones pendientes cuyo próximo
+     * intento ya venció y las marca ENVIANDO en la misma transacción, para
+     * que otro ciclo del despachador no las vuelva a tomar.
+     *
+     * @return notificaciones reservadas, por antigüedad del próximo intento
+     */
+    public static List<Notificacion> reservarPendientes(int limite) throws SQLException {
+        List<Notificacion> reservadas;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement pstmt = conn.prepareStatement(SQL_FIND_PENDIENTES)) {
+                    pstmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                    pstmt.setInt(2, limite);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        reservadas = MapeadorFila.listar(rs, NotificacionDAO::mapeador);
+                    }
+                }
+                if (!reservadas.isEmpty()) {
+                    Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+                    try (PreparedStatement pstmt = conn.prepareStatement(SQL_RESERVAR)) {
+                        for (Notificacion n : reservadas) {
+                            pstmt.setTimestamp(1, ahora);
+                            pstmt.setLong(2, n.getId());
+                            pstmt.addBatch();
+                        }
+                        pstmt.executeBatch();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return reservadas;
+    }
+
+    /**
+     * Marca como enviadas las notificaciones indicadas.
+     */
+    public static void marcarEnviadas(List<Notificacion> notificaciones) throws SQLException {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_MARCAR_ENVIADA)) {
+            for (Notificacion n : notificaciones) {
+                pstmt.setTimestamp(1, ahora);
+                pstmt.setLong(2, n.getId());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Registra un intento fallido: la notificación vuelve a PENDIENTE con
+     * el próximo intento indicado, o queda FALLIDA si {@code agotada}.
+     */
+    public static void reprogramar(List<Notificacion> notificaciones, LocalDateTime proximoIntento,
+                                   boolean agotada, String error) throws SQLException {
+        String mensaje = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_REPROGRAMAR)) {
+            for (Notificacion n : notificaciones) {
+                pstmt.setString(1, agotada ? FALLIDA : PENDIENTE);
+                pstmt.setTimestamp(2, Timestamp.valueOf(proximoIntento));
+                pstmt.setString(3, mensaje);
+                pstmt.setLong(4, n.getId());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Devuelve a PENDIENTE las notificaciones que quedaron ENVIANDO (por
+     * ejemplo, si la aplicación se cerró durante un envío).
+     *
+     * @return cantidad de notificaciones liberadas
+     */
+    public static int liberarEnCurso() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_LIBERAR_EN_CURSO)) {
+            return pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Devuelve a PENDIENTE las notificaciones reservadas antes de
+     * {@code limite} que siguen ENVIANDO: su envío terminó sin poder
+     * registrar el resultado (por ejemplo, falló la actualización que las
+     * reprogramaba). Se reintentan como cualquier otra pendiente.
+     *
+     * @return cantidad de notificaciones liberadas
+     */
+    public static int liberarVencidas(LocalDateTime limite) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_LIBERAR_VENCIDAS)) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(limite));
+            return pstmt.executeUpdate();
+        }
+    }
+
+    private static MapeadorFila<Notificacion> mapeador(Columnas columnas) throws SQLException {
+        int id = columnas.indice("id");
+        int destinatario = columnas.indice("destinatario");
+        int asunto = columnas.indice("asunto");
+        int cuerpo = columnas.indice("cuerpo");
+        int intentos = columnas.indice("intentos");
+        return rs -> new Notificacion(
+            rs.getLong(id),
+            rs.getString(destinatario),
+            rs.getString(asunto),
+            rs.getString(cuerpo),
+            rs.getInt(intentos)
+        );
+    }
+}
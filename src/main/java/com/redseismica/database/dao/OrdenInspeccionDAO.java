@@ -2,11 +2,12 @@ package com.redseismica.database.dao;
 
 import com.redseismica.database.DatabaseConfig;
 import com.redseismica.model.*;
-import com.redseismica.states.*;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * DAO para acceder a las órdenes de inspección desde la base de datos.
@@ -14,259 +15,362 @@ import java.util.List;
 public class OrdenInspeccionDAO {
 
     /**
-     * Obtiene todas las órdenes de inspección de un responsable.
-     *
-     * @param empleadoId ID del empleado responsable
-     * @return lista de órdenes de inspección
-     * @throws SQLException si hay error en la consulta
+     * Columnas de las consultas que traen la orden junto con su estación,
+     * sismógrafo y responsable (las que lee {@link MapeadorOrden} completo).
      */
-    public static List<OrdenInspeccion> findByResponsable(int empleadoId) throws SQLException {
-        List<OrdenInspeccion> ordenes = new ArrayList<>();
-        String sql = """
-            SELECT oi.*, e.codigo, e.nombre as estacion_nombre, e.latitud, e.longitud,
-                   s.id as sisId, s.numero_serie, s.fecha_instalacion, s.modelo, 
+    private static final String COLUMNAS_ORDENES = """
+            SELECT oi.*, e.codigo as estacion_codigo, e.nombre as estacion_nombre, e.latitud, e.longitud,
+                   s.id as sis_id, s.numero_serie, s.fecha_instalacion, s.modelo,
                    s.estado_actual, s.fecha_hora_estado,
-                   emp.id as empId, emp.nombre as empNombre, emp.apellido, emp.mail, emp.telefono,
-                   r.nombre as rol_nombre
-            FROM ordenes_inspeccion oi
+                   emp.id as emp_id, emp.nombre as emp_nombre, emp.apellido as emp_apellido,
+                   emp.mail as emp_mail, emp.telefono as emp_telefono,
+                   r.id as rol_id, r.nombre as rol_nombre
+        """;
+
+    /**
+     * Joins de la orden ({@code oi}) con su estación, sismógrafo y
+     * responsable. El sismógrafo es opcional para no perder las órdenes de
+     * una estación que todavía no tiene uno.
+     */
+    private static final String JOINS_ORDENES = """
             JOIN estaciones e ON oi.estacion_id = e.id
-            JOIN sismografos s ON s.estacion_id = e.id
+            LEFT JOIN sismografos s ON s.estacion_id = e.id
             JOIN empleados emp ON oi.responsable_id = emp.id
             JOIN roles r ON emp.rol_id = r.id
+        """;
+
+    /** Orden con todas sus asociaciones, para los recorridos en flujo. */
+    private static final String SELECT_ORDENES_CON_ASOCIACIONES = COLUMNAS_ORDENES
+            + "FROM ordenes_inspeccion oi\n" + JOINS_ORDENES;
+
+    /**
+     * Sólo las columnas de la orden, para los listados: la estación y el
+     * responsable se cargan en lote cuando se los pide
+     * ({@link MapeadorOrden#fabricaDiferida}).
+     */
+    private static final String SELECT_ORDENES = "SELECT oi.* FROM ordenes_inspeccion oi\n";
+
+    private static final String WHERE_RESPONSABLE = """
             WHERE oi.responsable_id = ?
             ORDER BY oi.fecha_hora_finalizacion ASC
         """;
 
-        Connection conn = DatabaseConfig.getConnection();
-        PreparedStatement pstmt = conn.prepareStatement(sql);
-        pstmt.setInt(1, empleadoId);
-        ResultSet rs = pstmt.executeQuery();
-
-        while (rs.next()) {
-            // Crear Rol
-            Rol rol = new Rol(rs.getString("rol_nombre"));
-
-            // Crear Empleado
-            Empleado empleado = new Empleado(
-                rs.getString("empNombre"),
-                rs.getString("apellido"),
-                rs.getString("mail"),
-                rs.getString("telefono"),
-                rol
-            );
-
-            // Crear Sismógrafo (estación asignada después). Inyectamos
-            // el estado en el constructor (el objeto EstadoSismografo requiere
-            // un nombre), y registramos el cambio de estado inicial si hay
-            // fecha disponible.
-            EstadoSismografo estado = getEstadoFromString(rs.getString("estado_actual"));
-            Sismografo sismografo = new Sismografo(
-                rs.getInt("sisId"),
-                rs.getTimestamp("fecha_instalacion").toLocalDateTime(),
-                rs.getInt("numero_serie"),
-                null,
-                estado
-            );
-
-            Timestamp fhEstado = rs.getTimestamp("fecha_hora_estado");
-            if (fhEstado != null) {
-                CambioEstadoSismografo ce = new CambioEstadoSismografo(fhEstado.toLocalDateTime());
-                sismografo.setCambioEstado(ce);
-            }
-
-            // Crear Estación
-            EstacionSismologica estacion = new EstacionSismologica(
-                rs.getInt("codigo"),
-                rs.getString("estacion_nombre"),
-                rs.getDouble("latitud"),
-                rs.getDouble("longitud"),
-                sismografo
-            );
-
-            // Crear Orden de Inspección
-            com.redseismica.model.Estado estadoOrden = estadoFromCodigo(rs.getString("estado"));
-            OrdenInspeccion orden = new OrdenInspeccion(
-                rs.getInt("numero_orden"),
-                rs.getTimestamp("fecha_hora_emision").toLocalDateTime(),
-                rs.getTimestamp("fecha_hora_finalizacion") != null ? 
-                    rs.getTimestamp("fecha_hora_finalizacion").toLocalDateTime() : null,
-                estadoOrden,
-                estacion,
-                empleado
-            );
-
-            // Si está cerrada, establecer datos de cierre
-            Timestamp fechaCierre = rs.getTimestamp("fecha_hora_cierre");
-            if (fechaCierre != null) {
-                String observacion = rs.getString("observacion_cierre");
-                orden.cerrar(fechaCierre.toLocalDateTime(), observacion, estadoOrden);
-            }
+    static final String SQL_FIND_BY_RESPONSABLE = SELECT_ORDENES + WHERE_RESPONSABLE;
+    static final String SQL_FIND_BY_RESPONSABLE_CON_ASOCIACIONES = SELECT_ORDENES_CON_ASOCIACIONES + WHERE_RESPONSABLE;
 
-            ordenes.add(orden);
+    /**
+     * Obtiene todas las órdenes de inspección de un responsable.
+     *
+     * @param empleadoId ID del empleado responsable
+     * @return lista de órdenes de inspección
+     * @throws SQLException si hay error en la consulta
+     */
+    public static List<OrdenInspeccion> findByResponsable(int empleadoId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_FIND_BY_RESPONSABLE)) {
+            pstmt.setInt(1, empleadoId);
+            return mapOrdenes(pstmt);
         }
+    }
+
+    static final String SQL_FIND_COMPLETAMENTE_REALIZADAS_BY_RESPONSABLE = SELECT_ORDENES + """
+            WHERE oi.responsable_id = ? AND oi.estado = 'COMPLETAMENTE_REALIZADA'
+            ORDER BY oi.fecha_hora_finalizacion ASC NULLS LAST
+        """;
 
-        rs.close();
-        pstmt.close();
-        return ordenes;
+    /**
+     * Obtiene las órdenes completamente realizadas de un responsable, que
+     * son las que puede cerrar. El filtro se resuelve en la base usando el
+     * índice compuesto (responsable_id, estado, fecha_hora_finalizacion), de
+     * modo que el costo depende de las órdenes pendientes del responsable y
+     * no del historial completo de la red.
+     *
+     * @param empleadoId ID del empleado responsable
+     * @return órdenes completamente realizadas, por fecha de finalización
+     *         ascendente (las que no tienen fecha quedan al final)
+     * @throws SQLException si hay error en la consulta
+     */
+    public static List<OrdenInspeccion> findCompletamenteRealizadasByResponsable(int empleadoId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_FIND_COMPLETAMENTE_REALIZADAS_BY_RESPONSABLE)) {
+            pstmt.setInt(1, empleadoId);
+            return mapOrdenes(pstmt);
+        }
     }
 
+    private static final String ORDEN_FINALIZACION = """
+            ORDER BY oi.fecha_hora_finalizacion ASC
+        """;
+
+    static final String SQL_FIND_ALL = SELECT_ORDENES + ORDEN_FINALIZACION;
+    static final String SQL_FIND_ALL_CON_ASOCIACIONES = SELECT_ORDENES_CON_ASOCIACIONES + ORDEN_FINALIZACION;
+
     /**
-     * Obtiene todas las órdenes de inspección del sistema.
+     * Obtiene todas las órdenes de inspección del sistema. Como en los demás
+     * listados, la estación y el responsable de las órdenes se cargan recién
+     * al pedirlos, todos los de la lista en una misma consulta.
      *
      * @return lista de todas las órdenes
      * @throws SQLException si hay error en la consulta
      */
     public static List<OrdenInspeccion> findAll() throws SQLException {
-        List<OrdenInspeccion> ordenes = new ArrayList<>();
-        String sql = """
-            SELECT oi.*, e.codigo, e.nombre as estacion_nombre, e.latitud, e.longitud,
-                   s.id as sisId, s.numero_serie, s.fecha_instalacion, s.modelo, 
-                   s.estado_actual, s.fecha_hora_estado,
-                   emp.id as empId, emp.nombre as empNombre, emp.apellido, emp.mail, emp.telefono,
-                   r.nombre as rol_nombre
-            FROM ordenes_inspeccion oi
-            JOIN estaciones e ON oi.estacion_id = e.id
-            JOIN sismografos s ON s.estacion_id = e.id
-            JOIN empleados emp ON oi.responsable_id = emp.id
-            JOIN roles r ON emp.rol_id = r.id
-            ORDER BY oi.fecha_hora_finalizacion ASC
-        """;
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_FIND_ALL)) {
+            return mapOrdenes(pstmt);
+        }
+    }
 
-        Connection conn = DatabaseConfig.getConnection();
-        Statement stmt = conn.createStatement();
-        ResultSet rs = stmt.executeQuery(sql);
-
-        while (rs.next()) {
-            // Crear Rol
-            Rol rol = new Rol(rs.getString("rol_nombre"));
-
-            // Crear Empleado
-            Empleado empleado = new Empleado(
-                rs.getString("empNombre"),
-                rs.getString("apellido"),
-                rs.getString("mail"),
-                rs.getString("telefono"),
-                rol
-            );
-
-            // Crear Sismógrafo (estación asignada después). Pasamos el
-            // estado al constructor y registramos el cambio inicial si hay fecha.
-            EstadoSismografo estado = getEstadoFromString(rs.getString("estado_actual"));
-            Sismografo sismografo = new Sismografo(
-                rs.getInt("sisId"),
-                rs.getTimestamp("fecha_instalacion").toLocalDateTime(),
-                rs.getInt("numero_serie"),
-                null,
-                estado
-            );
-
-            Timestamp fhEstadoAll = rs.getTimestamp("fecha_hora_estado");
-            if (fhEstadoAll != null) {
-                CambioEstadoSismografo ce = new CambioEstadoSismografo(fhEstadoAll.toLocalDateTime());
-                sismografo.setCambioEstado(ce);
-            }
+    /**
+     * Recorre todas las órdenes del sistema, en el orden de {@link #findAll},
+     * sin cargarlas en memoria: cada orden se construye al avanzar el
+     * stream. El stream retiene una conexión hasta cerrarse, por lo que debe
+     * usarse en un try-with-resources. A diferencia de {@link #findAll}, cada
+     * orden llega con su estación, sismógrafo y responsable ya cargados (por
+     * joins en la misma consulta); se comparten entre órdenes, así que la
+     * memoria depende de la flota y no de la cantidad de órdenes.
+     *
+     * @return stream de órdenes; los errores al recorrerlo se informan como
+     *         {@link LecturaFallidaException}
+     * @throws SQLException si falla la ejecución de la consulta
+     */
+    public static Stream<OrdenInspeccion> streamAll() throws SQLException {
+        return FlujoFilas.abrir(SQL_FIND_ALL_CON_ASOCIACIONES, pstmt -> { }, MapeadorOrden.fabrica());
+    }
 
-            // Crear Estación
-            EstacionSismologica estacion = new EstacionSismologica(
-                rs.getInt("codigo"),
-                rs.getString("estacion_nombre"),
-                rs.getDouble("latitud"),
-                rs.getDouble("longitud"),
-                sismografo
-            );
-
-            // Crear Orden de Inspección
-            com.redseismica.model.Estado estadoOrden = estadoFromCodigo(rs.getString("estado"));
-            OrdenInspeccion orden = new OrdenInspeccion(
-                rs.getInt("numero_orden"),
-                rs.getTimestamp("fecha_hora_emision").toLocalDateTime(),
-                rs.getTimestamp("fecha_hora_finalizacion") != null ? 
-                    rs.getTimestamp("fecha_hora_finalizacion").toLocalDateTime() : null,
-                estadoOrden,
-                estacion,
-                empleado
-            );
-
-            // Si la orden ya tiene datos de cierre en la BD, reflejarlos
-            Timestamp fechaCierreAll = rs.getTimestamp("fecha_hora_cierre");
-            if (fechaCierreAll != null) {
-                String observacion = rs.getString("observacion_cierre");
-                orden.cerrar(fechaCierreAll.toLocalDateTime(), observacion, estadoOrden);
-            }
+    /**
+     * Recorre las órdenes de un responsable sin cargarlas en memoria, con
+     * las mismas condiciones de uso que {@link #streamAll}.
+     *
+     * @param empleadoId ID del empleado responsable
+     * @return stream de órdenes, en el orden de {@link #findByResponsable}
+     * @throws SQLException si falla la ejecución de la consulta
+     */
+    public static Stream<OrdenInspeccion> streamByResponsable(int empleadoId) throws SQLException {
+        return FlujoFilas.abrir(SQL_FIND_BY_RESPONSABLE_CON_ASOCIACIONES, pstmt -> pstmt.setInt(1, empleadoId),
+            MapeadorOrden.fabrica());
+    }
+
+    /**
+     * Posición de una orden en los listados paginados, que se ordenan por
+     * (fecha_hora_finalizacion, id) con las órdenes sin fecha de
+     * finalización al final. Una posición sin fecha indica que el listado
+     * ya está recorriendo esas órdenes.
+     */
+    public static final class Cursor {
+        private final LocalDateTime fechaHoraFinalizacion;
+        private final int id;
 
-            ordenes.add(orden);
+        public Cursor(LocalDateTime fechaHoraFinalizacion, int id) {
+            this.fechaHoraFinalizacion = fechaHoraFinalizacion;
+            this.id = id;
         }
 
-        rs.close();
-        stmt.close();
-        return ordenes;
+        public LocalDateTime getFechaHoraFinalizacion() {
+            return fechaHoraFinalizacion;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + fechaHoraFinalizacion + ", " + id + ")";
+        }
     }
 
-    private static EstadoSismografo getEstadoFromString(String estado) {
-        if (estado == null) return new Online("Online");
-        return switch (estado) {
-            case "Online" -> new Online("Online");
-            case "FueraDeServicio" -> new FueraDeServicio("Fuera de Servicio");
-            case "InhabilitadoPorInspeccion" -> new InhabilitadoPorInspeccion("Inhabilitado por inspección");
-            default -> new Online(estado);
+    /** Índices de las tres consultas de cada listado paginado. */
+    static final int PRIMERA = 0, SIGUIENTE = 1, SIN_FECHA = 2;
+
+    /**
+     * Arma las consultas de un listado paginado: la primera página de las
+     * órdenes con fecha de finalización, las páginas siguientes (buscando
+     * a partir del cursor) y las órdenes sin fecha, que se recorren por id
+     * una vez agotadas las anteriores. Las consultas leen sólo
+     * ordenes_inspeccion, con un índice que termina en
+     * (fecha_hora_finalizacion, id), así que leer una página cuesta lo mismo
+     * sin importar cuántas órdenes haya antes; la estación y el responsable
+     * de las órdenes de la página se cargan después, en lote.
+     *
+     * @param filtro condición adicional sobre la orden, o null
+     */
+    private static String[] consultasPaginadas(String filtro) {
+        String where = "WHERE " + (filtro != null ? filtro + " AND " : "");
+        String porFecha = " ORDER BY oi.fecha_hora_finalizacion, oi.id";
+        String porId = " ORDER BY oi.id";
+        return new String[] {
+            pagina(where + "oi.fecha_hora_finalizacion IS NOT NULL", porFecha),
+            pagina(where + "oi.fecha_hora_finalizacion >= ? AND (oi.fecha_hora_finalizacion > ? OR oi.id > ?)",
+                porFecha),
+            pagina(where + "oi.fecha_hora_finalizacion IS NULL AND oi.id > ?", porId)
         };
     }
 
+    private static String pagina(String where, String orden) {
+        return SELECT_ORDENES + where + orden + " LIMIT ?";
+    }
+
+    static final String[] SQL_PAGINA_ALL = consultasPaginadas(null);
+    static final String[] SQL_PAGINA_BY_RESPONSABLE = consultasPaginadas("oi.responsable_id = ?");
+    static final String[] SQL_PAGINA_COMPLETAMENTE_REALIZADAS_BY_RESPONSABLE =
+        consultasPaginadas("oi.responsable_id = ? AND oi.estado = 'COMPLETAMENTE_REALIZADA'");
+
     /**
-     * Actualiza una orden de inspección en la base de datos.
+     * Obtiene una página del listado de todas las órdenes, ordenado por
+     * fecha de finalización e id (las órdenes sin fecha quedan al final).
      *
-     * @param orden orden a actualizar
-     * @throws SQLException si hay error en la actualización
+     * @param desde cursor devuelto por la página anterior, o null para la primera
+     * @param tamanio cantidad máxima de órdenes de la página
+     * @return página de órdenes con el cursor de la siguiente
+     * @throws SQLException si hay error en la consulta
      */
-    public static void update(OrdenInspeccion orden) throws SQLException {
-        String sql = """
+    public static Pagina<OrdenInspeccion, Cursor> findAllPagina(Cursor desde, int tamanio) throws SQLException {
+        return paginar(SQL_PAGINA_ALL, null, desde, tamanio);
+    }
+
+    /**
+     * Obtiene una página de las órdenes de un responsable, con el mismo
+     * orden que {@link #findAllPagina}.
+     *
+     * @param empleadoId ID del empleado responsable
+     * @param desde cursor devuelto por la página anterior, o null para la primera
+     * @param tamanio cantidad máxima de órdenes de la página
+     * @return página de órdenes con el cursor de la siguiente
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Pagina<OrdenInspeccion, Cursor> findByResponsablePagina(int empleadoId, Cursor desde, int tamanio)
+            throws SQLException {
+        return paginar(SQL_PAGINA_BY_RESPONSABLE, empleadoId, desde, tamanio);
+    }
+
+    /**
+     * Obtiene una página de las órdenes completamente realizadas de un
+     * responsable, en el mismo orden que
+     * {@link #findCompletamenteRealizadasByResponsable}.
+     *
+     * @param empleadoId ID del empleado responsable
+     * @param desde cursor devuelto por la página anterior, o null para la primera
+     * @param tamanio cantidad máxima de órdenes de la página
+     * @return página de órdenes con el cursor de la siguiente
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Pagina<OrdenInspeccion, Cursor> findCompletamenteRealizadasByResponsablePagina(
+            int empleadoId, Cursor desde, int tamanio) throws SQLException {
+        return paginar(SQL_PAGINA_COMPLETAMENTE_REALIZADAS_BY_RESPONSABLE, empleadoId, desde, tamanio);
+    }
+
+    /**
+     * Lee una página con las consultas de {@link #consultasPaginadas}. Se
+     * pide una fila más que el tamaño para saber si hay página siguiente;
+     * si las órdenes con fecha no alcanzan para completar la página se
+     * continúa, en la misma conexión, con las que no tienen fecha. Cada
+     * página tiene sus propios cargadores de asociaciones.
+     */
+    private static Pagina<OrdenInspeccion, Cursor> paginar(String[] sql, Integer filtro, Cursor desde, int tamanio)
+            throws SQLException {
+        if (tamanio <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo: " + tamanio);
+        }
+        List<OrdenInspeccion> ordenes = new ArrayList<>();
+        List<Cursor> posiciones = new ArrayList<>();
+        MapeadorOrden.Asociaciones asociaciones = new MapeadorOrden.Asociaciones();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            int idSinFecha = 0;
+            if (desde == null || desde.fechaHoraFinalizacion != null) {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql[desde == null ? PRIMERA : SIGUIENTE])) {
+                    int i = 1;
+                    if (filtro != null) {
+                        pstmt.setInt(i++, filtro);
+                    }
+                    if (desde != null) {
+                        Timestamp fecha = Timestamp.valueOf(desde.fechaHoraFinalizacion);
+                        pstmt.setTimestamp(i++, fecha);
+                        pstmt.setTimestamp(i++, fecha);
+                        pstmt.setInt(i++, desde.id);
+                    }
+                    pstmt.setInt(i, tamanio + 1);
+                    leerPagina(pstmt, asociaciones, ordenes, posiciones);
+                }
+            } else {
+                idSinFecha = desde.id;
+            }
+
+            if (ordenes.size() <= tamanio) {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql[SIN_FECHA])) {
+                    int i = 1;
+                    if (filtro != null) {
+                        pstmt.setInt(i++, filtro);
+                    }
+                    pstmt.setInt(i++, idSinFecha);
+                    pstmt.setInt(i, tamanio + 1 - ordenes.size());
+                    leerPagina(pstmt, asociaciones, ordenes, posiciones);
+                }
+            }
+        }
+
+        if (ordenes.size() <= tamanio) {
+            return new Pagina<>(ordenes, null);
+        }
+        ordenes.remove(tamanio);
+        return new Pagina<>(ordenes, posiciones.get(tamanio - 1));
+    }
+
+    private static void leerPagina(PreparedStatement pstmt, MapeadorOrden.Asociaciones asociaciones,
+                                   List<OrdenInspeccion> ordenes, List<Cursor> posiciones) throws SQLException {
+        try (ResultSet rs = pstmt.executeQuery()) {
+            MapeadorOrden mapeador = new MapeadorOrden(Columnas.de(rs), asociaciones);
+            while (rs.next()) {
+                OrdenInspeccion orden = mapeador.mapear(rs);
+                ordenes.add(orden);
+                posiciones.add(new Cursor(orden.getFechaHoraFinalizacion(), mapeador.id(rs)));
+            }
+        }
+    }
+
+    private static List<OrdenInspeccion> mapOrdenes(PreparedStatement pstmt) throws SQLException {
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return MapeadorFila.listar(rs, MapeadorOrden.fabricaDiferida());
+        }
+    }
+
+    static final String SQL_UPDATE = """
             UPDATE ordenes_inspeccion 
             SET estado = ?, fecha_hora_cierre = ?, observacion_cierre = ?
-            WHERE numero_orden = ?
+            WHERE numero_orden = ? AND estado = ?
         """;
 
-        Connection conn = DatabaseConfig.getConnection();
-        PreparedStatement pstmt = conn.prepareStatement(sql);
-        
-    pstmt.setString(1, codigoFromEstado(orden.getEstado()));
-        pstmt.setTimestamp(2, orden.getFechaHoraCierre() != null ? 
-            Timestamp.valueOf(orden.getFechaHoraCierre()) : null);
-        pstmt.setString(3, orden.getObservacionCierre());
-        pstmt.setInt(4, orden.getNroOrden());
-        
-        pstmt.executeUpdate();
-        pstmt.close();
-    }
-
     /**
-     * Convierte el código almacenado en la BD a una instancia de Estado
-     * que usa la aplicación (la clase Estado del modelo almacena el nombre
-     * legible, por eso hacemos el mapeo).
+     * Actualiza una orden de inspección en la base de datos. Sólo se
+     * modifica si la orden sigue completamente realizada: una orden ya
+     * cerrada (por ejemplo, desde otra sesión) no se vuelve a cerrar.
+     *
+     * @param orden orden a actualizar
+     * @throws SQLException si hay error en la actualización
      */
-    private static com.redseismica.model.Estado estadoFromCodigo(String codigo) {
-        if (codigo == null) return null;
-        return switch (codigo) {
-            case "CERRADA" -> new com.redseismica.model.Estado("Cerrada");
-            case "EN_CURSO" -> new com.redseismica.model.Estado("En curso");
-            case "COMPLETAMENTE_REALIZADA" -> new com.redseismica.model.Estado("Completamente Realizada");
-            default -> new com.redseismica.model.Estado(codigo);
-        };
+    public static void update(OrdenInspeccion orden) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            update(conn, orden);
+        }
     }
 
     /**
-     * Convierte una instancia de Estado (con nombre legible) al código que
-     * se persiste en la BD. Se intenta mapear los nombres conocidos; si no
-     * se reconoce, se genera un código a partir del nombre legible.
+     * Actualiza la orden usando una conexión ya abierta, sin confirmar la
+     * transacción (la confirma quien la abrió).
+     *
+     * @return filas actualizadas: 0 si la orden no existe o ya no está
+     *         completamente realizada
      */
-    private static String codigoFromEstado(com.redseismica.model.Estado estado) {
-        if (estado == null) return null;
-        String nombre = estado.getNombre();
-        if (nombre == null) return null;
-        return switch (nombre) {
-            case "Cerrada" -> "CERRADA";
-            case "En curso" -> "EN_CURSO";
-            case "Completamente Realizada" -> "COMPLETAMENTE_REALIZADA";
-            default -> nombre.toUpperCase().replace(' ', '_');
-        };
+    static int update(Connection conn, OrdenInspeccion orden) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_UPDATE)) {
+            pstmt.setString(1, orden.getEstado() != null ? orden.getEstado().getCodigoBD() : null);
+            pstmt.setTimestamp(2, orden.getFechaHoraCierre() != null ?
+                Timestamp.valueOf(orden.getFechaHoraCierre()) : null);
+            pstmt.setString(3, orden.getObservacionCierre());
+            pstmt.setInt(4, orden.getNroOrden());
+            pstmt.setString(5, Estado.COMPLETAMENTE_REALIZADA.getCodigoBD());
+
+            return pstmt.executeUpdate();
+        }
     }
 }
@@ -0,0 +1,45 @@
+package com.redseismica.database.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página de resultados de una consulta paginada por clave (keyset). Trae
+ * los elementos de la página y el cursor desde el cual pedir la siguiente;
+ * el cursor es la clave de ordenamiento del último elemento, de modo que
+ * la consulta de la próxima página busca directamente en el índice a
+ * partir de ahí en lugar de saltear filas con OFFSET.
+ *
+ * @param <T> tipo de los elementos
+ * @param <C> tipo del cursor que identifica la posición en el listado
+ */
+public final class Pagina<T, C> {
+    private final List<T> elementos;
+    private final C siguiente;
+
+    Pagina(List<T> elementos, C siguiente) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.siguiente = siguiente;
+    }
+
+    /** Elementos de esta página, en el orden del listado. */
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Cursor para pedir la página siguiente, o null si ésta es la última.
+     */
+    public C getSiguiente() {
+        return siguiente;
+    }
+
+    public boolean hayMas() {
+        return siguiente != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{elementos=" + elementos.size() + ", siguiente=" + siguiente + "}";
+    }
+}
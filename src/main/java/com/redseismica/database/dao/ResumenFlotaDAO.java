@@ -0,0 +1,217 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * DAO del resumen de la flota ({@code resumen_estados_flota}): cuántos
+ * sismógrafos hay en cada estado, por estación y para toda la red (fila
+ * con {@code estacion_id = 0}). Así el panorama de la flota se lee en
+ * tantas filas como estados haya, sin recorrer {@code sismografos}.
+ *
+ * El resumen se ajusta en la misma transacción que cada cambio de estado
+ * ({@link SismografoDAO#updateEstado}). Los sismógrafos que se dan de alta
+ * o cambian de estación por fuera de los DAO (cargas masivas, scripts) lo
+ * dejan desactualizado hasta correr {@link #reconstruir()}.
+ */
+public class ResumenFlotaDAO {
+
+    /** {@code estacion_id} de las filas con el total de la red. */
+    static final int RED = 0;
+
+    static final String SQL_AJUSTAR = """
+            MERGE INTO resumen_estados_flota r
+            USING (VALUES (CAST(? AS INT), CAST(? AS VARCHAR(50)), CAST(? AS INT))) v (estacion_id, estado, delta)
+            ON r.estacion_id = v.estacion_id AND r.estado = v.estado
+            WHEN MATCHED THEN UPDATE SET cantidad = r.cantidad + v.delta
+            WHEN NOT MATCHED THEN INSERT (estacion_id, estado, cantidad) VALUES (v.estacion_id, v.estado, v.delta)
+        """;
+
+    static final String SQL_FIND_TOTALES = """
+            SELECT estado, cantidad
+            FROM resumen_estados_flota
+            WHERE estacion_id = 0 AND cantidad > 0
+            ORDER BY estacion_id, estado
+        """;
+
+    static final String SQL_FIND_POR_ESTACION = """
+            SELECT e.codigo, r.estado, r.cantidad
+            FROM resumen_estados_flota r
+            JOIN estaciones e ON e.id = r.estacion_id
+            WHERE r.estacion_id > 0 AND r.cantidad > 0
+            ORDER BY r.estacion_id, r.estado
+        """;
+
+    /** Bloquea la flota para que no cambie de estado durante la reconstrucción. */
+    static final String SQL_BLOQUEAR_FLOTA = "SELECT id FROM sismografos FOR UPDATE";
+
+    static final String SQL_VACIAR = "DELETE FROM resumen_estados_flota";
+
+    static final String SQL_RECONSTRUIR_RED = """
+            INSERT INTO resumen_estados_flota (estacion_id, estado, cantidad)
+            SELECT 0, estado_actual, COUNT(*) FROM sismografos GROUP BY estado_actual
+        """;
+
+    static final String SQL_RECONSTRUIR_ESTACIONES = """
+            INSERT INTO resumen_estados_flota (estacion_id, estado, cantidad)
+            SELECT estacion_id, estado_actual, COUNT(*) FROM sismografos
+            WHERE estacion_id IS NOT NULL GROUP BY estacion_id, estado_actual
+        """;
+
+    /**
+     * Completa con cantidad 0 los estados de sismógrafo del catálogo que no
+     * tiene la red o cada estación, de modo que los cambios de estado sólo
+     * actualicen filas existentes y dos transacciones no compitan por
+     * insertar la misma.
+     */
+    static final String SQL_COMPLETAR_ESTADOS = """
+            INSERT INTO resumen_estados_flota (estacion_id, estado, cantidad)
+            SELECT k.estacion_id, es.codigo, 0
+            FROM (SELECT 0 AS estacion_id UNION SELECT DISTINCT estacion_id FROM sismografos
+                  WHERE estacion_id IS NOT NULL) k
+            CROSS JOIN estados es
+            WHERE es.ambito = 'SISMOGRAFO'
+              AND NOT EXISTS (SELECT 1 FROM resumen_estados_flota r
+                              WHERE r.estacion_id = k.estacion_id AND r.estado = es.codigo)
+        """;
+
+    /**
+     * Cantidad de sismógrafos de la red en cada estado con al menos uno.
+     *
+     * @return cantidad por código de estado, ordenado por código
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Map<String, Integer> findTotales() throws SQLException {
+        Map<String, Integer> totales = new LinkedHashMap<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_FIND_TOTALES)) {
+            while (rs.next()) {
+                totales.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        return totales;
+    }
+
+    /**
+     * Cantidad de sismógrafos en cada estado, por estación. Las estaciones
+     * sin sismógrafos no aparecen.
+     *
+     * @return por código de estación, la cantidad por código de estado
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Map<Integer, Map<String, Integer>> findPorEstacion() throws SQLException {
+        Map<Integer, Map<String, Integer>> estaciones = new LinkedHashMap<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_FIND_POR_ESTACION)) {
+            while (rs.next()) {
+                estaciones.computeIfAbsent(rs.getInt(1), codigo -> new LinkedHashMap<>())
+                    .put(rs.getString(2), rs.getInt(3));
+            }
+        }
+        return estaciones;
+    }
+
+    /**
+     * Pasa un sismógrafo de un estado a otro en el resumen, usando una
+     * conexión ya abierta y sin confirmar la transacción.
+     *
+     * @param estacionId estación del sismógrafo (null si no tiene)
+     * @param anterior código del estado que deja
+     * @param nuevo código del estado al que pasa
+     */
+    static void registrarCambio(Connection conn, Integer estacionId, String anterior, String nuevo)
+            throws SQLException {
+        if (anterior.equals(nuevo)) {
+            return;
+        }
+        // Las filas se bloquean siempre en el orden de la clave (estación y
+        // estado) para que dos cambios concurrentes no se esperen en círculo
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_AJUSTAR)) {
+            agregar(pstmt, RED, anterior, nuevo);
+            if (estacionId != null) {
+                agregar(pstmt, estacionId, anterior, nuevo);
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Suma al resumen sismógrafos dados de alta, usando una conexión ya
+     * abierta y sin confirmar la transacción.
+     *
+     * @param altas cantidad de altas por estación ({@link #RED} incluida) y
+     *              estado, ordenadas por clave para bloquear las filas en
+     *              el mismo orden que los cambios de estado
+     */
+    static void registrarAltas(Connection conn, SortedMap<Integer, SortedMap<String, Integer>> altas)
+            throws SQLException {
+        if (altas.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_AJUSTAR)) {
+            for (Map.Entry<Integer, SortedMap<String, Integer>> estacion : altas.entrySet()) {
+                for (Map.Entry<String, Integer> estado : estacion.getValue().entrySet()) {
+                    agregar(pstmt, estacion.getKey(), estado.getKey(), estado.getValue());
+                }
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private static void agregar(PreparedStatement pstmt, int estacionId, String anterior, String nuevo)
+            throws SQLException {
+        boolean anteriorPrimero = anterior.compareTo(nuevo) < 0;
+        agregar(pstmt, estacionId, anteriorPrimero ? anterior : nuevo, anteriorPrimero ? -1 : 1);
+        agregar(pstmt, estacionId, anteriorPrimero ? nuevo : anterior, anteriorPrimero ? 1 : -1);
+    }
+
+    private static void agregar(PreparedStatement pstmt, int estacionId, String estado, int delta)
+            throws SQLException {
+        pstmt.setInt(1, estacionId);
+        pstmt.setString(2, estado);
+        pstmt.setInt(3, delta);
+        pstmt.addBatch();
+    }
+
+    /**
+     * Vuelve a calcular el resumen a partir del estado actual de
+     * {@code sismografos}, en una sola transacción. Mientras dura, los
+     * cambios de estado esperan (la flota queda bloqueada), de modo que no
+     * se pierde ninguno.
+     *
+     * @return sismógrafos contados
+     * @throws SQLException si hay error; en ese caso el resumen queda como estaba
+     */
+    public static int reconstruir() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                int sismografos = 0;
+                try (ResultSet rs = stmt.executeQuery(SQL_BLOQUEAR_FLOTA)) {
+                    while (rs.next()) {
+                        sismografos++;
+                    }
+                }
+                stmt.executeUpdate(SQL_VACIAR);
+                stmt.executeUpdate(SQL_RECONSTRUIR_RED);
+                stmt.executeUpdate(SQL_RECONSTRUIR_ESTACIONES);
+                stmt.executeUpdate(SQL_COMPLETAR_ESTADOS);
+                conn.commit();
+                return sismografos;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
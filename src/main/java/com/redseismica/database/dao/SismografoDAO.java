@@ -1,17 +1,16 @@
 package com.redseismica.database.dao;
 
 import com.redseismica.database.DatabaseConfig;
-import com.redseismica.model.Sismografo;
-import com.redseismica.model.EstacionSismologica;
 import com.redseismica.model.CambioEstadoSismografo;
-import com.redseismica.states.EstadoSismografo;
-import com.redseismica.states.Online;
-import com.redseismica.states.FueraDeServicio;
-import com.redseismica.states.InhabilitadoPorInspeccion;
+import com.redseismica.model.Sismografo;
 
 import java.sql.*;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 /**
  * DAO para acceder a los sismógrafos desde la base de datos.
@@ -19,6 +18,19 @@ import java.util.List;
  */
 public class SismografoDAO {
 
+    static final String SQL_ESTADO_PARA_ACTUALIZAR = """
+            SELECT estado_actual, estacion_id
+            FROM sismografos
+            WHERE id = ?
+            FOR UPDATE
+        """;
+
+    static final String SQL_UPDATE_ESTADO = """
+            UPDATE sismografos 
+            SET estado_actual = ?, fecha_hora_estado = ?
+            WHERE id = ?
+        """;
+
     /**
      * Actualiza el estado actual de un sismógrafo en la base de datos.
      *
@@ -26,31 +38,87 @@ public class SismografoDAO {
      * @throws SQLException si hay error en la actualización
      */
     public static void updateEstado(Sismografo sismografo) throws SQLException {
-        String sql = """
-            UPDATE sismografos 
-            SET estado_actual = ?, fecha_hora_estado = ?
-            WHERE id = ?
-        """;
+        // La fecha del estado es la del cambio de estado vigente (si existe)
+        CambioEstadoSismografo actual = sismografo.getCambioEstadoActual();
+        java.time.LocalDateTime ts = actual != null ? actual.getFechaHoraInicio() : java.time.LocalDateTime.now();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                updateEstado(conn, sismografo.getIdSismografo(), sismografo.getEstadoActual().getCodigoBD(), ts);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
 
-        Connection conn = DatabaseConfig.getConnection();
-        PreparedStatement pstmt = conn.prepareStatement(sql);
-        
-        pstmt.setString(1, sismografo.getEstadoActual().getNombreEstado());
-        // Buscar el cambio de estado actual en el sismógrafo (si existe)
-        java.time.LocalDateTime ts = java.time.LocalDateTime.now();
-        if (sismografo.getCambiosEstado() != null) {
-            for (com.redseismica.model.CambioEstadoSismografo ce : sismografo.getCambiosEstado()) {
-                if (ce != null && ce.sosActual()) {
-                    if (ce.getFechaHoraInicio() != null) ts = ce.getFechaHoraInicio();
-                    break;
+    /**
+     * Actualiza el estado de un sismógrafo usando una conexión ya abierta,
+     * sin confirmar la transacción. La fila del sismógrafo se bloquea antes
+     * de leer su estado anterior, y con él se ajusta el resumen de la flota
+     * ({@link ResumenFlotaDAO}) en la misma transacción.
+     *
+     * @return filas actualizadas
+     */
+    static int updateEstado(Connection conn, int sismografoId, String codigoEstado,
+                            java.time.LocalDateTime fechaHora) throws SQLException {
+        String anterior;
+        Integer estacionId;
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_ESTADO_PARA_ACTUALIZAR)) {
+            pstmt.setInt(1, sismografoId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return 0;
                 }
+                anterior = rs.getString(1);
+                int estacion = rs.getInt(2);
+                estacionId = rs.wasNull() ? null : estacion;
             }
         }
-        pstmt.setTimestamp(2, java.sql.Timestamp.valueOf(ts));
-        pstmt.setInt(3, sismografo.getIdSismografo());
-        
-        pstmt.executeUpdate();
-        pstmt.close();
+        int filas;
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_UPDATE_ESTADO)) {
+            pstmt.setString(1, codigoEstado);
+            pstmt.setTimestamp(2, java.sql.Timestamp.valueOf(fechaHora));
+            pstmt.setInt(3, sismografoId);
+
+            filas = pstmt.executeUpdate();
+        }
+        ResumenFlotaDAO.registrarCambio(conn, estacionId, anterior, codigoEstado);
+        return filas;
+    }
+
+    static final String SQL_INSERT_CAMBIO_ESTADO = """
+            INSERT INTO cambios_estado_sismografo 
+            (sismografo_id, fecha_hora, estado, observacion, empleado_id) 
+            VALUES (?, ?, ?, ?, ?)
+        """;
+
+    /**
+     * Fila a insertar en el historial de cambios de estado.
+     */
+    public static final class CambioEstadoRegistro {
+        private final int sismografoId;
+        private final String estado;
+        private final java.time.LocalDateTime fechaHora;
+        private final String observacion;
+        private final Integer empleadoId;
+
+        /**
+         * @param sismografoId ID del sismógrafo
+         * @param estado código del nuevo estado
+         * @param fechaHora fecha y hora del cambio
+         * @param observacion observación del cambio
+         * @param empleadoId ID del empleado responsable (puede ser null)
+         */
+        public CambioEstadoRegistro(int sismografoId, String estado, java.time.LocalDateTime fechaHora,
+                                    String observacion, Integer empleadoId) {
+            this.sismografoId = sismografoId;
+            this.estado = estado;
+            this.fechaHora = fechaHora;
+            this.observacion = observacion;
+            this.empleadoId = empleadoId;
+        }
     }
 
     /**
@@ -61,101 +129,279 @@ public class SismografoDAO {
      * @param fechaHora fecha y hora del cambio
      * @param observacion observación del cambio
      * @param empleadoId ID del empleado responsable (puede ser null)
+     * @return ID del cambio insertado
      * @throws SQLException si hay error en la inserción
      */
-    public static void insertCambioEstado(int sismografoId, String estado, 
+    public static int insertCambioEstado(int sismografoId, String estado, 
                                          java.time.LocalDateTime fechaHora, 
                                          String observacion, Integer empleadoId) throws SQLException {
-        String sql = """
-            INSERT INTO cambios_estado_sismografo 
-            (sismografo_id, fecha_hora, estado, observacion, empleado_id) 
-            VALUES (?, ?, ?, ?, ?)
+        return insertCambiosEstado(List.of(
+            new CambioEstadoRegistro(sismografoId, estado, fechaHora, observacion, empleadoId)))[0];
+    }
+
+    /**
+     * Inserta varios cambios de estado (por ejemplo, una caída masiva de
+     * sismógrafos) en una sola transacción, con lotes JDBC sobre una única
+     * sentencia preparada.
+     *
+     * @param cambios filas a insertar
+     * @return IDs generados, en el mismo orden que {@code cambios}
+     * @throws SQLException si hay error; en ese caso no se inserta ninguna fila
+     */
+    public static int[] insertCambiosEstado(List<CambioEstadoRegistro> cambios) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int[] ids = insertCambiosEstado(conn, cambios);
+                conn.commit();
+                return ids;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Inserta los cambios de estado usando una conexión ya abierta, sin
+     * confirmar la transacción.
+     *
+     * @return IDs generados, en el mismo orden que {@code cambios}
+     */
+    static int[] insertCambiosEstado(Connection conn, List<CambioEstadoRegistro> cambios) throws SQLException {
+        int[] ids = new int[cambios.size()];
+        if (cambios.isEmpty()) {
+            return ids;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT_CAMBIO_ESTADO,
+                Statement.RETURN_GENERATED_KEYS)) {
+            int enLote = 0;
+            int leidos = 0;
+            for (CambioEstadoRegistro cambio : cambios) {
+                pstmt.setInt(1, cambio.sismografoId);
+                pstmt.setTimestamp(2, java.sql.Timestamp.valueOf(cambio.fechaHora));
+                pstmt.setString(3, cambio.estado);
+                pstmt.setString(4, cambio.observacion);
+                if (cambio.empleadoId != null) {
+                    pstmt.setInt(5, cambio.empleadoId);
+                } else {
+                    pstmt.setNull(5, Types.INTEGER);
+                }
+                pstmt.addBatch();
+                if (++enLote == Lotes.TAMANIO) {
+                    leidos = Lotes.ejecutar(pstmt, ids, leidos);
+                    enLote = 0;
+                }
+            }
+            if (enLote > 0) {
+                Lotes.ejecutar(pstmt, ids, leidos);
+            }
+        }
+        return ids;
+    }
+
+    static final String SQL_INSERT = """
+            INSERT INTO sismografos (numero_serie, fecha_instalacion, modelo, estado_actual, fecha_hora_estado,
+                                     estacion_id)
+            VALUES (?, ?, ?, ?, ?, ?)
         """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, sismografoId);
-            pstmt.setTimestamp(2, java.sql.Timestamp.valueOf(fechaHora));
-            pstmt.setString(3, estado);
-            pstmt.setString(4, observacion);
-            
-            if (empleadoId != null) {
-                pstmt.setInt(5, empleadoId);
-            } else {
-                pstmt.setNull(5, Types.INTEGER);
+    /**
+     * Fila a insertar en {@code sismografos}.
+     */
+    public static final class SismografoRegistro {
+        private final int numeroSerie;
+        private final java.time.LocalDateTime fechaInstalacion;
+        private final int modelo;
+        private final String estado;
+        private final java.time.LocalDateTime fechaHoraEstado;
+        private final Integer estacionId;
+
+        /**
+         * @param numeroSerie número de serie
+         * @param fechaInstalacion fecha de instalación
+         * @param modelo modelo del sismógrafo
+         * @param estado código del estado actual
+         * @param fechaHoraEstado desde cuándo está en ese estado
+         * @param estacionId ID de la estación (puede ser null)
+         */
+        public SismografoRegistro(int numeroSerie, java.time.LocalDateTime fechaInstalacion, int modelo,
+                                  String estado, java.time.LocalDateTime fechaHoraEstado, Integer estacionId) {
+            this.numeroSerie = numeroSerie;
+            this.fechaInstalacion = fechaInstalacion;
+            this.modelo = modelo;
+            this.estado = estado;
+            this.fechaHoraEstado = fechaHoraEstado;
+            this.estacionId = estacionId;
+        }
+
+        public int getNumeroSerie() {
+            return numeroSerie;
+        }
+
+        public Integer getEstacionId() {
+            return estacionId;
+        }
+    }
+
+    /**
+     * Da de alta sismógrafos usando una conexión ya abierta, sin confirmar
+     * la transacción. Cada alta se inserta con lotes JDBC junto con su
+     * primer registro en el historial de estados, y se suma al resumen de
+     * la flota.
+     *
+     * @return IDs generados, en el mismo orden que {@code altas}
+     */
+    static int[] insertAll(Connection conn, List<SismografoRegistro> altas) throws SQLException {
+        int[] ids = new int[altas.size()];
+        if (altas.isEmpty()) {
+            return ids;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            int enLote = 0;
+            int leidos = 0;
+            for (SismografoRegistro alta : altas) {
+                pstmt.setInt(1, alta.numeroSerie);
+                pstmt.setTimestamp(2, java.sql.Timestamp.valueOf(alta.fechaInstalacion));
+                pstmt.setInt(3, alta.modelo);
+                pstmt.setString(4, alta.estado);
+                pstmt.setTimestamp(5, java.sql.Timestamp.valueOf(alta.fechaHoraEstado));
+                if (alta.estacionId != null) {
+                    pstmt.setInt(6, alta.estacionId);
+                } else {
+                    pstmt.setNull(6, Types.INTEGER);
+                }
+                pstmt.addBatch();
+                if (++enLote == Lotes.TAMANIO) {
+                    leidos = Lotes.ejecutar(pstmt, ids, leidos);
+                    enLote = 0;
+                }
+            }
+            if (enLote > 0) {
+                Lotes.ejecutar(pstmt, ids, leidos);
+            }
+        }
+
+        List<CambioEstadoRegistro> historial = new java.util.ArrayList<>(altas.size());
+        SortedMap<Integer, SortedMap<String, Integer>> resumen = new TreeMap<>();
+        for (int i = 0; i < altas.size(); i++) {
+            SismografoRegistro alta = altas.get(i);
+            historial.add(new CambioEstadoRegistro(ids[i], alta.estado, alta.fechaHoraEstado, null, null));
+            resumen.computeIfAbsent(ResumenFlotaDAO.RED, e -> new TreeMap<>()).merge(alta.estado, 1, Integer::sum);
+            if (alta.estacionId != null) {
+                resumen.computeIfAbsent(alta.estacionId, e -> new TreeMap<>()).merge(alta.estado, 1, Integer::sum);
             }
-            
-            pstmt.executeUpdate();
         }
+        insertCambiosEstado(conn, historial);
+        ResumenFlotaDAO.registrarAltas(conn, resumen);
+        return ids;
     }
 
+    static final String SQL_FIND_NUMEROS_SERIE = "SELECT numero_serie FROM sismografos";
+
     /**
-     * Obtiene todos los sismógrafos junto a su estación y estado.
+     * Obtiene los números de serie de todos los sismógrafos. La usa la
+     * importación para detectar duplicados sin consultar por cada fila.
      *
-     * @return lista de sismógrafos
      * @throws SQLException si hay error en la consulta
      */
-    public static List<Sismografo> findAll() throws SQLException {
-        List<Sismografo> lista = new ArrayList<>();
-        String sql = """
-            SELECT s.id, s.numero_serie, s.fecha_instalacion, s.modelo, s.estado_actual, s.fecha_hora_estado,
-                   e.codigo, e.nombre as estacion_nombre, e.latitud, e.longitud
-            FROM sismografos s
-            LEFT JOIN estaciones e ON s.estacion_id = e.id
-            ORDER BY s.numero_serie
+    public static Set<Integer> findNumerosSerie() throws SQLException {
+        return findEnteros(SQL_FIND_NUMEROS_SERIE);
+    }
+
+    static final String SQL_FIND_ESTACIONES_CON_SISMOGRAFO = """
+            SELECT DISTINCT estacion_id
+            FROM sismografos
+            WHERE estacion_id IS NOT NULL
         """;
 
-        Connection conn = DatabaseConfig.getConnection();
-        Statement stmt = conn.createStatement();
-        ResultSet rs = stmt.executeQuery(sql);
-
-        while (rs.next()) {
-            EstadoSismografo estado = getEstadoFromString(rs.getString("estado_actual"));
-
-            Sismografo s = new Sismografo(
-                rs.getInt("id"),
-                rs.getTimestamp("fecha_instalacion").toLocalDateTime(),
-                rs.getInt("numero_serie"),
-                null,
-                estado
-            );
-
-            java.sql.Timestamp fh = rs.getTimestamp("fecha_hora_estado");
-            if (fh != null) {
-                CambioEstadoSismografo ce = new CambioEstadoSismografo(fh.toLocalDateTime());
-                s.setCambioEstado(ce);
+    /**
+     * Obtiene los IDs de las estaciones que ya tienen un sismógrafo.
+     *
+     * @throws SQLException si hay error en la consulta
+     */
+    public static Set<Integer> findEstacionesConSismografo() throws SQLException {
+        return findEnteros(SQL_FIND_ESTACIONES_CON_SISMOGRAFO);
+    }
+
+    private static Set<Integer> findEnteros(String sql) throws SQLException {
+        Set<Integer> valores = new HashSet<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                valores.add(rs.getInt(1));
             }
+        }
+        return valores;
+    }
 
-            new EstacionSismologica(
-                rs.getInt("codigo"),
-                rs.getString("estacion_nombre"),
-                rs.getDouble("latitud"),
-                rs.getDouble("longitud"),
-                s
-            );
+    static final String SQL_FIND_ID_BY_CODIGO_ESTACION = """
+            SELECT s.id
+            FROM estaciones e
+            JOIN sismografos s ON s.estacion_id = e.id
+            WHERE e.codigo = ?
+        """;
 
-            // Nota: el modelo actualmente no provee un setter explícito para la
-            // estación dentro de Sismografo, por compatibilidad reproducimos el
-            // patrón usado en otros DAOs (se crea la Estación con referencia al
-            // sismógrafo). Si se necesita que `s.getEstacionSismologica()` no sea
-            // null, agregar un setter en la clase `Sismografo`.
+    /**
+     * Busca el ID del sismógrafo instalado en la estación con el código
+     * indicado. La búsqueda usa el índice único de estaciones.codigo y la
+     * clave foránea sismografos.estacion_id, sin recorrer la flota.
+     *
+     * @param codigoEstacion código de la estación
+     * @return ID del sismógrafo o -1 si la estación no tiene uno
+     * @throws SQLException si hay error en la consulta
+     */
+    public static int findIdByCodigoEstacion(int codigoEstacion) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_FIND_ID_BY_CODIGO_ESTACION)) {
+            pstmt.setInt(1, codigoEstacion);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
 
-            lista.add(s);
+    static final String SQL_FIND_ALL = """
+            SELECT s.id as sis_id, s.numero_serie, s.fecha_instalacion, s.modelo, s.estado_actual, s.fecha_hora_estado,
+                   s.estacion_id, e.codigo as estacion_codigo, e.nombre as estacion_nombre, e.latitud, e.longitud
+            FROM sismografos s
+            LEFT JOIN estaciones e ON s.estacion_id = e.id
+            ORDER BY s.numero_serie
+        """;
+
+    /**
+     * Obtiene todos los sismógrafos junto a su estación y estado.
+     *
+     * @return lista de sismógrafos
+     * @throws SQLException si hay error en la consulta
+     */
+    public static List<Sismografo> findAll() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_FIND_ALL)) {
+            return MapeadorFila.listar(rs, SismografoDAO::mapeador);
         }
+    }
 
-        rs.close();
-        stmt.close();
-        return lista;
+    /**
+     * Recorre todos los sismógrafos, en el orden de {@link #findAll}, sin
+     * cargarlos en memoria. El stream retiene una conexión hasta cerrarse,
+     * por lo que debe usarse en un try-with-resources.
+     *
+     * @return stream de sismógrafos; los errores al recorrerlo se informan
+     *         como {@link LecturaFallidaException}
+     * @throws SQLException si falla la ejecución de la consulta
+     */
+    public static Stream<Sismografo> streamAll() throws SQLException {
+        return FlujoFilas.abrir(SQL_FIND_ALL, pstmt -> { }, SismografoDAO::mapeador);
     }
 
-    private static EstadoSismografo getEstadoFromString(String estado) {
-        if (estado == null) return new Online("Online");
-        return switch (estado) {
-            case "Online" -> new Online("Online");
-            case "FueraDeServicio" -> new FueraDeServicio("Fuera de Servicio");
-            case "InhabilitadoPorInspeccion" -> new InhabilitadoPorInspeccion("Inhabilitado por inspección");
-            default -> new Online(estado);
-        };
+    /**
+     * Mapeador de sismógrafos (enlazados con su estación) con un mapa de
+     * identidad propio de la carga.
+     */
+    private static MapeadorFila<Sismografo> mapeador(Columnas columnas) throws SQLException {
+        return new MapeadorSismografo(columnas, new IdentityMap());
     }
 }
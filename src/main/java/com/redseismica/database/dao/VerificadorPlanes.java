@@ -0,0 +1,242 @@
+package com.redseismica.database.dao;
+
+import com.redseismica.database.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verifica con {@code EXPLAIN} que las consultas de los DAO usen índices.
+ * Para cada consulta registrada se obtiene el plan de H2 y se buscan
+ * recorridos completos de tablas: un {@code tableScan} o un índice usado
+ * sin condición. Sólo se aceptan en la tabla conductora del plan (la
+ * primera que lee), y sólo si está declarada para esa consulta (por
+ * ejemplo la tabla que recorre un findAll): las tablas de los joins deben
+ * resolverse siempre por índice.
+ *
+ * Cuando se agrega una consulta a un DAO debe registrarse también aquí.
+ * Los resultados sólo son significativos sobre una base con volumen,
+ * porque con tablas casi vacías el optimizador puede preferir recorrerlas.
+ */
+public class VerificadorPlanes {
+
+    /** Tabla sobre la que opera cada tramo del plan. */
+    private static final Pattern TABLA = Pattern.compile("(?:FROM|JOIN|UPDATE|DELETE FROM) \"PUBLIC\"\\.\"(\\w+)\"");
+    /** Comentario con el método de acceso elegido por H2. */
+    private static final Pattern ACCESO = Pattern.compile("^\\s*/\\* PUBLIC\\.([\\w.]+)(:.*)? \\*/\\s*$");
+
+    /**
+     * Consulta de un DAO junto con parámetros de ejemplo y las tablas que
+     * tiene permitido recorrer completas cuando son la conductora del plan.
+     */
+    public static final class Consulta {
+        private final String nombre;
+        private final String sql;
+        private final Object[] parametros;
+        private final Set<String> recorridosPermitidos;
+
+        Consulta(String nombre, String sql, Set<String> recorridosPermitidos, Object... parametros) {
+            this.nombre = nombre;
+            this.sql = sql;
+            this.parametros = parametros;
+            this.recorridosPermitidos = recorridosPermitidos;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    /**
+     * Devuelve las consultas de los DAO que se verifican.
+     */
+    public static List<Consulta> consultas() {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        List<Consulta> consultas = new ArrayList<>();
+        consultas.add(new Consulta("EmpleadoDAO.findById", EmpleadoDAO.SQL_FIND_BY_ID, Set.of(), 1));
+        consultas.add(new Consulta("EmpleadoDAO.findAll", EmpleadoDAO.SQL_FIND_ALL, Set.of("EMPLEADOS")));
+        consultas.add(new Consulta("EmpleadoDAO.findByIds", EmpleadoDAO.SQL_FIND_BY_IDS + Lotes.marcadores(3) + ")",
+                Set.of(), 1, 2, 3));
+        consultas.add(new Consulta("EstacionDAO.findByIds", EstacionDAO.SQL_FIND_BY_IDS + Lotes.marcadores(3) + ")",
+                Set.of(), 1, 2, 3));
+        consultas.add(new Consulta("EmpleadoDAO.findResponsablesReparacion",
+                EmpleadoDAO.SQL_FIND_RESPONSABLES_REPARACION, Set.of()));
+        consultas.add(new Consulta("EstadoDAO.findAll", EstadoDAO.SQL_FIND_ALL, Set.of("ESTADOS")));
+        consultas.add(new Consulta("MotivoTipoDAO.findAll", MotivoTipoDAO.SQL_FIND_ALL, Set.of("MOTIVOS_TIPO")));
+        consultas.add(new Consulta("OrdenInspeccionDAO.findByResponsable",
+                OrdenInspeccionDAO.SQL_FIND_BY_RESPONSABLE, Set.of(), 1));
+        consultas.add(new Consulta("OrdenInspeccionDAO.findCompletamenteRealizadasByResponsable",
+                OrdenInspeccionDAO.SQL_FIND_COMPLETAMENTE_REALIZADAS_BY_RESPONSABLE, Set.of(), 1));
+        consultas.add(new Consulta("OrdenInspeccionDAO.findAll", OrdenInspeccionDAO.SQL_FIND_ALL,
+                Set.of("ORDENES_INSPECCION")));
+        consultas.add(new Consulta("OrdenInspeccionDAO.streamByResponsable",
+                OrdenInspeccionDAO.SQL_FIND_BY_RESPONSABLE_CON_ASOCIACIONES, Set.of(), 1));
+        consultas.add(new Consulta("OrdenInspeccionDAO.streamAll", OrdenInspeccionDAO.SQL_FIND_ALL_CON_ASOCIACIONES,
+                Set.of("ORDENES_INSPECCION")));
+        agregarPaginadas(consultas, "OrdenInspeccionDAO.findAllPagina", OrdenInspeccionDAO.SQL_PAGINA_ALL);
+        agregarPaginadas(consultas, "OrdenInspeccionDAO.findByResponsablePagina",
+                OrdenInspeccionDAO.SQL_PAGINA_BY_RESPONSABLE, 1);
+        agregarPaginadas(consultas, "OrdenInspeccionDAO.findCompletamenteRealizadasByResponsablePagina",
+                OrdenInspeccionDAO.SQL_PAGINA_COMPLETAMENTE_REALIZADAS_BY_RESPONSABLE, 1);
+        consultas.add(new Consulta("OrdenInspeccionDAO.update", OrdenInspeccionDAO.SQL_UPDATE, Set.of(),
+                "CERRADA", ahora, "observación", 1, "COMPLETAMENTE_REALIZADA"));
+        consultas.add(new Consulta("SismografoDAO.updateEstado", SismografoDAO.SQL_UPDATE_ESTADO, Set.of(),
+                "FueraDeServicio", ahora, 1));
+        consultas.add(new Consulta("SismografoDAO.updateEstado[bloqueo]", SismografoDAO.SQL_ESTADO_PARA_ACTUALIZAR,
+                Set.of(), 1));
+        consultas.add(new Consulta("ResumenFlotaDAO.findTotales", ResumenFlotaDAO.SQL_FIND_TOTALES, Set.of()));
+        // Recorre todas las filas de estaciones del resumen, que son a lo
+        // sumo estaciones por estados
+        consultas.add(new Consulta("ResumenFlotaDAO.findPorEstacion", ResumenFlotaDAO.SQL_FIND_POR_ESTACION,
+                Set.of("RESUMEN_ESTADOS_FLOTA")));
+        consultas.add(new Consulta("SismografoDAO.findIdByCodigoEstacion",
+                SismografoDAO.SQL_FIND_ID_BY_CODIGO_ESTACION, Set.of(), 101));
+        consultas.add(new Consulta("SismografoDAO.findAll", SismografoDAO.SQL_FIND_ALL, Set.of("SISMOGRAFOS")));
+        // Claves existentes que carga la importación CSV, una vez por corrida
+        consultas.add(new Consulta("SismografoDAO.findNumerosSerie", SismografoDAO.SQL_FIND_NUMEROS_SERIE,
+                Set.of("SISMOGRAFOS")));
+        consultas.add(new Consulta("SismografoDAO.findEstacionesConSismografo",
+                SismografoDAO.SQL_FIND_ESTACIONES_CON_SISMOGRAFO, Set.of("SISMOGRAFOS")));
+        consultas.add(new Consulta("EstacionDAO.findIdsPorCodigo", EstacionDAO.SQL_FIND_IDS_POR_CODIGO,
+                Set.of("ESTACIONES")));
+        consultas.add(new Consulta("ImportacionDAO.findPuntoControl", ImportacionDAO.SQL_FIND_PUNTO_CONTROL,
+                Set.of(), ImportacionDAO.ESTACIONES, "/tmp/estaciones.csv"));
+        consultas.add(new Consulta("HistorialEstadoDAO.findEstadoEn", HistorialEstadoDAO.SQL_ESTADO_EN, Set.of(),
+                1, ahora));
+        consultas.add(new Consulta("HistorialEstadoDAO.streamAll", HistorialEstadoDAO.SQL_FIND_ALL,
+                Set.of("CAMBIOS_ESTADO_SISMOGRAFO")));
+        Timestamp haceUnMes = Timestamp.valueOf(LocalDateTime.now().minusDays(30));
+        consultas.add(new Consulta("HistorialEstadoDAO.findTransiciones[primera]",
+                HistorialEstadoDAO.SQL_TRANSICIONES, Set.of(), 1, haceUnMes, ahora, 51));
+        consultas.add(new Consulta("HistorialEstadoDAO.findTransiciones[siguiente]",
+                HistorialEstadoDAO.SQL_TRANSICIONES_SIGUIENTE, Set.of(), 1, haceUnMes, haceUnMes, 1000, ahora, 51));
+        consultas.add(new Consulta("HistorialEstadoDAO.findRegistradasDesde[primera]",
+                HistorialEstadoDAO.SQL_REGISTRADAS_DESDE, Set.of(), haceUnMes, 1001));
+        consultas.add(new Consulta("HistorialEstadoDAO.findRegistradasDesde[siguiente]",
+                HistorialEstadoDAO.SQL_REGISTRADAS_DESDE_SIGUIENTE, Set.of(), haceUnMes, haceUnMes, 1000, 1001));
+        consultas.add(new Consulta("NotificacionDAO.reservarPendientes", NotificacionDAO.SQL_FIND_PENDIENTES,
+                Set.of(), ahora, 100));
+        consultas.add(new Consulta("NotificacionDAO.liberarVencidas", NotificacionDAO.SQL_LIBERAR_VENCIDAS,
+                Set.of(), ahora));
+        return consultas;
+    }
+
+    /**
+     * Registra las tres consultas de un listado paginado de órdenes
+     * (primera página, siguientes y órdenes sin fecha de finalización).
+     */
+    private static void agregarPaginadas(List<Consulta> consultas, String nombre, String[] sql, Object... filtro) {
+        Timestamp fecha = Timestamp.valueOf(LocalDateTime.now().minusDays(30));
+        // Sin filtro, la primera página lee el índice de finalización en
+        // orden desde el principio y corta en el LIMIT ("index sorted"): H2
+        // lo informa como índice sin condición aunque no recorra la tabla
+        Set<String> primera = filtro.length == 0 ? Set.of("ORDENES_INSPECCION") : Set.of();
+        consultas.add(new Consulta(nombre + "[primera]", sql[OrdenInspeccionDAO.PRIMERA], primera,
+                parametros(filtro, 51)));
+        consultas.add(new Consulta(nombre + "[siguiente]", sql[OrdenInspeccionDAO.SIGUIENTE], Set.of(),
+                parametros(filtro, fecha, fecha, 1000, 51)));
+        consultas.add(new Consulta(nombre + "[sin fecha]", sql[OrdenInspeccionDAO.SIN_FECHA], Set.of(),
+                parametros(filtro, 0, 51)));
+    }
+
+    private static Object[] parametros(Object[] filtro, Object... resto) {
+        Object[] todos = new Object[filtro.length + resto.length];
+        System.arraycopy(filtro, 0, todos, 0, filtro.length);
+        System.arraycopy(resto, 0, todos, filtro.length, resto.length);
+        return todos;
+    }
+
+    /**
+     * Ejecuta EXPLAIN sobre cada consulta registrada.
+     *
+     * @return descripción de cada consulta que recorre una tabla no
+     *         permitida o cuyo plan no se pudo obtener; vacía si todo usa índices
+     * @throws SQLException si no se puede obtener una conexión
+     */
+    public static List<String> verificar() throws SQLException {
+        List<String> fallas = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            for (Consulta consulta : consultas()) {
+                String plan;
+                try {
+                    plan = explicar(conn, consulta);
+                } catch (SQLException e) {
+                    fallas.add(consulta.nombre + ": no se pudo obtener el plan (" + e.getMessage() + ")");
+                    continue;
+                }
+                String conductora = tablaConductora(plan);
+                for (String tabla : tablasRecorridas(plan)) {
+                    if (!tabla.equals(conductora) || !consulta.recorridosPermitidos.contains(tabla)) {
+                        fallas.add(consulta.nombre + ": recorre completa la tabla " + tabla + "\n" + plan);
+                    }
+                }
+            }
+        }
+        return fallas;
+    }
+
+    /**
+     * Devuelve el plan de ejecución de H2 para la consulta.
+     */
+    public static String explicar(Connection conn, Consulta consulta) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + consulta.sql)) {
+            for (int i = 0; i < consulta.parametros.length; i++) {
+                pstmt.setObject(i + 1, consulta.parametros[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    /**
+     * Devuelve la primera tabla que lee el plan, o null si no lee ninguna.
+     */
+    static String tablaConductora(String plan) {
+        Matcher tabla = TABLA.matcher(plan);
+        return tabla.find() ? tabla.group(1) : null;
+    }
+
+    /**
+     * Analiza el plan y devuelve las tablas a las que se accede sin
+     * condición de índice.
+     */
+    static List<String> tablasRecorridas(String plan) {
+        List<String> recorridas = new ArrayList<>();
+        String tablaActual = null;
+        for (String linea : plan.split("\n")) {
+            Matcher tabla = TABLA.matcher(linea);
+            if (tabla.find()) {
+                tablaActual = tabla.group(1);
+                continue;
+            }
+            Matcher acceso = ACCESO.matcher(linea);
+            if (acceso.matches() && tablaActual != null) {
+                boolean tableScan = acceso.group(1).endsWith(".tableScan");
+                boolean indiceSinCondicion = acceso.group(2) == null;
+                if (tableScan || indiceSinCondicion) {
+                    recorridas.add(tablaActual);
+                }
+                tablaActual = null;
+            }
+        }
+        return recorridas;
+    }
+}
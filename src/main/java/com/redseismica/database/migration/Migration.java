@@ -0,0 +1,100 @@
+package com.redseismica.database.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Paso versionado del esquema de la base de datos. Cada migración tiene un
+ * número de versión único, una descripción y una suma de verificación que
+ * permite detectar si una migración ya aplicada fue modificada después.
+ *
+ * Las migraciones SQL calculan la suma a partir de sus sentencias; las
+ * migraciones en Java la calculan a partir de una revisión declarada, que
+ * debe cambiarse si cambia lo que hace el paso.
+ */
+public class Migration {
+
+    /**
+     * Acción que aplica la migración sobre una conexión dentro de una
+     * transacción abierta por el {@link SchemaMigrator}. Como el DDL de H2
+     * confirma esa transacción, la acción debe poder repetirse sin error
+     * si falla a mitad de camino.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final String checksum;
+    private final Step step;
+
+    private Migration(int version, String description, String checksum, Step step) {
+        this.version = version;
+        this.description = description;
+        this.checksum = checksum;
+        this.step = step;
+    }
+
+    /**
+     * Crea una migración formada por sentencias SQL que se ejecutan en orden.
+     */
+    public static Migration sql(int version, String description, String... statements) {
+        List<String> sentencias = List.of(statements);
+        StringBuilder normalizado = new StringBuilder();
+        for (String sentencia : sentencias) {
+            normalizado.append(sentencia.trim().replaceAll("\\s+", " ")).append(';');
+        }
+        return new Migration(version, description, checksumOf(normalizado.toString()), conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sentencia : sentencias) {
+                    stmt.execute(sentencia);
+                }
+            }
+        });
+    }
+
+    /**
+     * Crea una migración implementada en Java. La revisión forma parte de la
+     * suma de verificación.
+     */
+    public static Migration java(int version, String description, String revision, Step step) {
+        return new Migration(version, description, checksumOf(description + "#" + revision), step);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    void apply(Connection conn) throws SQLException {
+        step.apply(conn);
+    }
+
+    /**
+     * Devuelve los primeros 16 dígitos hexadecimales del SHA-256 del texto.
+     */
+    static String checksumOf(String texto) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(texto.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.redseismica.database.migration;
+
+import com.redseismica.database.DataLoader;
+
+import java.util.List;
+
+/**
+ * Catálogo ordenado de las migraciones del esquema. Para cambiar el
+ * esquema se agrega una migración nueva al final con la versión siguiente;
+ * las migraciones ya publicadas no deben modificarse, porque el
+ * {@link SchemaMigrator} lo detecta por su suma de verificación.
+ *
+ * Cada migración tiene que poder repetirse sin error: el DDL de H2 no es
+ * transaccional y una migración que falla a mitad de camino se vuelve a
+ * ejecutar entera en el arranque siguiente.
+ */
+public class SchemaMigrations {
+
+    /**
+     * Devuelve todas las migraciones ordenadas por versión.
+     */
+    public static List<Migration> all() {
+        return List.of(
+            // V1: tablas iniciales. Se usa IF NOT EXISTS para adoptar bases
+            // creadas antes de existir el versionado del esquema.
+            Migration.sql(1, "Esquema inicial",
+                // Tabla de Roles
+                """
+                CREATE TABLE IF NOT EXISTS roles (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    nombre VARCHAR(100) NOT NULL UNIQUE
+                )
+                """,
+
+                // Tabla de Empleados
+                """
+                CREATE TABLE IF NOT EXISTS empleados (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    apellido VARCHAR(100) NOT NULL,
+                    mail VARCHAR(150) NOT NULL,
+                    nombre VARCHAR(100) NOT NULL,
+                    telefono VARCHAR(20),
+                    rol_id INT NOT NULL,
+                    FOREIGN KEY (rol_id) REFERENCES roles(id)
+                )
+                """,
+
+                // Tabla de Usuarios
+                """
+                CREATE TABLE IF NOT EXISTS usuarios (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    password VARCHAR(100) NOT NULL,
+                    nombreUsuario VARCHAR(50) NOT NULL UNIQUE,
+                    empleado_id INT NOT NULL,
+                    FOREIGN KEY (empleado_id) REFERENCES empleados(id)
+                )
+                """,
+
+                // Tabla de Estaciones Sismológicas
+                """
+                CREATE TABLE IF NOT EXISTS estaciones (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    codigo INT NOT NULL UNIQUE,
+                    nombre VARCHAR(150) NOT NULL,
+                    latitud DOUBLE NOT NULL,
+                    longitud DOUBLE NOT NULL
+                )
+                """,
+
+                // Tabla de Sismógrafos
+                """
+                CREATE TABLE IF NOT EXISTS sismografos (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    numero_serie INT NOT NULL UNIQUE,
+                    fecha_instalacion TIMESTAMP NOT NULL,
+                    modelo INT NOT NULL,
+                    estado_actual VARCHAR(50) NOT NULL,
+                    fecha_hora_estado TIMESTAMP NOT NULL,
+                    estacion_id INT,
+                    FOREIGN KEY (estacion_id) REFERENCES estaciones(id)
+                )
+                """,
+
+                // Tabla de Órdenes de Inspección
+                """
+                CREATE TABLE IF NOT EXISTS ordenes_inspeccion (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    numero_orden INT NOT NULL UNIQUE,
+                    fecha_hora_emision TIMESTAMP NOT NULL,
+                    fecha_hora_finalizacion TIMESTAMP,
+                    fecha_hora_cierre TIMESTAMP,
+                    estado VARCHAR(50) NOT NULL,
+                    observacion_cierre TEXT,
+                    estacion_id INT NOT NULL,
+                    responsable_id INT NOT NULL,
+                    FOREIGN KEY (estacion_id) REFERENCES estaciones(id),
+                    FOREIGN KEY (responsable_id) REFERENCES empleados(id)
+                )
+                """,
+
+                // Tabla de Motivos Tipo
+                """
+                CREATE TABLE IF NOT EXISTS motivos_tipo (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    descripcion VARCHAR(200) NOT NULL UNIQUE
+                )
+                """,
+
+                // Tabla de Motivos Fuera de Servicio
+                """
+                CREATE TABLE IF NOT EXISTS motivos_fuera_servicio (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    motivo_tipo_id INT NOT NULL,
+                    comentario TEXT,
+                    orden_id INT NOT NULL,
+                    FOREIGN KEY (motivo_tipo_id) REFERENCES motivos_tipo(id),
+                    FOREIGN KEY (orden_id) REFERENCES ordenes_inspeccion(id)
+                )
+                """,
+
+                // Tabla de Cambios de Estado del Sismógrafo
+                """
+                CREATE TABLE IF NOT EXISTS cambios_estado_sismografo (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    sismografo_id INT NOT NULL,
+                    fecha_hora TIMESTAMP NOT NULL,
+                    estado VARCHAR(50) NOT NULL,
+                    observacion TEXT,
+                    empleado_id INT,
+                    FOREIGN KEY (sismografo_id) REFERENCES sismografos(id),
+                    FOREIGN KEY (empleado_id) REFERENCES empleados(id)
+                )
+                """),
+
+            // V2: índice para buscar las órdenes cerrables de un responsable
+            // sin recorrer todo el historial (ya ordenadas por finalización)
+            Migration.sql(2, "Índice de órdenes por responsable y estado",
+                """
+                CREATE INDEX IF NOT EXISTS idx_ordenes_responsable_estado
+                ON ordenes_inspeccion (responsable_id, estado, fecha_hora_finalizacion)
+                """),
+
+            // V3: datos iniciales de ejemplo (sólo en tablas vacías)
+            Migration.java(3, "Datos iniciales", "1", DataLoader::loadInitialData),
+
+            // V4: índices de las claves foráneas y columnas de estado más
+            // consultadas. ordenes_inspeccion.responsable_id ya queda cubierta
+            // por el índice compuesto de V2 (es su primera columna).
+            Migration.sql(4, "Índices de claves foráneas y estados",
+                """
+                CREATE INDEX IF NOT EXISTS idx_ordenes_estado
+                ON ordenes_inspeccion (estado)
+                """,
+                """
+                CREATE INDEX IF NOT EXISTS idx_sismografos_estacion
+                ON sismografos (estacion_id)
+                """,
+                """
+                CREATE INDEX IF NOT EXISTS idx_cambios_sismografo_fecha
+                ON cambios_estado_sismografo (sismografo_id, fecha_hora)
+                """),
+
+            // V5: catálogo de estados. Reemplaza la unión de los estados
+            // usados en órdenes, sismógrafos e historial; los códigos que ya
+            // existieran en la base y no sean los conocidos se incorporan.
+            Migration.sql(5, "Catálogo de estados",
+                """
+                CREATE TABLE IF NOT EXISTS estados (
+                    codigo VARCHAR(50) PRIMARY KEY,
+                    ambito VARCHAR(20) NOT NULL,
+                    nombre VARCHAR(100) NOT NULL
+                )
+                """,
+                """
+                MERGE INTO estados (codigo, ambito, nombre) KEY (codigo) VALUES
+                    ('CERRADA', 'ORDEN', 'Cerrada'),
+                    ('EN_CURSO', 'ORDEN', 'En curso'),
+                    ('COMPLETAMENTE_REALIZADA', 'ORDEN', 'Completamente Realizada'),
+                    ('Online', 'SISMOGRAFO', 'Online'),
+                    ('FueraDeServicio', 'SISMOGRAFO', 'Fuera de Servicio'),
+                    ('InhabilitadoPorInspeccion', 'SISMOGRAFO', 'Inhabilitado por inspección')
+                """,
+                """
+                INSERT INTO estados (codigo, ambito, nombre)
+                SELECT DISTINCT estado, 'ORDEN', estado FROM ordenes_inspeccion
+                WHERE estado IS NOT NULL AND estado NOT IN (SELECT codigo FROM estados)
+                """,
+                """
+                INSERT INTO estados (codigo, ambito, nombre)
+                SELECT DISTINCT estado_actual, 'SISMOGRAFO', estado_actual FROM sismografos
+                WHERE estado_actual IS NOT NULL AND estado_actual NOT IN (SELECT codigo FROM estados)
+                """),
+
+            // V6: empleados por rol (destinatarios de notificaciones)
+            Migration.sql(6, "Índice de empleados por rol",
+                """
+                CREATE INDEX IF NOT EXISTS idx_empleados_rol
+                ON empleados (rol_id)
+                """),
+
+            // V7: bandeja de salida de notificaciones. Se escribe en la misma
+            // transacción que el cierre de la orden y la vacía en segundo
+            // plano el despachador de notificaciones.
+            Migration.sql(7, "Bandeja de salida de notificaciones",
+                """
+                CREATE TABLE IF NOT EXISTS notificaciones_pendientes (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    destinatario VARCHAR(150) NOT NULL,
+                    asunto VARCHAR(200) NOT NULL,
+                    cuerpo TEXT NOT NULL,
+                    estado VARCHAR(20) NOT NULL,
+                    intentos INT DEFAULT 0 NOT NULL,
+                    creada_en TIMESTAMP NOT NULL,
+                    proximo_intento TIMESTAMP NOT NULL,
+                    enviada_en TIMESTAMP,
+                    ultimo_error VARCHAR(500)
+                )
+                """,
+                """
+                CREATE INDEX IF NOT EXISTS idx_notificaciones_estado_proximo
+                ON notificaciones_pendientes (estado, proximo_intento)
+                """),
+
+            // V8: listados paginados de órdenes, que buscan a partir de la
+            // última (fecha_hora_finalizacion, id) leída
+            Migration.sql(8, "Índices de paginación de órdenes",
+                """
+                CREATE INDEX IF NOT EXISTS idx_ordenes_finalizacion
+                ON ordenes_inspeccion (fecha_hora_finalizacion, id)
+                """,
+                """
+                CREATE INDEX IF NOT EXISTS idx_ordenes_responsable_finalizacion
+                ON ordenes_inspeccion (responsable_id, fecha_hora_finalizacion, id)
+                """),
+
+            // V9: historial de estados. Los rangos se recorren en orden
+            // (fecha_hora, id) y el estado en un instante es la última fila
+            // anterior; H2 no recorre un índice al revés, así que para esa
+            // búsqueda hay un índice descendente. El de V4 queda cubierto.
+            Migration.sql(9, "Índices del historial de estados",
+                """
+                CREATE INDEX IF NOT EXISTS idx_historial_sismografo_fecha
+                ON cambios_estado_sismografo (sismografo_id, fecha_hora, id)
+                """,
+                """
+                CREATE INDEX IF NOT EXISTS idx_historial_sismografo_fecha_desc
+                ON cambios_estado_sismografo (sismografo_id, fecha_hora DESC, id DESC)
+                """,
+                """
+                DROP INDEX IF EXISTS idx_cambios_sismografo_fecha
+                """),
+
+            // V10: resumen de la flota, cantidad de sismógrafos por estación
+            // y estado. Lo mantiene SismografoDAO.updateEstado en la misma
+            // transacción que cada cambio de estado; la estación 0 es el
+            // total de la red. Se puebla con el estado actual de la flota y
+            // con filas en 0 para los estados del catálogo sin sismógrafos.
+            Migration.sql(10, "Resumen de estados de la flota",
+                """
+                CREATE TABLE IF NOT EXISTS resumen_estados_flota (
+                    estacion_id INT NOT NULL,
+                    estado VARCHAR(50) NOT NULL,
+                    cantidad INT NOT NULL,
+                    PRIMARY KEY (estacion_id, estado)
+                )
+                """,
+                """
+                DELETE FROM resumen_estados_flota
+                """,
+                """
+                INSERT INTO resumen_estados_flota (estacion_id, estado, cantidad)
+                SELECT 0, estado_actual, COUNT(*) FROM sismografos GROUP BY estado_actual
+                """,
+                """
+                INSERT INTO resumen_estados_flota (estacion_id, estado, cantidad)
+                SELECT estacion_id, estado_actual, COUNT(*) FROM sismografos
+                WHERE estacion_id IS NOT NULL GROUP BY estacion_id, estado_actual
+                """,
+                """
+                INSERT INTO resumen_estados_flota (estacion_id, estado, cantidad)
+                SELECT k.estacion_id, es.codigo, 0
+                FROM (SELECT 0 AS estacion_id UNION SELECT DISTINCT estacion_id FROM sismografos
+                      WHERE estacion_id IS NOT NULL) k
+                CROSS JOIN estados es
+                WHERE es.ambito = 'SISMOGRAFO'
+                  AND NOT EXISTS (SELECT 1 FROM resumen_estados_flota r
+                                  WHERE r.estacion_id = k.estacion_id AND r.estado = es.codigo)
+                """),
+
+            // V11: punto de control de las importaciones CSV. Se actualiza en
+            // la misma transacción que cada tramo importado, así que una
+            // importación interrumpida se retoma sin repetir ni saltear filas.
+            Migration.sql(11, "Puntos de control de importaciones",
+                """
+                CREATE TABLE IF NOT EXISTS importaciones (
+                    tipo VARCHAR(20) NOT NULL,
+                    archivo VARCHAR(500) NOT NULL,
+                    registros BIGINT NOT NULL,
+                    importados BIGINT NOT NULL,
+                    con_error BIGINT NOT NULL,
+                    actualizada_en TIMESTAMP NOT NULL,
+                    PRIMARY KEY (tipo, archivo)
+                )
+                """),
+
+            // V12: órdenes por estación, para los joins de estaciones con
+            // órdenes sin depender del índice implícito de la clave foránea
+            Migration.sql(12, "Índice de órdenes por estación",
+                """
+                CREATE INDEX IF NOT EXISTS idx_ordenes_estacion
+                ON ordenes_inspeccion (estacion_id)
+                """),
+
+            // V13: momento en que el despachador reservó cada notificación,
+            // para liberar las que quedan ENVIANDO más de lo debido
+            Migration.sql(13, "Reserva de notificaciones",
+                """
+                ALTER TABLE notificaciones_pendientes
+                ADD COLUMN IF NOT EXISTS reservada_en TIMESTAMP
+                """),
+
+            // V14: historial de toda la red en orden (fecha_hora, id), que el
+            // motor de disponibilidad lee a partir de su última lectura
+            Migration.sql(14, "Índice del historial por fecha",
+                """
+                CREATE INDEX IF NOT EXISTS idx_historial_fecha
+                ON cambios_estado_sismografo (fecha_hora, id)
+                """)
+        );
+    }
+}
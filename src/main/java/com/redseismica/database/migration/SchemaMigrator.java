@@ -0,0 +1,198 @@
+package com.redseismica.database.migration;
+
+import com.redseismica.database.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lleva el esquema de la base de datos a la última versión conocida. Las
+ * migraciones aplicadas se registran en la tabla {@code schema_version},
+ * una fila por versión, junto con una suma de verificación acumulada que
+ * encadena la de todas las migraciones hasta esa versión.
+ *
+ * En un arranque en caliente (base ya actualizada) sólo se lee la última
+ * fila de {@code schema_version}: si su versión y su suma acumulada
+ * coinciden con las esperadas no se ejecuta ninguna otra sentencia, por lo
+ * que el arranque no depende del tamaño de las tablas.
+ *
+ * En H2 cada sentencia DDL confirma la transacción en curso, así que una
+ * migración con DDL que falla a mitad de camino no se revierte: queda
+ * aplicada en parte y sin su fila en {@code schema_version}. En el
+ * arranque siguiente se vuelve a ejecutar completa, por lo que todas las
+ * migraciones deben poder repetirse sin error ({@code IF NOT EXISTS},
+ * {@code IF EXISTS}, {@code MERGE}, inserciones que saltean las filas ya
+ * existentes).
+ */
+public class SchemaMigrator {
+
+    /**
+     * SQLState de "tabla o vista inexistente": 42S02 es el estándar y H2 usa
+     * además 42S03/42S04 cuando puede sugerir otro nombre o la base está vacía.
+     */
+    private static final Set<String> TABLA_INEXISTENTE = Set.of("42S02", "42S03", "42S04");
+
+    /**
+     * Aplica las migraciones del catálogo {@link SchemaMigrations}.
+     *
+     * @throws SQLException si una migración falla o si una ya aplicada fue modificada
+     */
+    public static void migrate() throws SQLException {
+        migrate(SchemaMigrations.all());
+    }
+
+    /**
+     * Aplica, en orden, las migraciones cuya versión sea mayor a la
+     * registrada en la base. Cada una corre en una transacción que incluye
+     * su fila de {@code schema_version}; sólo se revierte por completo si
+     * no tiene DDL (ver la descripción de la clase).
+     *
+     * @param migrations migraciones ordenadas por versión ascendente
+     * @throws SQLException si una migración falla o si una ya aplicada fue modificada
+     */
+    public static void migrate(List<Migration> migrations) throws SQLException {
+        String[] acumuladas = cumulativeChecksums(migrations);
+        int objetivo = migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            int actual = 0;
+            String sumaActual = null;
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT version, checksum FROM schema_version ORDER BY version DESC LIMIT 1");
+                 ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    actual = rs.getInt(1);
+                    sumaActual = rs.getString(2);
+                }
+            } catch (SQLException e) {
+                if (!TABLA_INEXISTENTE.contains(e.getSQLState())) {
+                    throw e;
+                }
+                createVersionTable(conn);
+            }
+
+            if (actual > objetivo) {
+                throw new SQLException("La base de datos está en la versión " + actual
+                        + " pero la aplicación sólo conoce hasta la " + objetivo);
+            }
+            if (actual > 0) {
+                int indice = indexOf(migrations, actual);
+                if (indice < 0 || !acumuladas[indice].equals(sumaActual)) {
+                    throw new SQLException(describeMismatch(conn, migrations));
+                }
+            }
+            if (actual == objetivo) {
+                System.out.println("✓ Esquema al día (versión " + actual + ")");
+                return;
+            }
+
+            for (int i = 0; i < migrations.size(); i++) {
+                Migration migration = migrations.get(i);
+                if (migration.getVersion() > actual) {
+                    apply(conn, migration, acumuladas[i]);
+                }
+            }
+            System.out.println("✓ Esquema migrado de la versión " + actual + " a la " + objetivo);
+        }
+    }
+
+    private static void createVersionTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INT PRIMARY KEY,
+                    descripcion VARCHAR(200) NOT NULL,
+                    checksum VARCHAR(16) NOT NULL,
+                    aplicada_en TIMESTAMP NOT NULL,
+                    duracion_ms BIGINT NOT NULL
+                )
+            """);
+        }
+    }
+
+    private static void apply(Connection conn, Migration migration, String checksumAcumulado) throws SQLException {
+        long inicio = System.currentTimeMillis();
+        conn.setAutoCommit(false);
+        try {
+            migration.apply(conn);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, descripcion, checksum, aplicada_en, duracion_ms) VALUES (?, ?, ?, ?, ?)")) {
+                pstmt.setInt(1, migration.getVersion());
+                pstmt.setString(2, migration.getDescription());
+                pstmt.setString(3, checksumAcumulado);
+                pstmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                pstmt.setLong(5, System.currentTimeMillis() - inicio);
+                pstmt.executeUpdate();
+            }
+            conn.commit();
+            System.out.println("  - Migración " + migration.getVersion() + " aplicada: " + migration.getDescription());
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Error al aplicar la migración " + migration.getVersion()
+                    + " (" + migration.getDescription() + "): " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Calcula para cada migración la suma encadenada de todas las
+     * anteriores más la propia.
+     */
+    private static String[] cumulativeChecksums(List<Migration> migrations) {
+        String[] acumuladas = new String[migrations.size()];
+        String anterior = "";
+        int versionAnterior = 0;
+        for (int i = 0; i < migrations.size(); i++) {
+            Migration migration = migrations.get(i);
+            if (migration.getVersion() <= versionAnterior) {
+                throw new IllegalStateException("Las migraciones deben tener versiones crecientes: "
+                        + migration.getVersion() + " después de " + versionAnterior);
+            }
+            anterior = Migration.checksumOf(anterior + migration.getVersion() + ":" + migration.getChecksum());
+            acumuladas[i] = anterior;
+            versionAnterior = migration.getVersion();
+        }
+        return acumuladas;
+    }
+
+    private static int indexOf(List<Migration> migrations, int version) {
+        for (int i = 0; i < migrations.size(); i++) {
+            if (migrations.get(i).getVersion() == version) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Recorre el historial completo (sólo cuando ya se detectó una
+     * diferencia) para informar la primera migración que no coincide.
+     */
+    private static String describeMismatch(Connection conn, List<Migration> migrations) throws SQLException {
+        String[] acumuladas = cumulativeChecksums(migrations);
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT version, checksum FROM schema_version ORDER BY version");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                int version = rs.getInt(1);
+                int indice = indexOf(migrations, version);
+                if (indice < 0) {
+                    return "La migración " + version + " aplicada en la base no existe en la aplicación";
+                }
+                if (!acumuladas[indice].equals(rs.getString(2))) {
+                    return "La migración " + version + " (" + migrations.get(indice).getDescription()
+                            + ") fue modificada después de aplicarse";
+                }
+            }
+        }
+        return "El historial de schema_version no coincide con las migraciones de la aplicación";
+    }
+}
@@ -0,0 +1,41 @@
+package com.redseismica.disponibilidad;
+
+/**
+ * Disponibilidad de un sismógrafo, una estación o la red en una ventana de
+ * tiempo: los segundos-sismógrafo online sobre los segundos-sismógrafo con
+ * estado conocido (desde el primer cambio de estado registrado de cada uno).
+ */
+public final class Disponibilidad {
+    private final long segundosOnline;
+    private final long segundosObservados;
+
+    Disponibilidad(long segundosOnline, long segundosObservados) {
+        this.segundosOnline = segundosOnline;
+        this.segundosObservados = segundosObservados;
+    }
+
+    public long getSegundosOnline() {
+        return segundosOnline;
+    }
+
+    public long getSegundosObservados() {
+        return segundosObservados;
+    }
+
+    public boolean tieneDatos() {
+        return segundosObservados > 0;
+    }
+
+    /**
+     * Porcentaje del tiempo observado que estuvo online, o NaN si en la
+     * ventana no hay tiempo observado.
+     */
+    public double getPorcentaje() {
+        return tieneDatos() ? 100.0 * segundosOnline / segundosObservados : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return tieneDatos() ? String.format("%.2f%%", getPorcentaje()) : "sin datos";
+    }
+}
@@ -0,0 +1,376 @@
+package com.redseismica.disponibilidad;
+
+import com.redseismica.database.dao.HistorialEstadoDAO;
+import com.redseismica.database.dao.LecturaFallidaException;
+import com.redseismica.database.dao.Pagina;
+import com.redseismica.database.dao.SismografoDAO;
+import com.redseismica.model.Sismografo;
+import com.redseismica.states.EstadoSismografo;
+import com.redseismica.states.Online;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Calcula la disponibilidad (porcentaje del tiempo online) de cada
+ * sismógrafo, de cada estación y de la red en ventanas arbitrarias.
+ *
+ * Por cada sismógrafo, estación y para la red se mantienen dos
+ * {@link SerieEscalonada}: cuántos sismógrafos están online y cuántos
+ * tienen estado conocido en cada instante, con sus integrales acumuladas.
+ * La disponibilidad de una ventana sale de integrar ambas series, con
+ * búsquedas binarias, así que consultar la red cuesta lo mismo que un
+ * sismógrafo y no depende del largo del historial.
+ *
+ * El motor se carga una vez desde {@code cambios_estado_sismografo}
+ * ({@link #cargar()}) y después {@link #actualizar()} le agrega las
+ * transiciones registradas desde la última lectura, en O(1) cada una
+ * cuando llegan en orden cronológico. Sólo se alimenta de filas
+ * confirmadas: nunca cuenta una transición que se deshizo ni pierde una
+ * porque otro componente se haya atrasado.
+ *
+ * Cada lectura vuelve a pedir las transiciones con fecha desde
+ * {@code redseismica.disponibilidad.margenMs} (300000) antes del inicio de
+ * la anterior, porque una transición se confirma un rato después de la
+ * fecha que lleva; las ya registradas se reconocen por su ID. Una
+ * transición confirmada más tarde que ese margen no se cuenta hasta volver
+ * a cargar el motor.
+ *
+ * Las fechas se toman como hora local sin zona: la duración de los
+ * intervalos no contempla cambios de horario.
+ */
+public class MotorDisponibilidad {
+
+    private static final long MARGEN_MS = Long.getLong("redseismica.disponibilidad.margenMs", 5 * 60_000L);
+    /** Transiciones leídas por consulta al actualizar. */
+    private static final int LOTE = 1000;
+
+    /** Series de un sismógrafo, una estación o la red. */
+    private static final class Series {
+        final SerieEscalonada online;
+        final SerieEscalonada observados;
+
+        Series(SerieEscalonada online, SerieEscalonada observados) {
+            this.online = online;
+            this.observados = observados;
+        }
+
+        Series() {
+            this(new SerieEscalonada(), new SerieEscalonada());
+        }
+
+        void sumar(long tiempo, int deltaOnline, int deltaObservados) {
+            if (deltaOnline != 0) {
+                online.sumar(tiempo, deltaOnline);
+            }
+            if (deltaObservados != 0) {
+                observados.sumar(tiempo, deltaObservados);
+            }
+        }
+
+        Disponibilidad entre(long desde, long hasta) {
+            return new Disponibilidad(online.integral(desde, hasta), observados.integral(desde, hasta));
+        }
+    }
+
+    /**
+     * Cambios de una serie agregada durante la carga inicial, que llegan
+     * ordenados por sismógrafo y no por fecha: se acumulan empaquetados y
+     * se ordenan una sola vez al final.
+     */
+    private static final class CambiosPendientes {
+        long[] online = new long[16];
+        int cantidadOnline;
+        long[] observados = new long[16];
+        int cantidadObservados;
+
+        void sumar(long tiempo, int deltaOnline, int deltaObservados) {
+            if (deltaOnline != 0) {
+                if (cantidadOnline == online.length) {
+                    online = Arrays.copyOf(online, online.length * 2);
+                }
+                online[cantidadOnline++] = SerieEscalonada.empaquetar(tiempo, deltaOnline);
+            }
+            if (deltaObservados != 0) {
+                if (cantidadObservados == observados.length) {
+                    observados = Arrays.copyOf(observados, observados.length * 2);
+                }
+                observados[cantidadObservados++] = SerieEscalonada.empaquetar(tiempo, deltaObservados);
+            }
+        }
+
+        Series construir() {
+            return new Series(SerieEscalonada.desdeCambios(online, cantidadOnline),
+                SerieEscalonada.desdeCambios(observados, cantidadObservados));
+        }
+    }
+
+    /** Último estado conocido de un sismógrafo. */
+    private static final class Seguimiento {
+        final Series series = new Series();
+        final Integer estacion;
+        EstadoSismografo estado;
+        long ultimo;
+
+        Seguimiento(Integer estacion) {
+            this.estacion = estacion;
+        }
+    }
+
+    private final Map<Integer, Integer> estacionDeSismografo;
+    private final Map<Integer, Seguimiento> sismografos = new HashMap<>();
+    private final Map<Integer, Series> estaciones = new HashMap<>();
+    private Series red = new Series();
+
+    // Sólo durante la carga inicial
+    private Map<Integer, CambiosPendientes> pendientesEstaciones;
+    private CambiosPendientes pendientesRed;
+
+    // IDs de las transiciones leídas dentro del margen, con su fecha en
+    // segundos: la próxima lectura las vuelve a traer y no deben sumarse dos veces
+    private final Map<Integer, Long> recientes = new HashMap<>();
+    // Inicio de la última lectura del historial; sólo con el lock de actualización
+    private LocalDateTime ultimaLectura;
+    private final Object actualizacion = new Object();
+
+    private long transiciones;
+    private long descartadas;
+
+    /**
+     * @param estacionDeSismografo código de la estación de cada sismógrafo;
+     *        los sismógrafos que no figuran sólo cuentan para la red
+     */
+    private MotorDisponibilidad(Map<Integer, Integer> estacionDeSismografo) {
+        this.estacionDeSismografo = new HashMap<>(estacionDeSismografo);
+    }
+
+    /**
+     * Crea un motor con todo el historial de estados de la base.
+     *
+     * @throws SQLException si falla la lectura
+     */
+    public static MotorDisponibilidad cargar() throws SQLException {
+        Map<Integer, Integer> estaciones = new HashMap<>();
+        for (Sismografo sismografo : SismografoDAO.findAll()) {
+            if (sismografo.getEstacionSismologica() != null) {
+                estaciones.put(sismografo.getIdSismografo(), sismografo.getEstacionSismologica().getCodigoEstacion());
+            }
+        }
+        MotorDisponibilidad motor = new MotorDisponibilidad(estaciones);
+        LocalDateTime inicio = LocalDateTime.now();
+        long ventana = segundos(antesDelMargen(inicio));
+        motor.ultimaLectura = inicio;
+        motor.iniciarCarga();
+        try (Stream<HistorialEstadoDAO.Transicion> historial = HistorialEstadoDAO.streamAll()) {
+            historial.forEach(t -> motor.aplicar(t, ventana));
+        } catch (LecturaFallidaException e) {
+            throw e.getCause();
+        } finally {
+            motor.terminarCarga();
+        }
+        return motor;
+    }
+
+    private synchronized void iniciarCarga() {
+        pendientesEstaciones = new HashMap<>();
+        pendientesRed = new CambiosPendientes();
+    }
+
+    private synchronized void terminarCarga() {
+        for (Map.Entry<Integer, CambiosPendientes> estacion : pendientesEstaciones.entrySet()) {
+            estaciones.put(estacion.getKey(), estacion.getValue().construir());
+        }
+        red = pendientesRed.construir();
+        pendientesEstaciones = null;
+        pendientesRed = null;
+    }
+
+    /**
+     * Agrega las transiciones confirmadas desde la última lectura del
+     * historial. Se puede llamar periódicamente o antes de cada consulta;
+     * el costo depende de las transiciones nuevas y de las que caen en el
+     * margen, no del largo del historial.
+     *
+     * @return cantidad de transiciones nuevas registradas
+     * @throws SQLException si falla la lectura; la próxima llamada vuelve
+     *         a leer desde el mismo punto
+     */
+    public int actualizar() throws SQLException {
+        synchronized (actualizacion) {
+            LocalDateTime inicio = LocalDateTime.now();
+            LocalDateTime desde = antesDelMargen(ultimaLectura);
+            long ventana = segundos(desde);
+            int nuevas = 0;
+            HistorialEstadoDAO.Cursor cursor = null;
+            Pagina<HistorialEstadoDAO.Transicion, HistorialEstadoDAO.Cursor> pagina;
+            do {
+                pagina = HistorialEstadoDAO.findRegistradasDesde(desde, cursor, LOTE);
+                nuevas += aplicar(pagina.getElementos(), ventana);
+                cursor = pagina.getSiguiente();
+            } while (pagina.hayMas());
+            ultimaLectura = inicio;
+            olvidarAnteriores(segundos(antesDelMargen(inicio)));
+            return nuevas;
+        }
+    }
+
+    private synchronized int aplicar(List<HistorialEstadoDAO.Transicion> leidas, long ventana) {
+        int nuevas = 0;
+        for (HistorialEstadoDAO.Transicion transicion : leidas) {
+            if (aplicar(transicion, ventana)) {
+                nuevas++;
+            }
+        }
+        return nuevas;
+    }
+
+    /**
+     * Registra una transición leída del historial, salvo que ya se haya
+     * registrado en una lectura anterior.
+     *
+     * @param ventana fecha (en segundos) a partir de la cual las
+     *        transiciones pueden volver a leerse
+     * @return false si ya se conocía o se descartó
+     */
+    private synchronized boolean aplicar(HistorialEstadoDAO.Transicion transicion, long ventana) {
+        long tiempo = segundos(transicion.getFechaHora());
+        if (tiempo >= ventana && recientes.putIfAbsent(transicion.getId(), tiempo) != null) {
+            return false;
+        }
+        return registrar(transicion.getSismografoId(), transicion.getEstado(), tiempo);
+    }
+
+    private synchronized void olvidarAnteriores(long ventana) {
+        recientes.values().removeIf(tiempo -> tiempo < ventana);
+    }
+
+    /**
+     * Registra que el sismógrafo pasó al estado indicado. Las transiciones
+     * anteriores a la última conocida del sismógrafo se descartan.
+     *
+     * @return false si la transición se descartó
+     */
+    private boolean registrar(int sismografoId, EstadoSismografo estado, long tiempo) {
+        int online = estado.getCodigo() == Online.CODIGO ? 1 : 0;
+        Seguimiento seguimiento = sismografos.get(sismografoId);
+        int deltaOnline;
+        int deltaObservados;
+        if (seguimiento == null) {
+            seguimiento = new Seguimiento(estacionDeSismografo.get(sismografoId));
+            sismografos.put(sismografoId, seguimiento);
+            deltaOnline = online;
+            deltaObservados = 1;
+        } else if (tiempo < seguimiento.ultimo) {
+            descartadas++;
+            return false;
+        } else {
+            deltaOnline = online - (seguimiento.estado.getCodigo() == Online.CODIGO ? 1 : 0);
+            deltaObservados = 0;
+        }
+        seguimiento.estado = estado;
+        seguimiento.ultimo = tiempo;
+        transiciones++;
+
+        seguimiento.series.sumar(tiempo, deltaOnline, deltaObservados);
+        if (pendientesRed != null) {
+            if (seguimiento.estacion != null) {
+                pendientesEstaciones.computeIfAbsent(seguimiento.estacion, e -> new CambiosPendientes())
+                    .sumar(tiempo, deltaOnline, deltaObservados);
+            }
+            pendientesRed.sumar(tiempo, deltaOnline, deltaObservados);
+        } else {
+            if (seguimiento.estacion != null) {
+                estaciones.computeIfAbsent(seguimiento.estacion, e -> new Series())
+                    .sumar(tiempo, deltaOnline, deltaObservados);
+            }
+            red.sumar(tiempo, deltaOnline, deltaObservados);
+        }
+        return true;
+    }
+
+    /**
+     * Disponibilidad de un sismógrafo en [desde, hasta). El tiempo
+     * posterior al momento de la consulta no se cuenta.
+     */
+    public synchronized Disponibilidad deSismografo(int sismografoId, LocalDateTime desde, LocalDateTime hasta) {
+        Seguimiento seguimiento = sismografos.get(sismografoId);
+        return seguimiento != null ? entre(seguimiento.series, desde, hasta) : new Disponibilidad(0, 0);
+    }
+
+    /**
+     * Disponibilidad conjunta de los sismógrafos de una estación en
+     * [desde, hasta).
+     *
+     * @param codigoEstacion código de la estación
+     */
+    public synchronized Disponibilidad deEstacion(int codigoEstacion, LocalDateTime desde, LocalDateTime hasta) {
+        Series series = estaciones.get(codigoEstacion);
+        return series != null ? entre(series, desde, hasta) : new Disponibilidad(0, 0);
+    }
+
+    /**
+     * Disponibilidad de toda la red en [desde, hasta).
+     */
+    public synchronized Disponibilidad deRed(LocalDateTime desde, LocalDateTime hasta) {
+        return entre(red, desde, hasta);
+    }
+
+    /**
+     * Disponibilidad de cada estación en [desde, hasta), por código.
+     */
+    public synchronized Map<Integer, Disponibilidad> porEstacion(LocalDateTime desde, LocalDateTime hasta) {
+        Map<Integer, Disponibilidad> disponibilidades = new TreeMap<>();
+        for (Map.Entry<Integer, Series> estacion : estaciones.entrySet()) {
+            disponibilidades.put(estacion.getKey(), entre(estacion.getValue(), desde, hasta));
+        }
+        return disponibilidades;
+    }
+
+    /**
+     * Disponibilidad de cada sismógrafo en [desde, hasta), por ID.
+     */
+    public synchronized Map<Integer, Disponibilidad> porSismografo(LocalDateTime desde, LocalDateTime hasta) {
+        Map<Integer, Disponibilidad> disponibilidades = new TreeMap<>();
+        for (Map.Entry<Integer, Seguimiento> sismografo : sismografos.entrySet()) {
+            disponibilidades.put(sismografo.getKey(), entre(sismografo.getValue().series, desde, hasta));
+        }
+        return disponibilidades;
+    }
+
+    private static Disponibilidad entre(Series series, LocalDateTime desde, LocalDateTime hasta) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return series.entre(segundos(desde), segundos(hasta.isAfter(ahora) ? ahora : hasta));
+    }
+
+    /** Fecha desde la cual se vuelve a leer el historial tras una lectura iniciada en {@code lectura}. */
+    private static LocalDateTime antesDelMargen(LocalDateTime lectura) {
+        return lectura.minusNanos(MARGEN_MS * 1_000_000L);
+    }
+
+    private static long segundos(LocalDateTime fechaHora) {
+        return fechaHora.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /** Transiciones registradas (incluida la carga inicial). */
+    public synchronized long getTransiciones() {
+        return transiciones;
+    }
+
+    /** Transiciones descartadas por ser anteriores a la última conocida. */
+    public synchronized long getDescartadas() {
+        return descartadas;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "MotorDisponibilidad{sismografos=" + sismografos.size() + ", estaciones=" + estaciones.size()
+            + ", transiciones=" + transiciones + ", descartadas=" + descartadas + "}";
+    }
+}
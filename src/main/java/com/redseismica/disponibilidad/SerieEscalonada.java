@@ -0,0 +1,145 @@
+package com.redseismica.disponibilidad;
+
+import java.util.Arrays;
+
+/**
+ * Función escalonada en el tiempo (por ejemplo, cuántos sismógrafos están
+ * online) con su integral acumulada. Se guarda como puntos ordenados
+ * {@code (tiempo, valor, acumulado)}: el valor rige desde su tiempo hasta
+ * el del punto siguiente y el acumulado es la integral desde el primer
+ * punto. Así la integral sobre cualquier ventana sale de dos búsquedas
+ * binarias, sin recorrer los puntos intermedios.
+ *
+ * Los tiempos son segundos. Sumar un cambio posterior o igual al último
+ * punto es O(1) amortizado; uno anterior obliga a corregir los puntos que
+ * le siguen.
+ */
+final class SerieEscalonada {
+
+    private long[] tiempos = new long[4];
+    private int[] valores = new int[4];
+    private long[] acumulados = new long[4];
+    private int cantidad;
+
+    /**
+     * Suma {@code delta} al valor de la serie desde el tiempo indicado en
+     * adelante.
+     */
+    void sumar(long tiempo, int delta) {
+        if (cantidad == 0 || tiempo > tiempos[cantidad - 1]) {
+            agregar(tiempo, delta);
+            return;
+        }
+        int posicion = ultimoHasta(tiempo);
+        if (posicion < 0 || tiempos[posicion] != tiempo) {
+            // Nuevo punto intermedio con el valor vigente en ese momento
+            posicion++;
+            insertar(posicion, tiempo, posicion > 0 ? valores[posicion - 1] : 0);
+        }
+        for (int i = posicion; i < cantidad; i++) {
+            valores[i] += delta;
+        }
+        for (int i = Math.max(posicion, 1); i < cantidad; i++) {
+            acumulados[i] = acumulados[i - 1] + (long) valores[i - 1] * (tiempos[i] - tiempos[i - 1]);
+        }
+    }
+
+    /**
+     * Carga de una vez una serie a partir de sus cambios. Cada cambio va
+     * empaquetado como {@code tiempo * 2 + (delta > 0 ? 1 : 0)}, con delta
+     * +1 o -1, para poder ordenarlos como {@code long} sin crear objetos.
+     */
+    static SerieEscalonada desdeCambios(long[] cambios, int cantidad) {
+        Arrays.sort(cambios, 0, cantidad);
+        SerieEscalonada serie = new SerieEscalonada();
+        for (int i = 0; i < cantidad; i++) {
+            long cambio = cambios[i];
+            serie.sumar(Math.floorDiv(cambio, 2), Math.floorMod(cambio, 2) == 1 ? 1 : -1);
+        }
+        return serie;
+    }
+
+    /** Empaqueta un cambio para {@link #desdeCambios}. */
+    static long empaquetar(long tiempo, int delta) {
+        return tiempo * 2 + (delta > 0 ? 1 : 0);
+    }
+
+    /**
+     * Valor de la serie en el instante indicado (0 antes del primer punto).
+     */
+    int valorEn(long tiempo) {
+        int posicion = ultimoHasta(tiempo);
+        return posicion < 0 ? 0 : valores[posicion];
+    }
+
+    /**
+     * Integral de la serie en [desde, hasta).
+     */
+    long integral(long desde, long hasta) {
+        return hasta <= desde ? 0 : acumuladoHasta(hasta) - acumuladoHasta(desde);
+    }
+
+    int getCantidadPuntos() {
+        return cantidad;
+    }
+
+    private long acumuladoHasta(long tiempo) {
+        int posicion = ultimoHasta(tiempo);
+        if (posicion < 0) {
+            return 0;
+        }
+        return acumulados[posicion] + (long) valores[posicion] * (tiempo - tiempos[posicion]);
+    }
+
+    /** Posición del último punto con tiempo menor o igual, o -1. */
+    private int ultimoHasta(long tiempo) {
+        int bajo = 0;
+        int alto = cantidad;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (tiempos[medio] > tiempo) {
+                alto = medio;
+            } else {
+                bajo = medio + 1;
+            }
+        }
+        return bajo - 1;
+    }
+
+    private void agregar(long tiempo, int delta) {
+        if (cantidad > 0 && tiempos[cantidad - 1] == tiempo) {
+            valores[cantidad - 1] += delta;
+            return;
+        }
+        crecer();
+        int anterior = cantidad - 1;
+        tiempos[cantidad] = tiempo;
+        valores[cantidad] = (anterior >= 0 ? valores[anterior] : 0) + delta;
+        acumulados[cantidad] = anterior >= 0
+            ? acumulados[anterior] + (long) valores[anterior] * (tiempo - tiempos[anterior])
+            : 0;
+        cantidad++;
+    }
+
+    private void insertar(int posicion, long tiempo, int valor) {
+        crecer();
+        System.arraycopy(tiempos, posicion, tiempos, posicion + 1, cantidad - posicion);
+        System.arraycopy(valores, posicion, valores, posicion + 1, cantidad - posicion);
+        System.arraycopy(acumulados, posicion, acumulados, posicion + 1, cantidad - posicion);
+        tiempos[posicion] = tiempo;
+        valores[posicion] = valor;
+        acumulados[posicion] = posicion > 0
+            ? acumulados[posicion - 1] + (long) valores[posicion - 1] * (tiempo - tiempos[posicion - 1])
+            : 0;
+        cantidad++;
+    }
+
+    private void crecer() {
+        if (cantidad == tiempos.length) {
+            int capacidad = tiempos.length * 2;
+            tiempos = Arrays.copyOf(tiempos, capacidad);
+            valores = Arrays.copyOf(valores, capacidad);
+            acumulados = Arrays.copyOf(acumulados, capacidad);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.redseismica.eventos;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bus de eventos en proceso para publicar cambios de estado de los
+ * sismógrafos y cierres de órdenes a los monitores del CCRS.
+ *
+ * Publicar no toma locks ni espera a los suscriptores: recorre la lista
+ * de suscripciones (copia inmutable) y encola el evento en la de cada
+ * suscriptor interesado, que lo procesa en un hilo del bus. Un suscriptor
+ * lento sólo se atrasa a sí mismo; su cola es acotada y aplica la
+ * política de {@link Suscripcion} (coalescencia y descarte del más antiguo).
+ */
+public class BusEventos {
+
+    /** Capacidad por defecto de la cola de cada suscriptor. */
+    public static final int CAPACIDAD_POR_DEFECTO = 256;
+
+    private static final BusEventos INSTANCIA = new BusEventos(
+            Integer.getInteger("redseismica.eventos.hilos", 2));
+
+    private final List<Suscripcion<?>> suscripciones = new CopyOnWriteArrayList<>();
+    private final ForkJoinPool ejecutor;
+    private final AtomicLong publicados = new AtomicLong();
+
+    /**
+     * Crea un bus independiente (la aplicación usa {@link #getInstancia()}).
+     *
+     * @param hilos hilos que entregan los eventos a los suscriptores
+     */
+    public BusEventos(int hilos) {
+        this.ejecutor = new ForkJoinPool(hilos, pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("bus-eventos-" + t.getPoolIndex());
+            t.setDaemon(true);
+            return t;
+        }, null, true);
+    }
+
+    /** Bus compartido por la aplicación. */
+    public static BusEventos getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Suscribe un manejador a los eventos del tipo indicado (y sus
+     * subtipos) con la capacidad de cola por defecto.
+     */
+    public <E extends Evento> Suscripcion<E> suscribir(Class<E> tipo, Consumer<? super E> manejador) {
+        return suscribir(tipo, manejador, CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Suscribe un manejador a los eventos del tipo indicado.
+     *
+     * @param capacidad eventos pendientes que puede acumular el suscriptor
+     */
+    public <E extends Evento> Suscripcion<E> suscribir(Class<E> tipo, Consumer<? super E> manejador, int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        Suscripcion<E> suscripcion = new Suscripcion<>(tipo, manejador, capacidad, ejecutor);
+        suscripciones.add(suscripcion);
+        return suscripcion;
+    }
+
+    /**
+     * Da de baja la suscripción.
+     */
+    public void desuscribir(Suscripcion<?> suscripcion) {
+        suscripcion.cancelar();
+        suscripciones.remove(suscripcion);
+    }
+
+    /**
+     * Publica el evento a todos los suscriptores de su tipo. Retorna de
+     * inmediato; la entrega es asíncrona.
+     *
+     * @return cantidad de suscriptores a los que se encoló el evento
+     */
+    public int publicar(Evento evento) {
+        publicados.incrementAndGet();
+        int destinatarios = 0;
+        for (Suscripcion<?> suscripcion : suscripciones) {
+            if (suscripcion.acepta(evento)) {
+                suscripcion.ofrecer(evento);
+                destinatarios++;
+            }
+        }
+        return destinatarios;
+    }
+
+    public int getCantidadSuscripciones() {
+        return suscripciones.size();
+    }
+
+    public long getPublicados() {
+        return publicados.get();
+    }
+}
@@ -0,0 +1,48 @@
+package com.redseismica.eventos;
+
+import com.redseismica.states.EstadoSismografo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Un sismógrafo pasó de un estado a otro. Se publica recién cuando la
+ * transición quedó confirmada en la base. Para un suscriptor lento sólo
+ * importa el último estado de cada sismógrafo, por lo que estos eventos se
+ * coalescen por sismógrafo.
+ */
+public class CambioEstadoSismografoEvento extends Evento {
+    private final int idSismografo;
+    private final EstadoSismografo estadoAnterior;
+    private final EstadoSismografo estadoNuevo;
+
+    public CambioEstadoSismografoEvento(int idSismografo, EstadoSismografo estadoAnterior,
+                                        EstadoSismografo estadoNuevo, LocalDateTime fechaHora) {
+        super(fechaHora);
+        this.idSismografo = idSismografo;
+        this.estadoAnterior = estadoAnterior;
+        this.estadoNuevo = estadoNuevo;
+    }
+
+    public int getIdSismografo() {
+        return idSismografo;
+    }
+
+    public EstadoSismografo getEstadoAnterior() {
+        return estadoAnterior;
+    }
+
+    public EstadoSismografo getEstadoNuevo() {
+        return estadoNuevo;
+    }
+
+    @Override
+    public Object getClaveCoalescencia() {
+        return "sismografo:" + idSismografo;
+    }
+
+    @Override
+    public String toString() {
+        return "Sismógrafo " + idSismografo + ": " + estadoAnterior.getNombreEstado()
+                + " → " + estadoNuevo.getNombreEstado() + " (" + getFechaHora() + ")";
+    }
+}
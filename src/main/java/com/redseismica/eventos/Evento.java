@@ -0,0 +1,28 @@
+package com.redseismica.eventos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado en el {@link BusEventos}. Los eventos son inmutables y
+ * se entregan a cada suscriptor en el orden en que se publicaron.
+ */
+public abstract class Evento {
+    private final LocalDateTime fechaHora;
+
+    protected Evento(LocalDateTime fechaHora) {
+        this.fechaHora = fechaHora;
+    }
+
+    public LocalDateTime getFechaHora() {
+        return fechaHora;
+    }
+
+    /**
+     * Clave de coalescencia: si un suscriptor lento todavía tiene pendiente
+     * un evento con la misma clave, el nuevo lo reemplaza (sólo interesa el
+     * último). {@code null} indica que el evento no se coalesce.
+     */
+    public Object getClaveCoalescencia() {
+        return null;
+    }
+}
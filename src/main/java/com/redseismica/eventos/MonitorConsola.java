@@ -0,0 +1,18 @@
+package com.redseismica.eventos;
+
+/**
+ * Monitor del CCRS que muestra por consola los eventos publicados. Sirve
+ * como suscriptor de referencia mientras no haya pantallas de monitoreo.
+ */
+public class MonitorConsola {
+
+    private MonitorConsola() {
+    }
+
+    /**
+     * Suscribe el monitor a todos los eventos del bus.
+     */
+    public static Suscripcion<Evento> suscribir(BusEventos bus) {
+        return bus.suscribir(Evento.class, evento -> System.out.println("[CCRS] " + evento));
+    }
+}
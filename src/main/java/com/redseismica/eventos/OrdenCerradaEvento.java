@@ -0,0 +1,46 @@
+package com.redseismica.eventos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Se cerró una orden de inspección (ya persistida) y su sismógrafo quedó
+ * fuera de servicio por los motivos indicados.
+ */
+public class OrdenCerradaEvento extends Evento {
+    private final int nroOrden;
+    private final int idSismografo;
+    private final String estacion;
+    private final List<String> motivos;
+
+    public OrdenCerradaEvento(int nroOrden, int idSismografo, String estacion,
+                              List<String> motivos, LocalDateTime fechaHora) {
+        super(fechaHora);
+        this.nroOrden = nroOrden;
+        this.idSismografo = idSismografo;
+        this.estacion = estacion;
+        this.motivos = List.copyOf(motivos);
+    }
+
+    public int getNroOrden() {
+        return nroOrden;
+    }
+
+    public int getIdSismografo() {
+        return idSismografo;
+    }
+
+    public String getEstacion() {
+        return estacion;
+    }
+
+    public List<String> getMotivos() {
+        return motivos;
+    }
+
+    @Override
+    public String toString() {
+        return "Orden " + nroOrden + " cerrada; sismógrafo " + idSismografo + " de " + estacion
+                + " fuera de servicio por " + motivos + " (" + getFechaHora() + ")";
+    }
+}
@@ -0,0 +1,164 @@
+package com.redseismica.eventos;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Suscripción de un manejador a un tipo de evento. Cada suscripción tiene
+ * su propia cola acotada y se drena en un hilo del bus, de a un evento por
+ * vez y en orden, sin bloquear a quien publica ni a los demás suscriptores.
+ *
+ * Cuando el suscriptor no da abasto:
+ * <ul>
+ *   <li>un evento con clave de coalescencia reemplaza al pendiente con la
+ *       misma clave (se entrega sólo el último);</li>
+ *   <li>si la cola llegó a su capacidad se descarta el evento pendiente más
+ *       antiguo.</li>
+ * </ul>
+ * Ofrecer un evento no toma locks: sólo usa estructuras concurrentes y
+ * operaciones atómicas.
+ *
+ * @param <E> tipo de evento que recibe el manejador
+ */
+public class Suscripcion<E extends Evento> {
+
+    private final Class<E> tipo;
+    private final Consumer<? super E> manejador;
+    private final int capacidad;
+    private final Executor ejecutor;
+
+    /** Claves en orden de llegada; el evento de cada clave está en {@code pendientes}. */
+    private final ConcurrentLinkedQueue<Object> orden = new ConcurrentLinkedQueue<>();
+    private final Map<Object, E> pendientes = new ConcurrentHashMap<>();
+    private final AtomicInteger tamanio = new AtomicInteger();
+    private final AtomicBoolean programada = new AtomicBoolean();
+    private volatile boolean cancelada;
+
+    private final AtomicLong entregados = new AtomicLong();
+    private final AtomicLong coalescidos = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+
+    Suscripcion(Class<E> tipo, Consumer<? super E> manejador, int capacidad, Executor ejecutor) {
+        this.tipo = tipo;
+        this.manejador = manejador;
+        this.capacidad = capacidad;
+        this.ejecutor = ejecutor;
+    }
+
+    boolean acepta(Evento evento) {
+        return !cancelada && tipo.isInstance(evento);
+    }
+
+    /**
+     * Encola el evento y programa el drenaje si no estaba programado.
+     */
+    void ofrecer(Evento evento) {
+        E tipado = tipo.cast(evento);
+        Object clave = evento.getClaveCoalescencia();
+        if (clave == null) {
+            // Clave única: el evento no se coalesce con ningún otro
+            clave = new Object();
+        }
+        if (pendientes.put(clave, tipado) != null) {
+            coalescidos.incrementAndGet();
+        } else {
+            if (tamanio.incrementAndGet() > capacidad) {
+                descartarMasAntiguo();
+            }
+            orden.offer(clave);
+        }
+        programar();
+    }
+
+    private void descartarMasAntiguo() {
+        Object clave = orden.poll();
+        if (clave != null && pendientes.remove(clave) != null) {
+            tamanio.decrementAndGet();
+            descartados.incrementAndGet();
+        }
+    }
+
+    private void programar() {
+        if (!orden.isEmpty() && programada.compareAndSet(false, true)) {
+            ejecutor.execute(this::drenar);
+        }
+    }
+
+    private void drenar() {
+        try {
+            Object clave;
+            while (!cancelada && (clave = orden.poll()) != null) {
+                E evento = pendientes.remove(clave);
+                if (evento == null) {
+                    continue;
+                }
+                tamanio.decrementAndGet();
+                try {
+                    manejador.accept(evento);
+                    entregados.incrementAndGet();
+                } catch (RuntimeException e) {
+                    errores.incrementAndGet();
+                    System.err.println("Error en un suscriptor de " + tipo.getSimpleName() + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            programada.set(false);
+        }
+        // Un evento pudo llegar entre el último poll y liberar la marca
+        if (!cancelada) {
+            programar();
+        }
+    }
+
+    /**
+     * Deja de recibir eventos; los pendientes se descartan.
+     */
+    public void cancelar() {
+        cancelada = true;
+    }
+
+    public boolean isCancelada() {
+        return cancelada;
+    }
+
+    public Class<E> getTipo() {
+        return tipo;
+    }
+
+    /** Eventos pendientes de entrega. */
+    public int getPendientes() {
+        return Math.max(0, tamanio.get());
+    }
+
+    public long getEntregados() {
+        return entregados.get();
+    }
+
+    /** Eventos reemplazados por uno posterior con la misma clave. */
+    public long getCoalescidos() {
+        return coalescidos.get();
+    }
+
+    /** Eventos descartados por cola llena. */
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    public long getErrores() {
+        return errores.get();
+    }
+
+    @Override
+    public String toString() {
+        return "Suscripcion{" + tipo.getSimpleName() + ", pendientes=" + getPendientes()
+                + ", entregados=" + entregados.get() + ", coalescidos=" + coalescidos.get()
+                + ", descartados=" + descartados.get() + ", errores=" + errores.get() + "}";
+    }
+}
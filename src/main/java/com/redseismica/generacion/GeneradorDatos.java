@@ -0,0 +1,676 @@
+package com.redseismica.generacion;
+
+import com.redseismica.database.DatabaseConfig;
+import com.redseismica.database.cache.IndiceEmpleadosPorRol;
+import com.redseismica.database.dao.ResumenFlotaDAO;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Genera datos sintéticos en volumen para pruebas de capacidad: estaciones,
+ * sismógrafos con su historial de estados, empleados y órdenes de
+ * inspección (con motivos de cierre), con distribuciones parecidas a las
+ * de una red real.
+ *
+ * Cada tabla se genera en tramos de {@link #FILAS_POR_TRAMO} filas que se
+ * escriben en paralelo ({@link #HILOS} hilos, cada uno con su conexión)
+ * con lotes JDBC, confirmando cada lote: en H2 confirmar transacciones
+ * chicas es más rápido y deja el archivo más compacto que confirmar
+ * transacciones de miles de filas. Cada tramo usa su propio generador
+ * aleatorio derivado de la semilla, y las filas que otras referencian
+ * (estaciones, sismógrafos, empleados, órdenes) llevan ids asignados por
+ * el generador, así que la misma semilla y la misma fecha de referencia
+ * producen los mismos datos sobre la misma base inicial, con cualquier
+ * cantidad de hilos. Sólo los ids del historial y de los motivos, que
+ * nadie referencia, dependen del orden en que terminan los tramos.
+ *
+ * Los datos se agregan a los existentes, con ids, códigos y números por
+ * encima de los ya usados. Si la generación falla quedan escritos los
+ * lotes ya confirmados, así que conviene usar una base nueva.
+ */
+public class GeneradorDatos {
+
+    /**
+     * Hilos de escritura (propiedad {@code redseismica.generador.hilos});
+     * nunca más que las conexiones del pool.
+     */
+    static final int HILOS = Integer.getInteger("redseismica.generador.hilos",
+            Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Filas por tramo. Es fijo porque de él depende qué
+     * generador aleatorio produce cada fila.
+     */
+    static final int FILAS_POR_TRAMO = 10_000;
+
+    /** Filas por lote JDBC y por transacción. */
+    private static final int LOTE = 500;
+
+    private static final long MINUTOS_POR_DIA = 24 * 60;
+
+    /** Antigüedad máxima de las instalaciones de sismógrafos. */
+    private static final long DIAS_INSTALACION = 3 * 365;
+    /** Período en el que se emiten las órdenes, hasta la fecha de referencia. */
+    private static final long DIAS_ORDENES = 3 * 365;
+
+    /** Duración media en días de cada estado del historial. */
+    private static final double DIAS_ONLINE = 120;
+    private static final double DIAS_INHABILITADO = 2;
+    private static final double DIAS_FUERA_DE_SERVICIO = 15;
+
+    /** Cada cuántos empleados generados hay uno de reparación; el resto son de inspección. */
+    private static final int EMPLEADOS_POR_REPARADOR = 10;
+
+    private static final String ONLINE = "Online";
+    private static final String INHABILITADO = "InhabilitadoPorInspeccion";
+    private static final String FUERA_DE_SERVICIO = "FueraDeServicio";
+
+    private static final int FASE_ESTACIONES = 1;
+    private static final int FASE_EMPLEADOS = 2;
+    private static final int FASE_SISMOGRAFOS = 3;
+    private static final int FASE_ORDENES = 4;
+
+    /** Regiones sísmicas alrededor de las que se ubican las estaciones (nombre, latitud, longitud). */
+    private static final Object[][] REGIONES = {
+        { "Córdoba", -31.42, -64.18 },
+        { "Mendoza", -32.89, -68.83 },
+        { "San Juan", -31.54, -68.54 },
+        { "Salta", -24.78, -65.41 },
+        { "Jujuy", -24.19, -65.30 },
+        { "Tucumán", -26.82, -65.22 },
+        { "Neuquén", -38.95, -68.06 },
+        { "Tierra del Fuego", -54.80, -68.30 }
+    };
+
+    /** Peso de cada modelo de sismógrafo (modelos 1 a 5). */
+    private static final int[] PESOS_MODELO = { 40, 25, 15, 12, 8 };
+
+    private static final String[] NOMBRES = {
+        "Juan", "Ana", "Luis", "María", "Carlos", "Laura", "Jorge", "Sofía", "Pablo", "Lucía",
+        "Diego", "Valeria", "Martín", "Carolina", "Federico", "Julieta", "Andrés", "Florencia", "Raúl", "Paula"
+    };
+
+    private static final String[] APELLIDOS = {
+        "Pérez", "García", "Rodríguez", "López", "Fernández", "González", "Martínez", "Sánchez", "Romero", "Díaz",
+        "Álvarez", "Torres", "Ruiz", "Gómez", "Sosa", "Castro", "Herrera", "Medina", "Suárez", "Acosta"
+    };
+
+    private static final String[] OBSERVACIONES_FUERA_DE_SERVICIO = {
+        "Falla detectada en la inspección", "Sin señal desde la estación", "Daño por tormenta",
+        "Sensor descalibrado", "Corte de alimentación"
+    };
+
+    private static final String[] OBSERVACIONES_CIERRE = {
+        "Inspección completa sin novedades", "Se recalibró el sensor", "Se reemplazó la batería",
+        "Se ajustó el anclaje del equipo", "Se limpió el gabinete y se revisó el cableado"
+    };
+
+    private static final String[] COMENTARIOS_MOTIVO = {
+        "Requiere reemplazo de partes", "Se deriva a reparación", "Pendiente de repuesto", "Daño visible en el equipo"
+    };
+
+    static final String SQL_INSERT_ESTACION =
+            "INSERT INTO estaciones (id, codigo, nombre, latitud, longitud) VALUES (?, ?, ?, ?, ?)";
+
+    static final String SQL_INSERT_EMPLEADO =
+            "INSERT INTO empleados (id, nombre, apellido, mail, telefono, rol_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    static final String SQL_INSERT_SISMOGRAFO = """
+            INSERT INTO sismografos (id, numero_serie, fecha_instalacion, modelo, estado_actual, fecha_hora_estado, estacion_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    static final String SQL_INSERT_CAMBIO_ESTADO = """
+            INSERT INTO cambios_estado_sismografo (sismografo_id, fecha_hora, estado, observacion, empleado_id)
+            VALUES (?, ?, ?, ?, ?)
+        """;
+
+    static final String SQL_INSERT_ORDEN = """
+            INSERT INTO ordenes_inspeccion (id, numero_orden, fecha_hora_emision, fecha_hora_finalizacion,
+                                            fecha_hora_cierre, estado, observacion_cierre, estacion_id, responsable_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    static final String SQL_INSERT_MOTIVO =
+            "INSERT INTO motivos_fuera_servicio (motivo_tipo_id, comentario, orden_id) VALUES (?, ?, ?)";
+
+    /** Cantidad de filas a generar de cada entidad principal. */
+    public static final class Volumen {
+        private final int estaciones;
+        private final int sismografos;
+        private final int empleados;
+        private final int ordenes;
+
+        /**
+         * @throws IllegalArgumentException si alguna cantidad es negativa, o
+         *         si hay sismógrafos u órdenes sin estaciones, u órdenes sin
+         *         empleados, a los que referenciar
+         */
+        public Volumen(int estaciones, int sismografos, int empleados, int ordenes) {
+            if (estaciones < 0 || sismografos < 0 || empleados < 0 || ordenes < 0) {
+                throw new IllegalArgumentException("Las cantidades no pueden ser negativas");
+            }
+            if ((sismografos > 0 || ordenes > 0) && estaciones == 0) {
+                throw new IllegalArgumentException("Los sismógrafos y las órdenes necesitan estaciones generadas");
+            }
+            if (ordenes > 0 && empleados == 0) {
+                throw new IllegalArgumentException("Las órdenes necesitan empleados generados");
+            }
+            this.estaciones = estaciones;
+            this.sismografos = sismografos;
+            this.empleados = empleados;
+            this.ordenes = ordenes;
+        }
+
+        /**
+         * Volumen proporcional a la cantidad de órdenes: una estación con un
+         * sismógrafo cada 10 órdenes (al menos 100) y un empleado cada 250
+         * (al menos 20).
+         */
+        public static Volumen proporcional(int ordenes) {
+            int estaciones = Math.max(100, ordenes / 10);
+            return new Volumen(estaciones, estaciones, Math.max(20, ordenes / 250), ordenes);
+        }
+
+        public int getEstaciones() {
+            return estaciones;
+        }
+
+        public int getSismografos() {
+            return sismografos;
+        }
+
+        public int getEmpleados() {
+            return empleados;
+        }
+
+        public int getOrdenes() {
+            return ordenes;
+        }
+    }
+
+    /** Filas escritas por una generación y lo que tardó. */
+    public static final class Resultado {
+        private final Volumen volumen;
+        private final long cambiosEstado;
+        private final long motivos;
+        private final long milisegundos;
+
+        Resultado(Volumen volumen, long cambiosEstado, long motivos, long milisegundos) {
+            this.volumen = volumen;
+            this.cambiosEstado = cambiosEstado;
+            this.motivos = motivos;
+            this.milisegundos = milisegundos;
+        }
+
+        public Volumen getVolumen() {
+            return volumen;
+        }
+
+        public long getCambiosEstado() {
+            return cambiosEstado;
+        }
+
+        public long getMotivos() {
+            return motivos;
+        }
+
+        public long getMilisegundos() {
+            return milisegundos;
+        }
+
+        @Override
+        public String toString() {
+            return volumen.estaciones + " estaciones, " + volumen.sismografos + " sismógrafos ("
+                    + cambiosEstado + " cambios de estado), " + volumen.empleados + " empleados y "
+                    + volumen.ordenes + " órdenes (" + motivos + " motivos) en " + milisegundos + " ms";
+        }
+    }
+
+    /**
+     * Escribe las filas {@code [desde, hasta)} de un tramo, confirmando cada
+     * lote, y devuelve las filas secundarias escritas.
+     */
+    @FunctionalInterface
+    private interface Tramo {
+        long escribir(Connection conn, SplittableRandom azar, int desde, int hasta) throws SQLException;
+    }
+
+    private final long semilla;
+    private final LocalDateTime referencia;
+
+    // Ids, códigos y números ya usados en la base y catálogos; se leen al generar
+    private int ultimaEstacion;
+    private int ultimoCodigoEstacion;
+    private int ultimoEmpleado;
+    private int ultimoSismografo;
+    private int ultimoNumeroSerie;
+    private int ultimaOrden;
+    private int ultimoNumeroOrden;
+    private int rolInspeccion;
+    private int rolReparacion;
+    private int[] motivosTipo;
+
+    /**
+     * @param semilla    semilla de los generadores aleatorios
+     * @param referencia fecha y hora "actual" de los datos: nada ocurre después
+     */
+    public GeneradorDatos(long semilla, LocalDateTime referencia) {
+        this.semilla = semilla;
+        this.referencia = referencia;
+    }
+
+    /**
+     * Genera el volumen pedido, reconstruye el resumen de la flota y
+     * actualiza las estadísticas del optimizador.
+     *
+     * @return filas escritas y duración
+     * @throws SQLException si falla alguna escritura; los lotes ya
+     *         confirmados quedan escritos
+     */
+    public Resultado generar(Volumen volumen) throws SQLException {
+        long inicio = System.currentTimeMillis();
+        leerBase();
+
+        enParalelo(FASE_ESTACIONES, volumen.estaciones, this::escribirEstaciones);
+        try {
+            enParalelo(FASE_EMPLEADOS, volumen.empleados, this::escribirEmpleados);
+        } finally {
+            // Los empleados se insertaron por fuera de los DAO (aun si la fase falló a medias)
+            IndiceEmpleadosPorRol.invalidar();
+        }
+        long cambiosEstado = enParalelo(FASE_SISMOGRAFOS, volumen.sismografos, (conn, azar, desde, hasta) ->
+                escribirSismografos(conn, azar, desde, hasta, volumen));
+        long motivos = enParalelo(FASE_ORDENES, volumen.ordenes, (conn, azar, desde, hasta) ->
+                escribirOrdenes(conn, azar, desde, hasta, volumen));
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            // Los ids se asignaron a mano: las identidades siguen desde el último
+            reiniciarIdentidad(stmt, "estaciones", ultimaEstacion, volumen.estaciones);
+            reiniciarIdentidad(stmt, "empleados", ultimoEmpleado, volumen.empleados);
+            reiniciarIdentidad(stmt, "sismografos", ultimoSismografo, volumen.sismografos);
+            reiniciarIdentidad(stmt, "ordenes_inspeccion", ultimaOrden, volumen.ordenes);
+        }
+        // Los sismógrafos se insertaron por fuera de los DAO
+        ResumenFlotaDAO.reconstruir();
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE");
+        }
+        return new Resultado(volumen, cambiosEstado, motivos, System.currentTimeMillis() - inicio);
+    }
+
+    private void leerBase() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("""
+                    SELECT (SELECT COALESCE(MAX(id), 0) FROM estaciones),
+                           (SELECT COALESCE(MAX(codigo), 0) FROM estaciones),
+                           (SELECT COALESCE(MAX(id), 0) FROM empleados),
+                           (SELECT COALESCE(MAX(id), 0) FROM sismografos),
+                           (SELECT COALESCE(MAX(numero_serie), 0) FROM sismografos),
+                           (SELECT COALESCE(MAX(id), 0) FROM ordenes_inspeccion),
+                           (SELECT COALESCE(MAX(numero_orden), 0) FROM ordenes_inspeccion),
+                           (SELECT id FROM roles WHERE nombre = 'ResponsableInspeccion'),
+                           (SELECT id FROM roles WHERE nombre = 'ResponsableReparacion')
+                    """)) {
+                rs.next();
+                ultimaEstacion = rs.getInt(1);
+                ultimoCodigoEstacion = rs.getInt(2);
+                ultimoEmpleado = rs.getInt(3);
+                ultimoSismografo = rs.getInt(4);
+                ultimoNumeroSerie = rs.getInt(5);
+                ultimaOrden = rs.getInt(6);
+                ultimoNumeroOrden = rs.getInt(7);
+                rolInspeccion = rs.getInt(8);
+                rolReparacion = rs.getInt(9);
+                if (rolInspeccion == 0 || rolReparacion == 0) {
+                    throw new SQLException("Faltan los roles ResponsableInspeccion y ResponsableReparacion");
+                }
+            }
+            List<Integer> tipos = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT id FROM motivos_tipo ORDER BY id")) {
+                while (rs.next()) {
+                    tipos.add(rs.getInt(1));
+                }
+            }
+            motivosTipo = tipos.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Escribe {@code cantidad} filas en tramos paralelos, cada uno con su
+     * propia conexión, y espera a que terminen todos. Los tramos confirman
+     * cada lote; acá se confirma el último lote de cada tramo.
+     *
+     * @return suma de las filas secundarias escritas por los tramos
+     */
+    private long enParalelo(int fase, int cantidad, Tramo tramo) throws SQLException {
+        if (cantidad == 0) {
+            return 0;
+        }
+        int hilos = Math.max(1, Math.min(HILOS, DatabaseConfig.getPool().getStats().getMaxSize()));
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos, r -> {
+            Thread t = new Thread(r, "generador-datos");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Long>> tramos = new ArrayList<>();
+            for (int desde = 0; desde < cantidad; desde += FILAS_POR_TRAMO) {
+                int inicio = desde;
+                int fin = Math.min(cantidad, desde + FILAS_POR_TRAMO);
+                SplittableRandom azar = new SplittableRandom(mezclar(semilla, fase, desde / FILAS_POR_TRAMO));
+                tramos.add(ejecutor.submit(() -> {
+                    try (Connection conn = DatabaseConfig.getConnection()) {
+                        conn.setAutoCommit(false);
+                        try {
+                            long escritas = tramo.escribir(conn, azar, inicio, fin);
+                            conn.commit();
+                            return escritas;
+                        } catch (SQLException e) {
+                            conn.rollback();
+                            throw e;
+                        }
+                    }
+                }));
+            }
+            long escritas = 0;
+            for (Future<Long> f : tramos) {
+                escritas += f.get();
+            }
+            return escritas;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Generación interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sql) {
+                throw sql;
+            }
+            throw new SQLException("Error al generar datos", e.getCause());
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /** Semilla del tramo: mezcla (SplitMix64) de la semilla general, la fase y el número de tramo. */
+    private static long mezclar(long semilla, int fase, int tramo) {
+        long z = semilla + 0x9E3779B97F4A7C15L * (((long) fase << 32) + tramo + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private long escribirEstaciones(Connection conn, SplittableRandom azar, int desde, int hasta)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT_ESTACION)) {
+            for (int i = desde; i < hasta; i++) {
+                Object[] region = REGIONES[azar.nextInt(REGIONES.length)];
+                int codigo = ultimoCodigoEstacion + i + 1;
+                pstmt.setInt(1, ultimaEstacion + i + 1);
+                pstmt.setInt(2, codigo);
+                pstmt.setString(3, "Estación " + region[0] + " " + codigo);
+                pstmt.setDouble(4, (double) region[1] + normal(azar) * 0.8);
+                pstmt.setDouble(5, (double) region[2] + normal(azar) * 0.8);
+                pstmt.addBatch();
+                if ((i - desde + 1) % LOTE == 0) {
+                    pstmt.executeBatch();
+                    conn.commit();
+                }
+            }
+            pstmt.executeBatch();
+        }
+        return 0;
+    }
+
+    private long escribirEmpleados(Connection conn, SplittableRandom azar, int desde, int hasta)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT_EMPLEADO)) {
+            for (int i = desde; i < hasta; i++) {
+                int id = ultimoEmpleado + i + 1;
+                String nombre = NOMBRES[azar.nextInt(NOMBRES.length)];
+                String apellido = APELLIDOS[azar.nextInt(APELLIDOS.length)];
+                pstmt.setInt(1, id);
+                pstmt.setString(2, nombre);
+                pstmt.setString(3, apellido);
+                pstmt.setString(4, sinAcentos(nombre + "." + apellido).toLowerCase(Locale.ROOT) + id + "@empresa.com");
+                pstmt.setString(5, "351" + (1_000_000 + azar.nextInt(9_000_000)));
+                pstmt.setInt(6, esReparador(i) ? rolReparacion : rolInspeccion);
+                pstmt.addBatch();
+                if ((i - desde + 1) % LOTE == 0) {
+                    pstmt.executeBatch();
+                    conn.commit();
+                }
+            }
+            pstmt.executeBatch();
+        }
+        return 0;
+    }
+
+    private static boolean esReparador(int empleado) {
+        return empleado % EMPLEADOS_POR_REPARADOR == EMPLEADOS_POR_REPARADOR - 1;
+    }
+
+    /**
+     * Escribe los sismógrafos con su historial: cada uno arranca Online en
+     * su instalación y alterna estados con duraciones exponenciales hasta
+     * la fecha de referencia; el último es su estado actual. Los primeros
+     * van uno por estación y el resto a estaciones al azar.
+     *
+     * @return cambios de estado escritos
+     */
+    private long escribirSismografos(Connection conn, SplittableRandom azar, int desde, int hasta,
+                                     Volumen volumen) throws SQLException {
+        long cambios = 0;
+        try (PreparedStatement ps = conn.prepareStatement(SQL_INSERT_SISMOGRAFO);
+             PreparedStatement pc = conn.prepareStatement(SQL_INSERT_CAMBIO_ESTADO)) {
+            for (int i = desde; i < hasta; i++) {
+                int id = ultimoSismografo + i + 1;
+                LocalDateTime instalacion = referencia.minusMinutes(1 + azar.nextLong(DIAS_INSTALACION * MINUTOS_POR_DIA));
+
+                String estado = ONLINE;
+                LocalDateTime desdeEstado = instalacion;
+                agregarCambio(pc, id, desdeEstado, estado, null, null);
+                cambios++;
+                while (true) {
+                    LocalDateTime siguiente = desdeEstado.plusMinutes(duracion(azar, estado));
+                    if (!siguiente.isBefore(referencia)) {
+                        break;
+                    }
+                    estado = siguienteEstado(azar, estado);
+                    desdeEstado = siguiente;
+                    String observacion = FUERA_DE_SERVICIO.equals(estado)
+                            ? OBSERVACIONES_FUERA_DE_SERVICIO[azar.nextInt(OBSERVACIONES_FUERA_DE_SERVICIO.length)]
+                            : null;
+                    Integer empleado = ONLINE.equals(estado) || volumen.empleados == 0
+                            ? null : responsableAlAzar(azar, volumen);
+                    agregarCambio(pc, id, desdeEstado, estado, observacion, empleado);
+                    cambios++;
+                }
+
+                ps.setInt(1, id);
+                ps.setInt(2, ultimoNumeroSerie + i + 1);
+                ps.setTimestamp(3, Timestamp.valueOf(instalacion));
+                ps.setInt(4, modeloAlAzar(azar));
+                ps.setString(5, estado);
+                ps.setTimestamp(6, Timestamp.valueOf(desdeEstado));
+                ps.setInt(7, ultimaEstacion + 1 + (i < volumen.estaciones ? i : azar.nextInt(volumen.estaciones)));
+                ps.addBatch();
+                if ((i - desde + 1) % LOTE == 0) {
+                    // El historial referencia a los sismógrafos: van primero
+                    ps.executeBatch();
+                    pc.executeBatch();
+                    conn.commit();
+                }
+            }
+            ps.executeBatch();
+            pc.executeBatch();
+        }
+        return cambios;
+    }
+
+    private static void agregarCambio(PreparedStatement pc, int sismografoId, LocalDateTime fechaHora, String estado,
+                                      String observacion, Integer empleadoId) throws SQLException {
+        pc.setInt(1, sismografoId);
+        pc.setTimestamp(2, Timestamp.valueOf(fechaHora));
+        pc.setString(3, estado);
+        pc.setString(4, observacion);
+        pc.setObject(5, empleadoId);
+        pc.addBatch();
+    }
+
+    /** Duración en minutos de un período en el estado dado. */
+    private static long duracion(SplittableRandom azar, String estado) {
+        return exponencial(azar, switch (estado) {
+            case ONLINE -> DIAS_ONLINE;
+            case INHABILITADO -> DIAS_INHABILITADO;
+            default -> DIAS_FUERA_DE_SERVICIO;
+        });
+    }
+
+    /**
+     * Un sismógrafo Online pasa casi siempre a inspección y a veces falla
+     * directamente; de una inspección vuelve Online o queda fuera de
+     * servicio; de fuera de servicio vuelve Online al repararse.
+     */
+    private static String siguienteEstado(SplittableRandom azar, String estado) {
+        return switch (estado) {
+            case ONLINE -> azar.nextInt(10) < 7 ? INHABILITADO : FUERA_DE_SERVICIO;
+            case INHABILITADO -> azar.nextInt(10) < 8 ? ONLINE : FUERA_DE_SERVICIO;
+            default -> ONLINE;
+        };
+    }
+
+    private static int modeloAlAzar(SplittableRandom azar) {
+        int total = 0;
+        for (int peso : PESOS_MODELO) {
+            total += peso;
+        }
+        int r = azar.nextInt(total);
+        for (int modelo = 0; modelo < PESOS_MODELO.length; modelo++) {
+            r -= PESOS_MODELO[modelo];
+            if (r < 0) {
+                return modelo + 1;
+            }
+        }
+        return PESOS_MODELO.length;
+    }
+
+    /**
+     * Escribe las órdenes, emitidas a lo largo de {@link #DIAS_ORDENES} días
+     * en el orden de su número. Las estaciones con código más bajo reciben
+     * más órdenes. Casi todas las órdenes viejas están cerradas; entre las
+     * del último mes abundan las en curso y las completamente realizadas.
+     * Parte de las cerradas llevan motivos de fuera de servicio.
+     *
+     * @return motivos escritos
+     */
+    private long escribirOrdenes(Connection conn, SplittableRandom azar, int desde, int hasta, Volumen volumen)
+            throws SQLException {
+        long motivos = 0;
+        long periodo = DIAS_ORDENES * MINUTOS_POR_DIA;
+        LocalDateTime primera = referencia.minusMinutes(periodo);
+        try (PreparedStatement po = conn.prepareStatement(SQL_INSERT_ORDEN);
+             PreparedStatement pm = conn.prepareStatement(SQL_INSERT_MOTIVO)) {
+            for (int i = desde; i < hasta; i++) {
+                int id = ultimaOrden + i + 1;
+                long minuto = (long) ((i + azar.nextDouble()) * periodo / volumen.ordenes);
+                LocalDateTime emision = primera.plusMinutes(minuto);
+
+                String estado;
+                if (emision.isAfter(referencia.minusDays(30))) {
+                    int r = azar.nextInt(10);
+                    estado = r < 4 ? "EN_CURSO" : r < 8 ? "COMPLETAMENTE_REALIZADA" : "CERRADA";
+                } else {
+                    estado = azar.nextInt(100) < 97 ? "CERRADA" : "COMPLETAMENTE_REALIZADA";
+                }
+                LocalDateTime finalizacion = "EN_CURSO".equals(estado) ? null
+                        : antesDeReferencia(emision.plusMinutes(exponencial(azar, 3)));
+                LocalDateTime cierre = "CERRADA".equals(estado)
+                        ? antesDeReferencia(finalizacion.plusMinutes(exponencial(azar, 2))) : null;
+
+                po.setInt(1, id);
+                po.setInt(2, ultimoNumeroOrden + i + 1);
+                po.setTimestamp(3, Timestamp.valueOf(emision));
+                po.setTimestamp(4, finalizacion != null ? Timestamp.valueOf(finalizacion) : null);
+                po.setTimestamp(5, cierre != null ? Timestamp.valueOf(cierre) : null);
+                po.setString(6, estado);
+                po.setString(7, cierre != null ? OBSERVACIONES_CIERRE[azar.nextInt(OBSERVACIONES_CIERRE.length)] : null);
+                po.setInt(8, ultimaEstacion + 1 + (int) (volumen.estaciones * Math.pow(azar.nextDouble(), 1.5)));
+                po.setInt(9, responsableAlAzar(azar, volumen));
+                po.addBatch();
+
+                if (cierre != null && motivosTipo.length > 0 && azar.nextInt(10) < 3) {
+                    int primero = azar.nextInt(motivosTipo.length);
+                    int cantidad = Math.min(motivosTipo.length, azar.nextInt(10) < 3 ? 2 : 1);
+                    for (int m = 0; m < cantidad; m++) {
+                        pm.setInt(1, motivosTipo[(primero + m) % motivosTipo.length]);
+                        pm.setString(2, COMENTARIOS_MOTIVO[azar.nextInt(COMENTARIOS_MOTIVO.length)]);
+                        pm.setInt(3, id);
+                        pm.addBatch();
+                        motivos++;
+                    }
+                }
+                if ((i - desde + 1) % LOTE == 0) {
+                    // Los motivos referencian a las órdenes: van primero
+                    po.executeBatch();
+                    pm.executeBatch();
+                    conn.commit();
+                }
+            }
+            po.executeBatch();
+            pm.executeBatch();
+        }
+        return motivos;
+    }
+
+    /** Un empleado de inspección generado al azar. */
+    private int responsableAlAzar(SplittableRandom azar, Volumen volumen) {
+        int porGrupo = EMPLEADOS_POR_REPARADOR - 1;
+        int inspectores = volumen.empleados / EMPLEADOS_POR_REPARADOR * porGrupo
+                + Math.min(porGrupo, volumen.empleados % EMPLEADOS_POR_REPARADOR);
+        int r = azar.nextInt(inspectores);
+        return ultimoEmpleado + 1 + r / porGrupo * EMPLEADOS_POR_REPARADOR + r % porGrupo;
+    }
+
+    private LocalDateTime antesDeReferencia(LocalDateTime fecha) {
+        return fecha.isBefore(referencia) ? fecha : referencia;
+    }
+
+    /** Minutos (al menos una hora) de una duración exponencial con la media en días dada. */
+    private static long exponencial(SplittableRandom azar, double diasMedios) {
+        return Math.max(60, (long) (-Math.log(1 - azar.nextDouble()) * diasMedios * MINUTOS_POR_DIA));
+    }
+
+    /** Normal estándar (Box-Muller). */
+    private static double normal(SplittableRandom azar) {
+        return Math.sqrt(-2 * Math.log(1 - azar.nextDouble())) * Math.cos(2 * Math.PI * azar.nextDouble());
+    }
+
+    private static String sinAcentos(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    private static void reiniciarIdentidad(Statement stmt, String tabla, int ultimoId, int generadas)
+            throws SQLException {
+        if (generadas > 0) {
+            stmt.execute("ALTER TABLE " + tabla + " ALTER COLUMN id RESTART WITH " + (ultimoId + generadas + 1));
+        }
+    }
+}
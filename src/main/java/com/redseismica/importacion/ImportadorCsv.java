@@ -0,0 +1,503 @@
+package com.redseismica.importacion;
+
+import com.redseismica.database.dao.EstacionDAO;
+import com.redseismica.database.dao.ImportacionDAO;
+import com.redseismica.database.dao.ImportacionDAO.PuntoControl;
+import com.redseismica.database.dao.SismografoDAO;
+import com.redseismica.states.EstadoSismografo;
+import com.redseismica.states.Online;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importa estaciones o sismógrafos desde un CSV con encabezado. El archivo
+ * se lee de a un registro ({@link LectorCsv}) y las filas válidas se
+ * insertan con lotes JDBC, confirmando cada
+ * {@link #FILAS_POR_TRANSACCION} registros junto con el punto de control
+ * de la importación ({@link ImportacionDAO}). Si se interrumpe, volver a
+ * importar el mismo archivo retoma después del último tramo confirmado.
+ *
+ * Las filas con errores (valores inválidos, códigos o números de serie
+ * repetidos, estaciones inexistentes) no se importan: se informan en un
+ * reporte CSV con la línea, el motivo y el registro original, y la
+ * importación sigue. Para detectar repetidos sin consultar la base por
+ * fila, al empezar se cargan los códigos y números de serie existentes.
+ *
+ * Columnas de estaciones: {@code codigo, nombre, latitud, longitud}.
+ * Columnas de sismógrafos: {@code numero_serie, codigo_estacion,
+ * fecha_instalacion, modelo} y, opcionales, {@code estado} (Online si
+ * falta) y {@code fecha_hora_estado} (la de instalación si falta). Las
+ * fechas van en ISO ({@code 2024-05-01} o {@code 2024-05-01T10:30}).
+ */
+public class ImportadorCsv {
+
+    /**
+     * Registros del archivo por transacción (propiedad
+     * {@code redseismica.importacion.filasPorTransaccion}).
+     */
+    static final int FILAS_POR_TRANSACCION = Integer.getInteger("redseismica.importacion.filasPorTransaccion", 5_000);
+
+    /** Qué se importa. */
+    public enum Tipo {
+        ESTACIONES(ImportacionDAO.ESTACIONES),
+        SISMOGRAFOS(ImportacionDAO.SISMOGRAFOS);
+
+        private final String codigoBD;
+
+        Tipo(String codigoBD) {
+            this.codigoBD = codigoBD;
+        }
+
+        /**
+         * @param nombre "estaciones" o "sismografos", sin distinguir mayúsculas
+         * @return el tipo, o null si el nombre no corresponde a ninguno
+         */
+        public static Tipo desdeNombre(String nombre) {
+            for (Tipo tipo : values()) {
+                if (tipo.name().equalsIgnoreCase(nombre)) {
+                    return tipo;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Resultado de una corrida de la importación. */
+    public static final class Resultado {
+        private final long omitidos;
+        private final long leidos;
+        private final long importados;
+        private final long conError;
+        private final PuntoControl puntoControl;
+
+        Resultado(long omitidos, long leidos, long importados, long conError, PuntoControl puntoControl) {
+            this.omitidos = omitidos;
+            this.leidos = leidos;
+            this.importados = importados;
+            this.conError = conError;
+            this.puntoControl = puntoControl;
+        }
+
+        /** Registros salteados por haberse confirmado en una corrida anterior. */
+        public long getOmitidos() {
+            return omitidos;
+        }
+
+        /** Registros procesados en esta corrida. */
+        public long getLeidos() {
+            return leidos;
+        }
+
+        public long getImportados() {
+            return importados;
+        }
+
+        public long getConError() {
+            return conError;
+        }
+
+        /** Avance acumulado de todas las corridas sobre el archivo. */
+        public PuntoControl getPuntoControl() {
+            return puntoControl;
+        }
+
+        @Override
+        public String toString() {
+            return "Resultado{omitidos=" + omitidos + ", leidos=" + leidos + ", importados=" + importados
+                    + ", conError=" + conError + "}";
+        }
+    }
+
+    private final Tipo tipo;
+
+    public ImportadorCsv(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    /**
+     * Importa el archivo, retomando desde su punto de control si ya se
+     * empezó a importar.
+     *
+     * @param archivo        CSV a importar
+     * @param reporteErrores CSV donde se informan las filas con errores; al
+     *                       retomar se agregan al final
+     * @param reiniciar      si es true se descarta el punto de control y se
+     *                       importa desde el principio
+     * @throws IOException  si falla la lectura del archivo o la escritura del
+     *                      reporte, o si falta alguna columna obligatoria
+     * @throws SQLException si falla la confirmación de un tramo; los tramos
+     *                      anteriores quedan confirmados y se puede retomar
+     */
+    public Resultado importar(Path archivo, Path reporteErrores, boolean reiniciar)
+            throws IOException, SQLException {
+        String clave = archivo.toAbsolutePath().normalize().toString();
+        if (reiniciar) {
+            ImportacionDAO.borrarPuntoControl(tipo.codigoBD, clave);
+        }
+        PuntoControl inicio = ImportacionDAO.findPuntoControl(tipo.codigoBD, clave);
+        if (inicio == null) {
+            inicio = new PuntoControl(0, 0, 0);
+            Files.deleteIfExists(reporteErrores);
+        }
+        Destino<?> destino = tipo == Tipo.ESTACIONES ? new DestinoEstaciones() : new DestinoSismografos();
+        try (LectorCsv lector = new LectorCsv(Files.newBufferedReader(archivo, StandardCharsets.UTF_8));
+             Reporte reporte = new Reporte(reporteErrores)) {
+            return importar(destino, lector, reporte, clave, inicio);
+        }
+    }
+
+    private <T> Resultado importar(Destino<T> destino, LectorCsv lector, Reporte reporte, String clave,
+                                   PuntoControl inicio) throws IOException, SQLException {
+        LectorCsv.Registro encabezado = lector.leer();
+        if (encabezado == null) {
+            throw new IOException("El archivo está vacío");
+        }
+        Map<String, Integer> columnas = columnas(encabezado, destino);
+
+        long omitidos = 0;
+        while (omitidos < inicio.getRegistros() && lector.leer() != null) {
+            omitidos++;
+        }
+
+        PuntoControl avance = inicio;
+        List<T> filas = new ArrayList<>();
+        List<String> errores = new ArrayList<>();
+        long enTramo = 0;
+        long leidos = 0;
+        long importados = 0;
+        long conError = 0;
+        LectorCsv.Registro registro;
+        while ((registro = lector.leer()) != null) {
+            enTramo++;
+            try {
+                filas.add(destino.validar(new Campos(registro, columnas)));
+            } catch (FilaInvalida e) {
+                errores.add(Reporte.linea(registro, e.getMessage()));
+            }
+            if (enTramo == FILAS_POR_TRANSACCION) {
+                avance = confirmar(destino, clave, avance, enTramo, filas, errores, reporte);
+                leidos += enTramo;
+                importados += filas.size();
+                conError += errores.size();
+                filas.clear();
+                errores.clear();
+                enTramo = 0;
+            }
+        }
+        if (enTramo > 0) {
+            avance = confirmar(destino, clave, avance, enTramo, filas, errores, reporte);
+            leidos += enTramo;
+            importados += filas.size();
+            conError += errores.size();
+        }
+        return new Resultado(omitidos, leidos, importados, conError, avance);
+    }
+
+    /**
+     * Confirma un tramo y recién después escribe sus errores, para que al
+     * retomar una importación interrumpida no se informen dos veces.
+     */
+    private <T> PuntoControl confirmar(Destino<T> destino, String clave, PuntoControl avance, long registros,
+                                       List<T> filas, List<String> errores, Reporte reporte)
+            throws IOException, SQLException {
+        PuntoControl siguiente = new PuntoControl(avance.getRegistros() + registros,
+                avance.getImportados() + filas.size(), avance.getConError() + errores.size());
+        destino.confirmar(clave, filas, siguiente);
+        destino.confirmado();
+        reporte.escribir(errores);
+        System.out.println("  - " + siguiente.getRegistros() + " registros confirmados ("
+                + siguiente.getImportados() + " importados, " + siguiente.getConError() + " con error)");
+        return siguiente;
+    }
+
+    /** Posición de cada columna del encabezado, por nombre en minúsculas. */
+    private static Map<String, Integer> columnas(LectorCsv.Registro encabezado, Destino<?> destino)
+            throws IOException {
+        Map<String, Integer> columnas = new HashMap<>();
+        List<String> nombres = encabezado.getCampos();
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.putIfAbsent(nombres.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> faltantes = new ArrayList<>();
+        for (String obligatoria : destino.columnas()) {
+            if (!columnas.containsKey(obligatoria)) {
+                faltantes.add(obligatoria);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            throw new IOException("Faltan columnas en el encabezado: " + String.join(", ", faltantes));
+        }
+        return columnas;
+    }
+
+    /** Validación e inserción de las filas de un tipo de importación. */
+    private interface Destino<T> {
+        /** Columnas obligatorias del encabezado. */
+        List<String> columnas();
+
+        T validar(Campos campos) throws FilaInvalida;
+
+        void confirmar(String archivo, List<T> filas, PuntoControl avance) throws SQLException;
+
+        /** Registra las filas ya confirmadas para detectar repetidos más adelante. */
+        void confirmado();
+    }
+
+    private static final class DestinoEstaciones implements Destino<EstacionDAO.EstacionRegistro> {
+        private final Set<Integer> codigos;
+        /** Códigos de las filas válidas del tramo en curso. */
+        private final Set<Integer> pendientes = new HashSet<>();
+
+        DestinoEstaciones() throws SQLException {
+            this.codigos = new HashSet<>(EstacionDAO.findIdsPorCodigo().keySet());
+        }
+
+        @Override
+        public List<String> columnas() {
+            return List.of("codigo", "nombre", "latitud", "longitud");
+        }
+
+        @Override
+        public EstacionDAO.EstacionRegistro validar(Campos campos) throws FilaInvalida {
+            int codigo = campos.entero("codigo");
+            String nombre = campos.texto("nombre");
+            if (nombre.length() > 150) {
+                throw new FilaInvalida("nombre: más de 150 caracteres");
+            }
+            double latitud = campos.decimal("latitud", -90, 90);
+            double longitud = campos.decimal("longitud", -180, 180);
+            if (codigos.contains(codigo) || !pendientes.add(codigo)) {
+                throw new FilaInvalida("ya existe la estación con código " + codigo);
+            }
+            return new EstacionDAO.EstacionRegistro(codigo, nombre, latitud, longitud);
+        }
+
+        @Override
+        public void confirmar(String archivo, List<EstacionDAO.EstacionRegistro> filas, PuntoControl avance)
+                throws SQLException {
+            ImportacionDAO.confirmarEstaciones(archivo, filas, avance);
+        }
+
+        @Override
+        public void confirmado() {
+            codigos.addAll(pendientes);
+            pendientes.clear();
+        }
+    }
+
+    private static final class DestinoSismografos implements Destino<SismografoDAO.SismografoRegistro> {
+        private final Map<Integer, Integer> estaciones;
+        private final Set<Integer> numerosSerie;
+        private final Set<Integer> estacionesOcupadas;
+        private final Set<Integer> seriesPendientes = new HashSet<>();
+        private final Set<Integer> estacionesPendientes = new HashSet<>();
+
+        DestinoSismografos() throws SQLException {
+            this.estaciones = EstacionDAO.findIdsPorCodigo();
+            this.numerosSerie = SismografoDAO.findNumerosSerie();
+            this.estacionesOcupadas = SismografoDAO.findEstacionesConSismografo();
+        }
+
+        @Override
+        public List<String> columnas() {
+            return List.of("numero_serie", "codigo_estacion", "fecha_instalacion", "modelo");
+        }
+
+        @Override
+        public SismografoDAO.SismografoRegistro validar(Campos campos) throws FilaInvalida {
+            int numeroSerie = campos.entero("numero_serie");
+            LocalDateTime instalacion = campos.fecha("fecha_instalacion");
+            int modelo = campos.entero("modelo");
+            String estado = campos.opcional("estado");
+            if (estado == null) {
+                estado = Online.CODIGO_BD;
+            } else if (!EstadoSismografo.desdeCodigoBD(estado).getCodigoBD().equals(estado)) {
+                throw new FilaInvalida("estado: '" + estado + "' no es un estado de sismógrafo");
+            }
+            LocalDateTime fechaEstado = campos.opcional("fecha_hora_estado") != null
+                    ? campos.fecha("fecha_hora_estado") : instalacion;
+
+            Integer estacionId = null;
+            if (campos.opcional("codigo_estacion") != null) {
+                int codigo = campos.entero("codigo_estacion");
+                estacionId = estaciones.get(codigo);
+                if (estacionId == null) {
+                    throw new FilaInvalida("no existe la estación con código " + codigo);
+                }
+                if (estacionesOcupadas.contains(estacionId) || estacionesPendientes.contains(estacionId)) {
+                    throw new FilaInvalida("la estación " + codigo + " ya tiene un sismógrafo");
+                }
+            }
+            if (numerosSerie.contains(numeroSerie) || !seriesPendientes.add(numeroSerie)) {
+                throw new FilaInvalida("ya existe el sismógrafo con número de serie " + numeroSerie);
+            }
+            if (estacionId != null) {
+                estacionesPendientes.add(estacionId);
+            }
+            return new SismografoDAO.SismografoRegistro(numeroSerie, instalacion, modelo, estado, fechaEstado,
+                    estacionId);
+        }
+
+        @Override
+        public void confirmar(String archivo, List<SismografoDAO.SismografoRegistro> filas, PuntoControl avance)
+                throws SQLException {
+            ImportacionDAO.confirmarSismografos(archivo, filas, avance);
+        }
+
+        @Override
+        public void confirmado() {
+            numerosSerie.addAll(seriesPendientes);
+            estacionesOcupadas.addAll(estacionesPendientes);
+            seriesPendientes.clear();
+            estacionesPendientes.clear();
+        }
+    }
+
+    /** Campos de un registro, por nombre de columna. */
+    private static final class Campos {
+        private final LectorCsv.Registro registro;
+        private final Map<String, Integer> columnas;
+
+        Campos(LectorCsv.Registro registro, Map<String, Integer> columnas) {
+            this.registro = registro;
+            this.columnas = columnas;
+        }
+
+        /** Valor sin espacios alrededor, o null si la columna falta o está vacía. */
+        String opcional(String columna) {
+            Integer indice = columnas.get(columna);
+            List<String> campos = registro.getCampos();
+            if (indice == null || indice >= campos.size()) {
+                return null;
+            }
+            String valor = campos.get(indice).trim();
+            return valor.isEmpty() ? null : valor;
+        }
+
+        String texto(String columna) throws FilaInvalida {
+            String valor = opcional(columna);
+            if (valor == null) {
+                throw new FilaInvalida(columna + ": falta el valor");
+            }
+            return valor;
+        }
+
+        int entero(String columna) throws FilaInvalida {
+            String valor = texto(columna);
+            try {
+                return Integer.parseInt(valor);
+            } catch (NumberFormatException e) {
+                throw new FilaInvalida(columna + ": '" + valor + "' no es un número entero");
+            }
+        }
+
+        double decimal(String columna, double minimo, double maximo) throws FilaInvalida {
+            String valor = texto(columna);
+            double numero;
+            try {
+                numero = Double.parseDouble(valor);
+            } catch (NumberFormatException e) {
+                throw new FilaInvalida(columna + ": '" + valor + "' no es un número");
+            }
+            if (!(numero >= minimo && numero <= maximo)) {
+                throw new FilaInvalida(columna + ": " + valor + " fuera del rango [" + minimo + ", " + maximo + "]");
+            }
+            return numero;
+        }
+
+        LocalDateTime fecha(String columna) throws FilaInvalida {
+            String valor = texto(columna);
+            try {
+                return valor.length() <= 10 ? LocalDate.parse(valor).atStartOfDay() : LocalDateTime.parse(valor);
+            } catch (DateTimeParseException e) {
+                throw new FilaInvalida(columna + ": '" + valor + "' no es una fecha ISO");
+            }
+        }
+    }
+
+    /** Motivo por el que una fila no se importa. */
+    private static final class FilaInvalida extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        FilaInvalida(String mensaje) {
+            super(mensaje);
+        }
+    }
+
+    /**
+     * Reporte CSV de filas con errores ({@code linea,error,registro}). El
+     * archivo se crea recién con el primer error.
+     */
+    private static final class Reporte implements AutoCloseable {
+        private final Path archivo;
+        private Writer salida;
+
+        Reporte(Path archivo) {
+            this.archivo = archivo;
+        }
+
+        static String linea(LectorCsv.Registro registro, String error) {
+            StringBuilder original = new StringBuilder();
+            for (String campo : registro.getCampos()) {
+                if (original.length() > 0) {
+                    original.append(',');
+                }
+                original.append(campo(campo));
+            }
+            return registro.getLinea() + "," + campo(error) + "," + campo(original.toString()) + "\n";
+        }
+
+        void escribir(List<String> lineas) throws IOException {
+            if (lineas.isEmpty()) {
+                return;
+            }
+            if (salida == null) {
+                boolean nuevo = !Files.exists(archivo);
+                salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (nuevo) {
+                    salida.write("linea,error,registro\n");
+                }
+            }
+            for (String linea : lineas) {
+                salida.write(linea);
+            }
+            salida.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (salida != null) {
+                salida.close();
+            }
+        }
+
+        /**
+         * Escapa un valor según RFC 4180: entre comillas si contiene comas,
+         * comillas o saltos de línea.
+         */
+        private static String campo(String valor) {
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0
+                    && valor.indexOf('\r') < 0) {
+                return valor;
+            }
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+    }
+}
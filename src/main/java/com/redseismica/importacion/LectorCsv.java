@@ -0,0 +1,106 @@
+package com.redseismica.importacion;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee un CSV (RFC 4180) de a un registro por vez: los campos pueden ir
+ * entre comillas, con comas, comillas duplicadas o saltos de línea
+ * adentro. Las líneas vacías se saltean. Sólo guarda en memoria el
+ * registro actual, así que sirve para archivos de cualquier tamaño.
+ */
+final class LectorCsv implements Closeable {
+
+    /** Registro leído, con la línea del archivo en la que empieza. */
+    static final class Registro {
+        private final List<String> campos;
+        private final long linea;
+
+        Registro(List<String> campos, long linea) {
+            this.campos = campos;
+            this.linea = linea;
+        }
+
+        List<String> getCampos() {
+            return campos;
+        }
+
+        long getLinea() {
+            return linea;
+        }
+    }
+
+    private final BufferedReader entrada;
+    private long linea;
+
+    LectorCsv(BufferedReader entrada) {
+        this.entrada = entrada;
+    }
+
+    /**
+     * Lee el registro siguiente.
+     *
+     * @return el registro, o null al terminar el archivo
+     * @throws IOException si falla la lectura o un campo entre comillas no se cierra
+     */
+    Registro leer() throws IOException {
+        String texto;
+        do {
+            texto = entrada.readLine();
+            if (texto == null) {
+                return null;
+            }
+            linea++;
+        } while (texto.isEmpty());
+
+        long inicio = linea;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        int i = 0;
+        while (true) {
+            if (i == texto.length()) {
+                if (!entreComillas) {
+                    break;
+                }
+                // El campo entre comillas sigue en la línea siguiente
+                texto = entrada.readLine();
+                if (texto == null) {
+                    throw new IOException("Comillas sin cerrar en el registro de la línea " + inicio);
+                }
+                linea++;
+                campo.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = texto.charAt(i++);
+            if (entreComillas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i < texto.length() && texto.charAt(i) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreComillas = false;
+                }
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '"' && campo.length() == 0) {
+                entreComillas = true;
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return new Registro(campos, inicio);
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+}
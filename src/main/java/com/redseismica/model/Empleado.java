@@ -6,6 +6,7 @@ package com.redseismica.model;
  * acciones puede realizar, como por ejemplo ser responsable de reparaciones.
  */
 public class Empleado {
+    private final int id;
     private final String nombre;
     private final String apellido;
     private final String mail;
@@ -13,6 +14,15 @@ public class Empleado {
     private final Rol rol;
 
     public Empleado(String nombre, String apellido, String mail, String telefono, Rol rol) {
+        this(0, nombre, apellido, mail, telefono, rol);
+    }
+
+    /**
+     * Crea un empleado con el identificador que tiene en la base de datos.
+     * El constructor sin id deja el identificador en 0 (no persistido).
+     */
+    public Empleado(int id, String nombre, String apellido, String mail, String telefono, Rol rol) {
+        this.id = id;
         this.nombre = nombre;
         this.apellido = apellido;
         this.mail = mail;
@@ -20,6 +30,10 @@ public class Empleado {
         this.rol = rol;
     }
 
+    public int getId() {
+        return id;
+    }
+
     public String getNombre() {
         return nombre;
     }
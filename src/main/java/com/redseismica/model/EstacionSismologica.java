@@ -46,14 +46,19 @@ public class EstacionSismologica {
         return sismografo;
     }
 
+    /**
+     * Devuelve el ID del sismógrafo instalado en la estación. Cuando la
+     * estación se cargó junto con su sismógrafo (como en las consultas de
+     * órdenes) el ID sale del propio objeto sin consultar la BD; sólo si
+     * no hay sismógrafo asociado se hace una búsqueda puntual por código.
+     *
+     * @return ID del sismógrafo o -1 si la estación no tiene uno
+     */
     public int obtenerIDSismografo() throws SQLException {
-        List<Sismografo> sismografos = SismografoDAO.findAll();
-        for (Sismografo s : sismografos) {
-            if (s.sosMiSismografo(codigoEstacion)) {
-                return s.getIdSismografo();
-            }
+        if (sismografo != null && sismografo.sosMiSismografo(codigoEstacion)) {
+            return sismografo.getIdSismografo();
         }
-        return -1;
+        return SismografoDAO.findIdByCodigoEstacion(codigoEstacion);
     }
 
     public void ponerSismografoFueraDeServicio(LocalDateTime fechaHora,
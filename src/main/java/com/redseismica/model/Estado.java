@@ -1,12 +1,57 @@
 package com.redseismica.model;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estado de una orden de inspección. Los estados conocidos son instancias
+ * únicas con un código numérico estable; {@link #desdeCodigoBD(String)}
+ * resuelve el código persistido a esa instancia, de modo que las
+ * comprobaciones de estado comparan códigos y no nombres.
+ */
 public class Estado {
+    public static final int CODIGO_OTRO = 0;
+
+    public static final Estado CERRADA = new Estado(1, "CERRADA", "Cerrada");
+    public static final Estado EN_CURSO = new Estado(2, "EN_CURSO", "En curso");
+    public static final Estado COMPLETAMENTE_REALIZADA =
+            new Estado(3, "COMPLETAMENTE_REALIZADA", "Completamente Realizada");
+
+    /** Estados no reconocidos, también compartidos (uno por código de la BD). */
+    private static final Map<String, Estado> OTROS = new ConcurrentHashMap<>();
+
+    private final int codigo;
+    private final String codigoBD;
     private final String nombre;
 
-    public Estado(String nombre) {
+    private Estado(int codigo, String codigoBD, String nombre) {
+        this.codigo = codigo;
+        this.codigoBD = codigoBD;
         this.nombre = nombre;
     }
 
+    /**
+     * Devuelve la instancia canónica para el código persistido en la BD, o
+     * {@code null} si el código es nulo.
+     */
+    public static Estado desdeCodigoBD(String codigoBD) {
+        if (codigoBD == null) return null;
+        return switch (codigoBD) {
+            case "CERRADA" -> CERRADA;
+            case "EN_CURSO" -> EN_CURSO;
+            case "COMPLETAMENTE_REALIZADA" -> COMPLETAMENTE_REALIZADA;
+            default -> OTROS.computeIfAbsent(codigoBD, c -> new Estado(CODIGO_OTRO, c, c));
+        };
+    }
+
+    public int getCodigo() {
+        return codigo;
+    }
+
+    public String getCodigoBD() {
+        return codigoBD;
+    }
+
     public String getNombre() {
         return nombre;
     }
@@ -16,10 +61,10 @@ public class Estado {
     }
 
     public boolean sosCompletamenteRealizada() {
-        return this.nombre.equals("Completamente Realizada");
+        return this.codigo == COMPLETAMENTE_REALIZADA.codigo;
     }
     
     public boolean sosCerrada() {
-        return this.nombre.equals("Cerrada");
+        return this.codigo == CERRADA.codigo;
     }
 }
\ No newline at end of file
@@ -9,6 +9,9 @@ package com.redseismica.model;
  */
 public class MotivoTipo {
 
+    /** identificador en la tabla motivos_tipo (0 si no se persistió) */
+    private final int id;
+
     /** descripción corta del motivo */
     private final String descripcion;
 
@@ -18,9 +21,29 @@ public class MotivoTipo {
      * @param descripcion texto que describe el motivo
      */
     public MotivoTipo(String descripcion) {
+        this(0, descripcion);
+    }
+
+    /**
+     * Crea un tipo de motivo leído de la base de datos.
+     *
+     * @param id          identificador del motivo en la BD
+     * @param descripcion texto que describe el motivo
+     */
+    public MotivoTipo(int id, String descripcion) {
+        this.id = id;
         this.descripcion = descripcion;
     }
 
+    /**
+     * Devuelve el identificador del motivo en la base de datos.
+     *
+     * @return id del motivo, o 0 si no fue persistido
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Devuelve la descripción del motivo.
      *
@@ -10,8 +10,8 @@ public class OrdenInspeccion {
     private LocalDateTime fechaHoraCierre;
     private String observacionCierre;
     private Estado estado;
-    private final EstacionSismologica estacion;
-    private final Empleado responsableInspeccion;
+    private final Referencia<EstacionSismologica> estacion;
+    private final Referencia<Empleado> responsableInspeccion;
 
     public OrdenInspeccion(int nroOrden,
                            LocalDateTime fechaHoraInicio,
@@ -19,6 +19,23 @@ public class OrdenInspeccion {
                            Estado estado,
                            EstacionSismologica estacion,
                            Empleado responsableInspeccion) {
+        this(nroOrden, fechaHoraInicio, fechaHoraFinalizacion, estado,
+             Referencia.cargada(0, estacion),
+             Referencia.cargada(responsableInspeccion != null ? responsableInspeccion.getId() : 0,
+                                responsableInspeccion));
+    }
+
+    /**
+     * Crea la orden con referencias a su estación y responsable, que pueden
+     * cargarse recién cuando se las pide (por ejemplo en los listados, que
+     * sólo muestran número y fecha de la mayoría de las órdenes).
+     */
+    public OrdenInspeccion(int nroOrden,
+                           LocalDateTime fechaHoraInicio,
+                           LocalDateTime fechaHoraFinalizacion,
+                           Estado estado,
+                           Referencia<EstacionSismologica> estacion,
+                           Referencia<Empleado> responsableInspeccion) {
         this.nroOrden = nroOrden;
         this.fechaHoraInicio = fechaHoraInicio;
         this.fechaHoraFinalizacion = fechaHoraFinalizacion;
@@ -64,15 +81,30 @@ public class OrdenInspeccion {
     }
 
     public EstacionSismologica getEstacion() {
-        return estacion;
+        return estacion.get();
     }
 
+    public Empleado getResponsableInspeccion() {
+        return responsableInspeccion.get();
+    }
+
+    /**
+     * Cuando se conocen los ids de ambos empleados se comparan sin cargar
+     * el responsable; si no, se comparan nombre y apellido.
+     */
     public boolean esDeRILogueado(Empleado ri) {
-        if (ri == null || responsableInspeccion == null) {
+        if (ri == null) {
+            return false;
+        }
+        if (ri.getId() > 0 && responsableInspeccion.getId() > 0) {
+            return ri.getId() == responsableInspeccion.getId();
+        }
+        Empleado responsable = responsableInspeccion.get();
+        if (responsable == null) {
             return false;
         }
-        return responsableInspeccion.getNombre().equalsIgnoreCase(ri.getNombre())
-                && responsableInspeccion.getApellido().equalsIgnoreCase(ri.getApellido());
+        return responsable.getNombre().equalsIgnoreCase(ri.getNombre())
+                && responsable.getApellido().equalsIgnoreCase(ri.getApellido());
     }
 
     public boolean esCompletamenteRealizada() {
@@ -89,8 +121,9 @@ public class OrdenInspeccion {
                                                List<MotivoTipo> motivos,
                                                List<String> comentarios,
                                                Empleado responsable) {
-        if (estacion != null) {
-            estacion.ponerSismografoFueraDeServicio(fechaHora, motivos, comentarios, responsable);
+        EstacionSismologica estacionOrden = getEstacion();
+        if (estacionOrden != null) {
+            estacionOrden.ponerSismografoFueraDeServicio(fechaHora, motivos, comentarios, responsable);
         }
     }
 
@@ -104,12 +137,13 @@ public class OrdenInspeccion {
         datos.add(this.getFechaHoraFinalizacion() != null ? this.getFechaHoraFinalizacion().toString() : "");
         
         // Nombre de la estación
-        datos.add(this.estacion != null ? this.estacion.getNombre() : "");
+        EstacionSismologica estacionOrden = getEstacion();
+        datos.add(estacionOrden != null ? estacionOrden.getNombre() : "");
         
         // ID del sismógrafo
-        if (this.estacion != null) {
+        if (estacionOrden != null) {
             try {
-                int idSismografo = this.estacion.obtenerIDSismografo();
+                int idSismografo = estacionOrden.obtenerIDSismografo();
                 datos.add(idSismografo != -1 ? String.valueOf(idSismografo) : "");
             } catch (Exception e) {
                 datos.add("");
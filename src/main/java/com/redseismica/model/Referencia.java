@@ -0,0 +1,64 @@
+package com.redseismica.model;
+
+/**
+ * Referencia a una entidad asociada que puede cargarse recién en el primer
+ * acceso. Guarda el id de la entidad, de modo que se puede comparar o
+ * mostrar sin cargarla, y delega la carga en un {@link Cargador} (por
+ * ejemplo uno que trae de una vez todas las entidades pendientes de la
+ * misma consulta).
+ *
+ * @param <T> tipo de la entidad referenciada
+ */
+public final class Referencia<T> {
+
+    /** Carga la entidad con el id indicado. */
+    @FunctionalInterface
+    public interface Cargador<T> {
+        T cargar(int id);
+    }
+
+    private final int id;
+    private Cargador<T> cargador;
+    private T valor;
+
+    private Referencia(int id, T valor, Cargador<T> cargador) {
+        this.id = id;
+        this.valor = valor;
+        this.cargador = cargador;
+    }
+
+    /**
+     * Referencia a una entidad ya cargada.
+     *
+     * @param id id de la entidad en la base, o 0 si no se conoce
+     */
+    public static <T> Referencia<T> cargada(int id, T valor) {
+        return new Referencia<>(id, valor, null);
+    }
+
+    /**
+     * Referencia que carga la entidad en el primer acceso.
+     */
+    public static <T> Referencia<T> diferida(int id, Cargador<T> cargador) {
+        return new Referencia<>(id, null, cargador);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Devuelve la entidad, cargándola si todavía no se hizo.
+     */
+    public synchronized T get() {
+        if (cargador != null) {
+            valor = cargador.cargar(id);
+            cargador = null;
+        }
+        return valor;
+    }
+
+    public synchronized boolean estaCargada() {
+        return cargador == null;
+    }
+}
@@ -6,6 +6,8 @@ package com.redseismica.model;
  * sólo se comprueba el nombre textual.
  */
 public class Rol {
+    public static final String RESPONSABLE_REPARACION = "ResponsableReparacion";
+
     private final String nombre;
 
     public Rol(String nombre) {
@@ -17,6 +19,6 @@ public class Rol {
     }
 
     public boolean sosResponsableReparacion() {
-        return this.nombre.equals("ResponsableReparacion");
+        return this.nombre.equals(RESPONSABLE_REPARACION);
     }
 }
\ No newline at end of file
@@ -4,17 +4,29 @@ import com.redseismica.states.EstadoSismografo;
 
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
  
 
+/**
+ * Sismógrafo de una estación. Los cambios de estado se guardan ordenados
+ * por fecha de inicio y el vigente se mantiene aparte, de modo que
+ * consultarlo y registrar una transición no recorren el historial (los
+ * cambios llegan en orden cronológico y se agregan al final). Como los
+ * períodos no se superponen, las fechas de fin también quedan ordenadas y
+ * las búsquedas por fecha o por rango son binarias.
+ */
 public class Sismografo {
     private final int idSismografo;
     private final LocalDateTime fechaAdquisicion;
     private final int nroSerie;
     private EstacionSismologica estacionSismologica;
     private EstadoSismografo estadoActual;
+    /** Cambios de estado ordenados por fecha de inicio. */
     private final List<CambioEstadoSismografo> cambioEstado;
+    /** Último cambio registrado; es el vigente mientras no tenga fecha de fin. */
+    private CambioEstadoSismografo cambioEstadoActual;
 
     public Sismografo(int idSismografo, LocalDateTime fechaAdquisicion, int nroSerie, EstacionSismologica estacionSismologica, EstadoSismografo estado) {
         this.idSismografo = idSismografo;
@@ -23,7 +35,7 @@ public class Sismografo {
         this.estacionSismologica = estacionSismologica;
         // estado inicial
         this.estadoActual = estado;
-        this.cambioEstado = new java.util.ArrayList<CambioEstadoSismografo>();
+        this.cambioEstado = new ArrayList<>();
     }
 
     public int getIdSismografo() {
@@ -58,12 +70,97 @@ public class Sismografo {
         return Collections.unmodifiableList(cambioEstado);
     }
 
+    /**
+     * Registra un cambio de estado en el historial. Si es posterior al
+     * vigente pasa a ser el actual y, si el anterior seguía abierto, se lo
+     * cierra en la fecha de inicio del nuevo: nunca hay dos cambios
+     * vigentes. Agregar en orden cronológico es O(1); un cambio anterior al
+     * último (por ejemplo al cargar historial) se intercala en su lugar y,
+     * si no tiene fecha de fin, se cierra donde empieza el siguiente.
+     */
     public void setCambioEstado(CambioEstadoSismografo cambioEstadoSismografo) {
-        this.cambioEstado.add(cambioEstadoSismografo);
+        LocalDateTime inicio = cambioEstadoSismografo.getFechaHoraInicio();
+        if (cambioEstadoActual == null || !inicio.isBefore(cambioEstadoActual.getFechaHoraInicio())) {
+            if (cambioEstadoActual != null && cambioEstadoActual.sosActual()) {
+                cambioEstadoActual.setFechaHoraFin(inicio);
+            }
+            cambioEstado.add(cambioEstadoSismografo);
+            cambioEstadoActual = cambioEstadoSismografo;
+        } else {
+            int posicion = primeroQueIniciaDespues(inicio);
+            if (cambioEstadoSismografo.sosActual()) {
+                cambioEstadoSismografo.setFechaHoraFin(cambioEstado.get(posicion).getFechaHoraInicio());
+            }
+            cambioEstado.add(posicion, cambioEstadoSismografo);
+        }
     }
 
+    /** Historial completo, ordenado por fecha de inicio (sólo lectura). */
     public List<CambioEstadoSismografo> getCambiosEstado() {
-        return cambioEstado;
+        return Collections.unmodifiableList(cambioEstado);
+    }
+
+    /**
+     * Cambio de estado vigente, o null si no hay ninguno abierto.
+     */
+    public CambioEstadoSismografo getCambioEstadoActual() {
+        return cambioEstadoActual != null && cambioEstadoActual.sosActual() ? cambioEstadoActual : null;
+    }
+
+    /**
+     * Cambio de estado vigente en el instante indicado, o null si el
+     * historial cargado no cubre ese instante.
+     */
+    public CambioEstadoSismografo getCambioEstadoEn(LocalDateTime fechaHora) {
+        int i = primeroQueIniciaDespues(fechaHora) - 1;
+        if (i < 0) {
+            return null;
+        }
+        CambioEstadoSismografo cambio = cambioEstado.get(i);
+        return cambio.sosActual() || cambio.getFechaHoraFin().isAfter(fechaHora) ? cambio : null;
+    }
+
+    /**
+     * Cambios de estado vigentes en algún momento del intervalo
+     * [desde, hasta), en orden cronológico.
+     */
+    public List<CambioEstadoSismografo> getCambiosEstado(LocalDateTime desde, LocalDateTime hasta) {
+        int primero = primeroQueTerminaDespues(desde);
+        int ultimo = primeroQueIniciaDespues(hasta.minusNanos(1));
+        return primero < ultimo
+            ? Collections.unmodifiableList(cambioEstado.subList(primero, ultimo))
+            : Collections.emptyList();
+    }
+
+    /** Posición del primer cambio que inicia después de la fecha. */
+    private int primeroQueIniciaDespues(LocalDateTime fechaHora) {
+        int bajo = 0;
+        int alto = cambioEstado.size();
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (cambioEstado.get(medio).getFechaHoraInicio().isAfter(fechaHora)) {
+                alto = medio;
+            } else {
+                bajo = medio + 1;
+            }
+        }
+        return bajo;
+    }
+
+    /** Posición del primer cambio abierto o que termina después de la fecha. */
+    private int primeroQueTerminaDespues(LocalDateTime fechaHora) {
+        int bajo = 0;
+        int alto = cambioEstado.size();
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            CambioEstadoSismografo cambio = cambioEstado.get(medio);
+            if (cambio.sosActual() || cambio.getFechaHoraFin().isAfter(fechaHora)) {
+                alto = medio;
+            } else {
+                bajo = medio + 1;
+            }
+        }
+        return bajo;
     }
 
     public void enviarAReparar(LocalDateTime fechaHora,
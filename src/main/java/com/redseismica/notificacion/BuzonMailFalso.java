@@ -0,0 +1,48 @@
+package com.redseismica.notificacion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enviador de correo local para desarrollo y pruebas: en lugar de usar un
+ * servidor SMTP registra los mensajes en memoria y los informa por
+ * consola. Puede simular fallos para ejercitar los reintentos.
+ */
+public class BuzonMailFalso implements EnviadorMail {
+
+    private final List<Notificacion> recibidos = new ArrayList<>();
+    private final AtomicInteger fallosPendientes = new AtomicInteger();
+    private final AtomicInteger envios = new AtomicInteger();
+
+    @Override
+    public void enviar(String destinatario, List<Notificacion> mensajes) throws Exception {
+        if (fallosPendientes.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new Exception("Fallo simulado al enviar a " + destinatario);
+        }
+        synchronized (recibidos) {
+            recibidos.addAll(mensajes);
+        }
+        envios.incrementAndGet();
+        System.out.println("[Mail] " + mensajes.size() + " mensaje(s) entregado(s) a " + destinatario);
+    }
+
+    /**
+     * Hace fallar los próximos {@code cantidad} envíos.
+     */
+    public void simularFallos(int cantidad) {
+        fallosPendientes.set(cantidad);
+    }
+
+    /** Copia de los mensajes entregados hasta el momento. */
+    public List<Notificacion> getRecibidos() {
+        synchronized (recibidos) {
+            return new ArrayList<>(recibidos);
+        }
+    }
+
+    /** Cantidad de envíos exitosos (uno por destinatario y lote). */
+    public int getEnvios() {
+        return envios.get();
+    }
+}
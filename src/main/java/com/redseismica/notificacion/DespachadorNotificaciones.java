@@ -0,0 +1,270 @@
+package com.redseismica.notificacion;
+
+import com.redseismica.database.dao.NotificacionDAO;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vacía en segundo plano la bandeja de salida de notificaciones. Un hilo
+ * de sondeo reserva las notificaciones pendientes, las agrupa por
+ * destinatario y entrega cada grupo a un pool de hilos de envío; así el
+ * cierre de una orden termina apenas se confirma la transacción y nunca
+ * espera al servidor de correo.
+ *
+ * Los envíos fallidos se reintentan con espera exponencial
+ * ({@code backoffMs * 2^intentos}, hasta {@link #BACKOFF_MAX_MS}); al
+ * agotar los intentos la notificación queda FALLIDA. Cada ciclo de sondeo
+ * libera además las notificaciones reservadas hace más de
+ * {@code reservaMs} que siguen ENVIANDO (por ejemplo, si no se pudo
+ * registrar el resultado de su envío), sin esperar a un reinicio.
+ *
+ * Si el mail se entregó pero falla la actualización que lo marca ENVIADA,
+ * no se cuenta como intento fallido ni se vuelve a enviar: queda en
+ * memoria como enviada sin registrar y cada ciclo reintenta sólo esa
+ * actualización. Mientras haya alguna sin registrar no se liberan
+ * reservas vencidas, para no reenviarla.
+ *
+ * Parámetros configurables con propiedades del sistema:
+ * {@code redseismica.notificaciones.hilos} (2),
+ * {@code redseismica.notificaciones.sondeoMs} (5000),
+ * {@code redseismica.notificaciones.backoffMs} (2000),
+ * {@code redseismica.notificaciones.maxIntentos} (6) y
+ * {@code redseismica.notificaciones.reservaMs} (600000).
+ */
+public class DespachadorNotificaciones {
+
+    private static final int HILOS = Integer.getInteger("redseismica.notificaciones.hilos", 2);
+    private static final long SONDEO_MS = Long.getLong("redseismica.notificaciones.sondeoMs", 5_000L);
+    private static final long BACKOFF_MS = Long.getLong("redseismica.notificaciones.backoffMs", 2_000L);
+    private static final int MAX_INTENTOS = Integer.getInteger("redseismica.notificaciones.maxIntentos", 6);
+    /** Tiempo máximo que una notificación puede quedar ENVIANDO antes de volver a PENDIENTE. */
+    private static final long RESERVA_MS = Long.getLong("redseismica.notificaciones.reservaMs", 10 * 60_000L);
+    private static final long BACKOFF_MAX_MS = 5 * 60_000L;
+    /** Notificaciones reservadas por ciclo de sondeo. */
+    private static final int LOTE = 100;
+
+    private static DespachadorNotificaciones instancia;
+
+    private final EnviadorMail enviador;
+    private final ScheduledExecutorService sondeo;
+    private final ExecutorService envios;
+
+    private final AtomicLong enviadas = new AtomicLong();
+    private final AtomicLong reintentos = new AtomicLong();
+    private final AtomicLong fallidas = new AtomicLong();
+    // Entregadas al servidor de correo sin poder marcarlas ENVIADA en la base
+    private final Queue<Notificacion> sinRegistrar = new ConcurrentLinkedQueue<>();
+
+    private DespachadorNotificaciones(EnviadorMail enviador) {
+        this.enviador = enviador;
+        this.sondeo = Executors.newSingleThreadScheduledExecutor(hilos("notificaciones-sondeo"));
+        this.envios = Executors.newFixedThreadPool(HILOS, hilos("notificaciones-envio"));
+    }
+
+    /**
+     * Inicia el despachador compartido con el enviador indicado. Las
+     * notificaciones que hubieran quedado a medio enviar se liberan para
+     * reintentarse.
+     *
+     * @return el despachador iniciado
+     */
+    public static synchronized DespachadorNotificaciones iniciar(EnviadorMail enviador) throws SQLException {
+        if (instancia != null) {
+            return instancia;
+        }
+        int liberadas = NotificacionDAO.liberarEnCurso();
+        if (liberadas > 0) {
+            System.out.println("  - Notificaciones a medio enviar liberadas: " + liberadas);
+        }
+        DespachadorNotificaciones despachador = new DespachadorNotificaciones(enviador);
+        despachador.sondeo.scheduleWithFixedDelay(despachador::ciclo, 0, SONDEO_MS, TimeUnit.MILLISECONDS);
+        instancia = despachador;
+        System.out.println("✓ Despachador de notificaciones iniciado (" + HILOS + " hilos de envío)");
+        return despachador;
+    }
+
+    /**
+     * Pide un ciclo de envío inmediato (por ejemplo, después de encolar
+     * notificaciones). No hace nada si el despachador no está iniciado.
+     */
+    public static synchronized void despertar() {
+        if (instancia != null && !instancia.sondeo.isShutdown()) {
+            instancia.sondeo.execute(instancia::ciclo);
+        }
+    }
+
+    /**
+     * Detiene el despachador esperando a que terminen los envíos en curso.
+     * Lo que quede pendiente se enviará en el próximo inicio.
+     */
+    public static synchronized void detener() {
+        if (instancia == null) {
+            return;
+        }
+        DespachadorNotificaciones despachador = instancia;
+        instancia = null;
+        despachador.sondeo.shutdown();
+        try {
+            despachador.sondeo.awaitTermination(10, TimeUnit.SECONDS);
+            despachador.envios.shutdown();
+            despachador.envios.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!despachador.registrarEnviadas()) {
+            System.err.println("✗ " + despachador.sinRegistrar.size()
+                    + " notificaciones enviadas quedaron sin registrar; se reenviarán en el próximo inicio");
+        }
+        System.out.println("✓ Despachador de notificaciones detenido: " + despachador);
+    }
+
+    /**
+     * Registra las enviadas pendientes de registrar, libera las reservas
+     * vencidas, reserva las notificaciones vencidas y entrega un grupo por
+     * destinatario al pool de envío. Corre siempre en el hilo de sondeo.
+     */
+    private void ciclo() {
+        try {
+            if (registrarEnviadas()) {
+                int liberadas = NotificacionDAO.liberarVencidas(
+                        LocalDateTime.now().minusNanos(RESERVA_MS * 1_000_000L));
+                if (liberadas > 0) {
+                    System.err.println("Notificaciones reservadas hace más de " + RESERVA_MS
+                            + " ms liberadas para reintentarse: " + liberadas);
+                }
+            }
+            List<Notificacion> reservadas;
+            do {
+                reservadas = NotificacionDAO.reservarPendientes(LOTE);
+                Map<String, List<Notificacion>> porDestinatario = new LinkedHashMap<>();
+                for (Notificacion n : reservadas) {
+                    porDestinatario.computeIfAbsent(n.getDestinatario(), d -> new ArrayList<>()).add(n);
+                }
+                for (Map.Entry<String, List<Notificacion>> grupo : porDestinatario.entrySet()) {
+                    envios.execute(() -> enviar(grupo.getKey(), grupo.getValue()));
+                }
+            } while (reservadas.size() == LOTE);
+        } catch (Exception e) {
+            // El próximo ciclo vuelve a intentarlo
+            System.err.println("Error al leer la bandeja de salida de notificaciones: " + e.getMessage());
+        }
+    }
+
+    private void enviar(String destinatario, List<Notificacion> mensajes) {
+        try {
+            enviador.enviar(destinatario, mensajes);
+        } catch (Exception e) {
+            reprogramar(destinatario, mensajes, e);
+            return;
+        }
+        enviadas.addAndGet(mensajes.size());
+        try {
+            NotificacionDAO.marcarEnviadas(mensajes);
+        } catch (SQLException e) {
+            // El mail ya se entregó: no es un intento fallido, sólo falta registrarlo
+            sinRegistrar.addAll(mensajes);
+            System.err.println("Notificaciones a " + destinatario + " enviadas pero sin registrar ("
+                    + mensajes.size() + "), se reintentará registrarlas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Marca ENVIADA las notificaciones entregadas cuyo registro había
+     * fallado. Si vuelve a fallar, quedan para el próximo ciclo.
+     *
+     * @return true si no queda ninguna enviada sin registrar
+     */
+    private boolean registrarEnviadas() {
+        List<Notificacion> pendientes = new ArrayList<>();
+        for (Notificacion n = sinRegistrar.poll(); n != null; n = sinRegistrar.poll()) {
+            pendientes.add(n);
+        }
+        if (pendientes.isEmpty()) {
+            return true;
+        }
+        try {
+            NotificacionDAO.marcarEnviadas(pendientes);
+            System.out.println("✓ Registradas " + pendientes.size() + " notificaciones enviadas que faltaba registrar");
+        } catch (SQLException e) {
+            sinRegistrar.addAll(pendientes);
+            System.err.println("Error al registrar notificaciones ya enviadas: " + e.getMessage());
+        }
+        return sinRegistrar.isEmpty();
+    }
+
+    /**
+     * Vuelve a encolar un grupo cuyo envío falló. Todos los mensajes del
+     * grupo se reintentan juntos; la espera se calcula con el que más
+     * intentos acumula.
+     */
+    private void reprogramar(String destinatario, List<Notificacion> mensajes, Exception causa) {
+        int intentos = 0;
+        for (Notificacion n : mensajes) {
+            intentos = Math.max(intentos, n.getIntentos());
+        }
+        boolean agotada = intentos + 1 >= MAX_INTENTOS;
+        long espera = Math.min(BACKOFF_MAX_MS, BACKOFF_MS << Math.min(intentos, 20));
+        try {
+            NotificacionDAO.reprogramar(mensajes, LocalDateTime.now().plusNanos(espera * 1_000_000L),
+                    agotada, causa.getMessage());
+            if (agotada) {
+                fallidas.addAndGet(mensajes.size());
+                System.err.println("✗ No se pudo notificar a " + destinatario + " tras " + (intentos + 1)
+                        + " intentos: " + causa.getMessage());
+            } else {
+                reintentos.addAndGet(mensajes.size());
+                System.err.println("Envío a " + destinatario + " fallido (intento " + (intentos + 1)
+                        + "), se reintentará en " + espera + " ms: " + causa.getMessage());
+            }
+        } catch (SQLException e) {
+            // Quedan ENVIANDO hasta que venza su reserva y las libere un ciclo de sondeo
+            System.err.println("Error al reprogramar notificaciones para " + destinatario + ": " + e.getMessage());
+        }
+    }
+
+    public long getEnviadas() {
+        return enviadas.get();
+    }
+
+    public long getReintentos() {
+        return reintentos.get();
+    }
+
+    public long getFallidas() {
+        return fallidas.get();
+    }
+
+    /** Notificaciones entregadas que todavía no se pudieron marcar ENVIADA. */
+    public int getSinRegistrar() {
+        return sinRegistrar.size();
+    }
+
+    private static ThreadFactory hilos(String nombre) {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, nombre + "-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "DespachadorNotificaciones{enviadas=" + enviadas.get() + ", reintentos=" + reintentos.get()
+                + ", fallidas=" + fallidas.get() + ", sinRegistrar=" + sinRegistrar.size() + "}";
+    }
+}
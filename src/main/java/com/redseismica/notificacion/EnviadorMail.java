@@ -0,0 +1,20 @@
+package com.redseismica.notificacion;
+
+import java.util.List;
+
+/**
+ * Envía correos. El despachador agrupa las notificaciones pendientes por
+ * destinatario, de modo que cada llamada entrega todos los mensajes de
+ * un mismo destinatario (por ejemplo, en una única sesión SMTP).
+ */
+public interface EnviadorMail {
+
+    /**
+     * Envía los mensajes al destinatario.
+     *
+     * @param destinatario dirección de correo
+     * @param mensajes     mensajes para ese destinatario (al menos uno)
+     * @throws Exception si el envío falla; el despachador lo reintentará
+     */
+    void enviar(String destinatario, List<Notificacion> mensajes) throws Exception;
+}
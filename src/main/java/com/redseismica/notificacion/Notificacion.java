@@ -0,0 +1,58 @@
+package com.redseismica.notificacion;
+
+/**
+ * Mensaje de correo de la bandeja de salida ({@code notificaciones_pendientes}).
+ * Se crea sin id al cerrar una orden y el despachador lo lee con su id y
+ * la cantidad de intentos ya realizados.
+ */
+public class Notificacion {
+    private final long id;
+    private final String destinatario;
+    private final String asunto;
+    private final String cuerpo;
+    private final int intentos;
+
+    /**
+     * Crea una notificación nueva, todavía no persistida.
+     */
+    public Notificacion(String destinatario, String asunto, String cuerpo) {
+        this(0, destinatario, asunto, cuerpo, 0);
+    }
+
+    /**
+     * Crea una notificación leída de la bandeja de salida.
+     */
+    public Notificacion(long id, String destinatario, String asunto, String cuerpo, int intentos) {
+        this.id = id;
+        this.destinatario = destinatario;
+        this.asunto = asunto;
+        this.cuerpo = cuerpo;
+        this.intentos = intentos;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public String getAsunto() {
+        return asunto;
+    }
+
+    public String getCuerpo() {
+        return cuerpo;
+    }
+
+    /** Intentos de envío fallidos hasta el momento. */
+    public int getIntentos() {
+        return intentos;
+    }
+
+    @Override
+    public String toString() {
+        return "Notificacion " + id + " para " + destinatario + ": " + asunto;
+    }
+}
@@ -8,19 +8,48 @@ import com.redseismica.model.Empleado;
 import com.redseismica.model.MotivoTipo;
 import com.redseismica.model.Sismografo;
 
+/**
+ * Estado de un sismógrafo. Cada estado concreto tiene una única instancia
+ * compartida (por ejemplo {@link Online#INSTANCIA}) identificada por un
+ * código numérico estable y por el código con que se persiste en la base,
+ * por lo que las comparaciones de estado son por identidad o por código.
+ */
 public abstract class EstadoSismografo {
-    private String nombreEstado;
+    private final int codigo;
+    private final String codigoBD;
+    private final String nombreEstado;
 
-    public EstadoSismografo(String nombreEstado) {
+    protected EstadoSismografo(int codigo, String codigoBD, String nombreEstado) {
+        this.codigo = codigo;
+        this.codigoBD = codigoBD;
         this.nombreEstado = nombreEstado;
     }
 
-    public String getNombreEstado() {
-        return nombreEstado;
+    /**
+     * Devuelve la instancia canónica del estado persistido con el código
+     * indicado. Los códigos nulos o desconocidos se interpretan como Online.
+     */
+    public static EstadoSismografo desdeCodigoBD(String codigoBD) {
+        if (codigoBD == null) return Online.INSTANCIA;
+        return switch (codigoBD) {
+            case FueraDeServicio.CODIGO_BD -> FueraDeServicio.INSTANCIA;
+            case InhabilitadoPorInspeccion.CODIGO_BD -> InhabilitadoPorInspeccion.INSTANCIA;
+            default -> Online.INSTANCIA;
+        };
     }
 
-    public void setNombreEstado(String nombreEstado) {
-        this.nombreEstado = nombreEstado;
+    /** Código numérico estable del estado. */
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /** Código con el que se persiste el estado (columna estado_actual). */
+    public String getCodigoBD() {
+        return codigoBD;
+    }
+
+    public String getNombreEstado() {
+        return nombreEstado;
     }
 
     public void enviarAReparar(LocalDateTime fechaHora, List<MotivoTipo> motivos, List<String> comentarios, Empleado empleado, Sismografo sismografo) {
@@ -31,12 +60,16 @@ public abstract class EstadoSismografo {
         throw new UnsupportedOperationException("Operación no permitida en el estado actual.");
     }
 
-    public void crearCE(LocalDateTime fechaHora, List<MotivoTipo> motivos, List<String> comentarios, Empleado responsable) {
+    /**
+     * Crea el cambio de estado de una transición con sus motivos fuera de
+     * servicio; cada motivo lleva el comentario de la misma posición.
+     */
+    public CambioEstadoSismografo crearCE(LocalDateTime fechaHora, List<MotivoTipo> motivos, List<String> comentarios, Empleado responsable) {
         CambioEstadoSismografo ce = new CambioEstadoSismografo(fechaHora);
-        for (String string : comentarios) {
-            for (MotivoTipo motivo : motivos) {
-                ce.crearMotivoFueraServicio(motivo, string);
-            }
+        for (int i = 0; i < motivos.size(); i++) {
+            String comentario = i < comentarios.size() ? comentarios.get(i) : "";
+            ce.crearMotivoFueraServicio(motivos.get(i), comentario);
         }
+        return ce;
     }
 }
@@ -1,7 +1,11 @@
 package com.redseismica.states;
 
 public class FueraDeServicio extends EstadoSismografo {
-    public FueraDeServicio(String nombreEstado) {
-        super(nombreEstado);
+    public static final int CODIGO = 2;
+    public static final String CODIGO_BD = "FueraDeServicio";
+    public static final FueraDeServicio INSTANCIA = new FueraDeServicio();
+
+    private FueraDeServicio() {
+        super(CODIGO, CODIGO_BD, "Fuera de Servicio");
     }
 }
\ No newline at end of file
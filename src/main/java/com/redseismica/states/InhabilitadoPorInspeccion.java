@@ -9,29 +9,28 @@ import com.redseismica.model.Sismografo;
 import com.redseismica.model.MotivoTipo;
 
 public class InhabilitadoPorInspeccion extends EstadoSismografo {
-    public InhabilitadoPorInspeccion(String nombreEstado) {
-        super(nombreEstado);
+    public static final int CODIGO = 3;
+    public static final String CODIGO_BD = "InhabilitadoPorInspeccion";
+    public static final InhabilitadoPorInspeccion INSTANCIA = new InhabilitadoPorInspeccion();
+
+    private InhabilitadoPorInspeccion() {
+        super(CODIGO, CODIGO_BD, "Inhabilitado por inspección");
     }
     
     @Override
     public void enviarAReparar(LocalDateTime fechaHora, List<MotivoTipo> motivos, List<String> comentarios, Empleado empleado, Sismografo sismografo) {
         CambioEstadoSismografo ceActual = obtenerCEActual(sismografo);
-        ceActual.setFechaHoraFin(fechaHora);
-        crearCE(fechaHora, motivos, comentarios, empleado);
-        EstadoSismografo estadoNuevo = new FueraDeServicio("Fuera de Servicio");
-        sismografo.setEstadoActual(estadoNuevo);
-        sismografo.setCambioEstado(ceActual);
+        if (ceActual != null) {
+            ceActual.setFechaHoraFin(fechaHora);
+        }
+        CambioEstadoSismografo ceNuevo = crearCE(fechaHora, motivos, comentarios, empleado);
+        sismografo.setEstadoActual(FueraDeServicio.INSTANCIA);
+        sismografo.setCambioEstado(ceNuevo);
     }
 
     @Override
     public CambioEstadoSismografo obtenerCEActual(Sismografo sismografo) {
-        List<CambioEstadoSismografo> cambiosEstado = sismografo.getCambiosEstado();
-        for (CambioEstadoSismografo cambioEstadoSismografo : cambiosEstado) {
-            if (cambioEstadoSismografo.sosActual()) {
-                return cambioEstadoSismografo;
-            }
-        }
-        return null;
+        return sismografo.getCambioEstadoActual();
     }
 
 }
\ No newline at end of file
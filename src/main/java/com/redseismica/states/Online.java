@@ -9,39 +9,27 @@ import com.redseismica.model.MotivoTipo;
 import com.redseismica.model.Sismografo;
 
 public class Online extends EstadoSismografo {
+    public static final int CODIGO = 1;
+    public static final String CODIGO_BD = "Online";
+    public static final Online INSTANCIA = new Online();
 
-    public Online(String nombreEstado) {
-        super(nombreEstado);
+    private Online() {
+        super(CODIGO, CODIGO_BD, "Online");
     }
     
     @Override
     public void enviarAReparar(LocalDateTime fechaHora, List<MotivoTipo> motivos, List<String> comentarios, Empleado empleado, Sismografo sismografo) {
-        // Crear cambio de estado para este sismógrafo
-        CambioEstadoSismografo ceNuevo = new CambioEstadoSismografo(fechaHora);
-        
-        // Agregar los motivos fuera de servicio
-        for (int i = 0; i < motivos.size(); i++) {
-            MotivoTipo motivo = motivos.get(i);
-            String comentario = i < comentarios.size() ? comentarios.get(i) : "";
-            ceNuevo.crearMotivoFueraServicio(motivo, comentario);
-        }
+        // Crear cambio de estado para este sismógrafo, con los motivos
+        // fuera de servicio (el vigente se cierra al registrarlo)
+        CambioEstadoSismografo ceNuevo = crearCE(fechaHora, motivos, comentarios, empleado);
         
         // Cambiar estado del sismógrafo a "Fuera de Servicio"
-        EstadoSismografo estadoNuevo = new FueraDeServicio("Fuera de Servicio");
-        sismografo.setEstadoActual(estadoNuevo);
+        sismografo.setEstadoActual(FueraDeServicio.INSTANCIA);
         sismografo.setCambioEstado(ceNuevo);
     }
 
     @Override
     public CambioEstadoSismografo obtenerCEActual(Sismografo sismografo) {
-        List<CambioEstadoSismografo> cambiosEstado = sismografo.getCambiosEstado();
-        if (cambiosEstado != null && !cambiosEstado.isEmpty()) {
-            for (CambioEstadoSismografo cambioEstadoSismografo : cambiosEstado) {
-                if (cambioEstadoSismografo.sosActual()) {
-                    return cambioEstadoSismografo;
-                }
-            }
-        }
-        return null;
+        return sismografo.getCambioEstadoActual();
     }
 }
\ No newline at end of file
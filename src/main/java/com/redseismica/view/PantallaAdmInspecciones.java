@@ -33,6 +33,7 @@ public class PantallaAdmInspecciones {
     private JButton addMotivoButton;
     private JButton removeMotivoButton;
     private JButton registrarObservacionButton;
+    private JButton cargarMasOrdenesButton;
     private JButton cerrarButton;
     private JLabel mensajeLabel;
     // Datos adicionales por orden: matriz de filas (cada fila = lista de columnas)
@@ -141,6 +142,21 @@ public class PantallaAdmInspecciones {
         });
         panelCentral.add(ordenesComboBox, gbc);
 
+        // Botón para cargar la página siguiente de órdenes
+        gbc.gridy++;
+        JPanel ordenesBtnPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        ordenesBtnPanel.setBackground(GRIS_CLARO);
+        cargarMasOrdenesButton = new JButton("Cargar más órdenes");
+        cargarMasOrdenesButton.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        cargarMasOrdenesButton.setEnabled(false);
+        cargarMasOrdenesButton.addActionListener(evt -> {
+            if (gestor != null) {
+                gestor.cargarMasOrdenes();
+            }
+        });
+        ordenesBtnPanel.add(cargarMasOrdenesButton);
+        panelCentral.add(ordenesBtnPanel, gbc);
+
         // Sección de observación
         gbc.gridy++;
         gbc.weighty = 0;
@@ -543,13 +559,26 @@ public class PantallaAdmInspecciones {
      * órdenes disponibles.
      */
     public void mostrarOrdenesInspeccion(java.util.List<OrdenInspeccion> ordenes, java.util.List<java.util.List<String>> datos) {
-        this.ordenesDatos = datos;
+        this.ordenesDatos = new ArrayList<>();
         ordenesComboBox.removeAllItems();
+        agregarOrdenesInspeccion(ordenes, datos);
+    }
+
+    /**
+     * Agrega al combo box una nueva página de órdenes, a continuación de
+     * las ya mostradas, y habilita el botón de cargar más sólo si quedan
+     * órdenes por cargar.
+     */
+    public void agregarOrdenesInspeccion(java.util.List<OrdenInspeccion> ordenes, java.util.List<java.util.List<String>> datos) {
+        if (datos != null) {
+            ordenesDatos.addAll(datos);
+        }
         if (ordenes != null && !ordenes.isEmpty()) {
             for (OrdenInspeccion orden : ordenes) {
                 ordenesComboBox.addItem(orden);
             }
         }
+        cargarMasOrdenesButton.setEnabled(gestor != null && gestor.hayMasOrdenes());
     }
 
     /**